@@ -0,0 +1,360 @@
+package com.example.jobscraper.benchmark;
+
+import com.example.jobscraper.JobScraperApplication;
+import com.example.jobscraper.config.ScraperProperties.PersistenceMode;
+import com.example.jobscraper.dto.CompanyView;
+import com.example.jobscraper.dto.ImportProgress;
+import com.example.jobscraper.dto.ImportRecord;
+import com.example.jobscraper.dto.JobFilter;
+import com.example.jobscraper.dto.JobPage;
+import com.example.jobscraper.dto.JobView;
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+import com.example.jobscraper.service.JobQueryService;
+import com.example.jobscraper.service.JobScrapingService;
+import com.example.jobscraper.service.export.SqlExportFormat;
+import com.example.jobscraper.service.ingest.ImportFormat;
+import com.example.jobscraper.service.ingest.ImportListener;
+import com.example.jobscraper.service.ingest.JobImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Loads synthetic jobs into an embedded PostgreSQL through the application's own persistence
+ * path, then measures ingestion throughput, NDJSON import throughput for as many new jobs again,
+ * SQL export time and listing latency percentiles for each persistence mode and data size. Every
+ * (mode, size) run gets a fresh database migrated by Flyway. Near-duplicate checks are off, as the
+ * synthetic jobs of one company nearly duplicate each other. Results are written as JSON to {@code
+ * harness.output}.
+ *
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:java@persistence \
+ *     -Dharness.sizes=10000,100000,1000000 -Dharness.modes=BULK
+ * </pre>
+ */
+public final class PersistenceLoadHarness {
+
+  private static final String[] FUNCTIONS = {
+    "Software Engineering", "Data Science", "Product", "Design", "Operations"
+  };
+  private static final String[] POSITIONS = {
+    "Senior Software Engineer", "Backend Developer", "Full Stack Engineer", "Data Scientist",
+    "Platform Engineer", "Product Manager"
+  };
+  private static final String[] LOCATIONS = {
+    "New York", "San Francisco", "Remote", "Austin", "Boston", "London", "Berlin"
+  };
+  private static final int TAG_POOL = 200;
+  private static final int TAGS_PER_JOB = 3;
+  private static final int JOBS_PER_COMPANY = 20;
+  private static final int PAGE_SIZE = 50;
+  private static final int PAGES_PER_WALK = 20;
+  private static final String DESCRIPTION_FILLER = " Lorem ipsum dolor sit amet.".repeat(8);
+  private static final JobFilter UNFILTERED =
+      new JobFilter(null, null, null, null, null, null, null);
+
+  private final int batchSize;
+  private final int listingSamples;
+
+  private PersistenceLoadHarness(int batchSize, int listingSamples) {
+    this.batchSize = batchSize;
+    this.listingSamples = listingSamples;
+  }
+
+  public static void main(String[] args) throws Exception {
+    List<Integer> sizes =
+        Arrays.stream(System.getProperty("harness.sizes", "10000,100000").split(","))
+            .map(String::trim)
+            .map(Integer::valueOf)
+            .collect(Collectors.toList());
+    List<PersistenceMode> modes =
+        Arrays.stream(System.getProperty("harness.modes", "BULK,ENTITY").split(","))
+            .map(String::trim)
+            .map(PersistenceMode::valueOf)
+            .collect(Collectors.toList());
+    Path output =
+        Path.of(System.getProperty("harness.output", "target/persistence-benchmark.json"));
+    PersistenceLoadHarness harness =
+        new PersistenceLoadHarness(
+            Integer.getInteger("harness.batch-size", 500),
+            Integer.getInteger("harness.listing-samples", 1000));
+
+    List<RunResult> results = new ArrayList<>();
+    try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+      for (PersistenceMode mode : modes) {
+        for (int size : sizes) {
+          RunResult result = harness.run(postgres, mode, size);
+          System.out.println(result);
+          results.add(result);
+        }
+      }
+    }
+
+    Files.createDirectories(output.toAbsolutePath().getParent());
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("timestamp", Instant.now().toString());
+    report.put("javaVersion", System.getProperty("java.version"));
+    report.put("batchSize", harness.batchSize);
+    report.put("results", results);
+    new ObjectMapper()
+        .enable(SerializationFeature.INDENT_OUTPUT)
+        .writeValue(output.toFile(), report);
+    System.out.println("Results written to " + output.toAbsolutePath());
+  }
+
+  private RunResult run(EmbeddedPostgres postgres, PersistenceMode mode, int size)
+      throws SQLException, IOException {
+    String database = "bench_" + mode.name().toLowerCase() + "_" + size;
+    try (Connection connection = postgres.getPostgresDatabase().getConnection();
+        Statement statement = connection.createStatement()) {
+      statement.execute("CREATE DATABASE " + database);
+    }
+
+    try (ConfigurableApplicationContext context = start(postgres, database, mode)) {
+      Ingestion ingestion = ingest(context.getBean(JobScrapingService.class), size);
+      Ingestion importing =
+          importNdjson(
+              context.getBean(JobImportService.class), context.getBean(ObjectMapper.class), size);
+      Map<SqlExportFormat, Export> exports = export(context.getBean(JobScrapingService.class));
+      Map<String, Latency> listing = list(context.getBean(JobQueryService.class), size);
+      return new RunResult(mode, size, ingestion, importing, exports, listing);
+    }
+  }
+
+  private ConfigurableApplicationContext start(
+      EmbeddedPostgres postgres, String database, PersistenceMode mode) {
+    String url = postgres.getJdbcUrl("postgres", database) + "&currentSchema=app_job_scraper";
+    return new SpringApplicationBuilder(JobScraperApplication.class)
+        .web(WebApplicationType.NONE)
+        .logStartupInfo(false)
+        .run(
+            "--spring.datasource.url=" + url,
+            "--spring.datasource.username=postgres",
+            "--spring.datasource.password=",
+            "--scraper.persistence.mode=" + mode.name(),
+            "--scraper.dedup.near-duplicates=off",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=WARN");
+  }
+
+  private Ingestion ingest(JobScrapingService service, int size) {
+    Random random = new Random(42);
+    long started = System.nanoTime();
+    int saved = 0;
+    for (int offset = 0; offset < size; offset += batchSize) {
+      List<Job> batch = new ArrayList<>(batchSize);
+      for (int i = offset; i < Math.min(size, offset + batchSize); i++) {
+        batch.add(syntheticJob(i, random));
+      }
+      saved += service.saveJobs(batch).size();
+    }
+    double seconds = (System.nanoTime() - started) / 1e9;
+    return new Ingestion(saved, seconds, saved / seconds);
+  }
+
+  /** Imports {@code size} jobs that are not stored yet; the body is built before timing. */
+  private Ingestion importNdjson(JobImportService service, ObjectMapper objectMapper, int size)
+      throws IOException {
+    Random random = new Random(43);
+    ByteArrayOutputStream body = new ByteArrayOutputStream();
+    for (int i = size; i < 2 * size; i++) {
+      Job job = syntheticJob(i, random);
+      ImportRecord record =
+          new ImportRecord(
+              job.getPositionName(),
+              job.getJobPageUrl(),
+              job.getLaborFunction(),
+              job.getLocation(),
+              job.getPostedDateUnix(),
+              job.getDescription(),
+              job.getStatus().name(),
+              new CompanyView(
+                  null, job.getCompany().getTitle(), job.getCompany().getWebsiteUrl(), null),
+              job.getTags().stream().map(Tag::getName).collect(Collectors.toList()));
+      body.write(objectMapper.writeValueAsBytes(record));
+      body.write('\n');
+    }
+    long started = System.nanoTime();
+    ImportProgress summary =
+        service.importJobs(
+            new ByteArrayInputStream(body.toByteArray()), ImportFormat.NDJSON, ImportListener.NONE);
+    double seconds = (System.nanoTime() - started) / 1e9;
+    int imported = (int) summary.inserted();
+    return new Ingestion(imported, seconds, imported / seconds);
+  }
+
+  private Map<SqlExportFormat, Export> export(JobScrapingService service) {
+    Map<SqlExportFormat, Export> exports = new LinkedHashMap<>();
+    for (SqlExportFormat format : SqlExportFormat.values()) {
+      CountingWriter writer = new CountingWriter();
+      long started = System.nanoTime();
+      service.exportToSql(writer, format);
+      exports.put(
+          format,
+          new Export(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), writer.count));
+    }
+    return exports;
+  }
+
+  private Map<String, Latency> list(JobQueryService service, int size) {
+    Random random = new Random(7);
+    Histogram firstPage = new Histogram(3);
+    Histogram nextPage = new Histogram(3);
+    Histogram filtered = new Histogram(3);
+    Histogram search = new Histogram(3);
+    Histogram searchFiltered = new Histogram(3);
+
+    for (int sample = 0; sample < listingSamples; sample++) {
+      long started = System.nanoTime();
+      JobPage<JobView> page = service.getJobs(UNFILTERED, null, PAGE_SIZE, false);
+      firstPage.recordValue(System.nanoTime() - started);
+
+      for (int walked = 0; walked < PAGES_PER_WALK && page.nextCursor() != null; walked++) {
+        String cursor = page.nextCursor();
+        started = System.nanoTime();
+        page = service.getJobs(UNFILTERED, cursor, PAGE_SIZE, false);
+        nextPage.recordValue(System.nanoTime() - started);
+      }
+
+      JobFilter filter =
+          new JobFilter(
+              FUNCTIONS[random.nextInt(FUNCTIONS.length)],
+              LOCATIONS[random.nextInt(LOCATIONS.length)],
+              null,
+              "Company " + random.nextInt(Math.max(1, size / JOBS_PER_COMPANY)),
+              null,
+              null,
+              null);
+      started = System.nanoTime();
+      service.getJobs(filter, null, PAGE_SIZE, false);
+      filtered.recordValue(System.nanoTime() - started);
+
+      String position = POSITIONS[random.nextInt(POSITIONS.length)];
+      String query = position + " company " + random.nextInt(Math.max(1, size / JOBS_PER_COMPANY));
+      started = System.nanoTime();
+      service.search(query, UNFILTERED, null, PAGE_SIZE, false);
+      search.recordValue(System.nanoTime() - started);
+
+      JobFilter tagged =
+          new JobFilter(
+              null,
+              LOCATIONS[random.nextInt(LOCATIONS.length)],
+              null,
+              null,
+              null,
+              null,
+              List.of("Tag " + random.nextInt(TAG_POOL)));
+      started = System.nanoTime();
+      service.search(position, tagged, null, PAGE_SIZE, false);
+      searchFiltered.recordValue(System.nanoTime() - started);
+    }
+
+    Map<String, Latency> latencies = new LinkedHashMap<>();
+    latencies.put("firstPage", Latency.of(firstPage));
+    latencies.put("nextPage", Latency.of(nextPage));
+    latencies.put("filtered", Latency.of(filtered));
+    latencies.put("search", Latency.of(search));
+    latencies.put("searchFiltered", Latency.of(searchFiltered));
+    return latencies;
+  }
+
+  private static Job syntheticJob(int index, Random random) {
+    Company company = new Company();
+    company.setTitle("Company " + (index / JOBS_PER_COMPANY));
+    company.setWebsiteUrl("https://company" + (index / JOBS_PER_COMPANY) + ".example.com");
+
+    Set<Tag> tags = new HashSet<>();
+    while (tags.size() < TAGS_PER_JOB) {
+      tags.add(new Tag("Tag " + random.nextInt(TAG_POOL)));
+    }
+
+    String position = POSITIONS[random.nextInt(POSITIONS.length)];
+    Job job = new Job();
+    job.setPositionName(position);
+    job.setJobPageUrl("https://jobs.example.com/job/" + index);
+    job.setLaborFunction(FUNCTIONS[random.nextInt(FUNCTIONS.length)]);
+    job.setLocation(LOCATIONS[random.nextInt(LOCATIONS.length)]);
+    job.setPostedDateUnix(1_700_000_000L + random.nextInt(30_000_000));
+    job.setDescription(
+        "<p>" + position + " at " + company.getTitle() + "." + DESCRIPTION_FILLER + "</p>");
+    job.setStatus(ProcessingStatus.COMPLETED);
+    job.setCompany(company);
+    job.setTags(tags);
+    return job;
+  }
+
+  private static final class CountingWriter extends Writer {
+    private long count;
+
+    @Override
+    public void write(char[] buffer, int offset, int length) {
+      count += length;
+    }
+
+    @Override
+    public void write(String str, int offset, int length) {
+      count += length;
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+
+  record RunResult(
+      PersistenceMode mode,
+      int rows,
+      Ingestion ingestion,
+      Ingestion importing,
+      Map<SqlExportFormat, Export> export,
+      Map<String, Latency> listing) {}
+
+  record Ingestion(int rowsSaved, double seconds, double rowsPerSecond) {}
+
+  record Export(long millis, long characters) {}
+
+  record Latency(long samples, double p50Ms, double p90Ms, double p99Ms, double maxMs) {
+    static Latency of(Histogram histogram) {
+      return new Latency(
+          histogram.getTotalCount(),
+          millis(histogram.getValueAtPercentile(50)),
+          millis(histogram.getValueAtPercentile(90)),
+          millis(histogram.getValueAtPercentile(99)),
+          millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+      return nanos / 1e6;
+    }
+  }
+}
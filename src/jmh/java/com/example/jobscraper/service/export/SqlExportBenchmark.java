@@ -0,0 +1,132 @@
+package com.example.jobscraper.service.export;
+
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+import com.example.jobscraper.repository.projection.JobTagRow;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Writer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/** Full SQL dump of {@code jobs} in-memory rows, written to a discarding writer. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class SqlExportBenchmark {
+
+  private static final int TAGS_PER_JOB = 3;
+
+  @Param({"1000", "10000", "100000"})
+  private int jobs;
+
+  @Param({"INSERT", "COPY"})
+  private SqlExportFormat format;
+
+  private List<Company> companyRows;
+  private List<Tag> tagRows;
+  private List<Job> jobRows;
+  private List<JobTagRow> jobTagRows;
+
+  @Setup
+  public void setUp() {
+    companyRows = new ArrayList<>();
+    for (long id = 1; id <= Math.max(1, jobs / 10); id++) {
+      Company company = new Company();
+      company.setId(id);
+      company.setTitle("Company " + id + " (TechStars)");
+      company.setWebsiteUrl("https://company" + id + ".example.com");
+      companyRows.add(company);
+    }
+
+    tagRows = new ArrayList<>();
+    for (long id = 1; id <= 50; id++) {
+      Tag tag = new Tag("Tag's " + id);
+      tag.setId(id);
+      tagRows.add(tag);
+    }
+
+    jobRows = new ArrayList<>(jobs);
+    jobTagRows = new ArrayList<>(jobs * TAGS_PER_JOB);
+    for (long id = 1; id <= jobs; id++) {
+      Job job = new Job();
+      job.setId(id);
+      job.setPositionName("Senior Software Engineer");
+      job.setJobPageUrl("https://jobs.techstars.com/job/" + id);
+      job.setLaborFunction("Software Engineering");
+      job.setLocation("New York");
+      job.setPostedDateUnix(1_700_000_000L + id);
+      job.setDescription(
+          "<p>Senior Software Engineer at Company " + id + ".\tWe're hiring\nin New York.</p>");
+      job.setStatus(ProcessingStatus.COMPLETED);
+      job.setCompany(companyRows.get((int) (id % companyRows.size())));
+      jobRows.add(job);
+
+      for (int t = 0; t < TAGS_PER_JOB; t++) {
+        Tag tag = tagRows.get((int) ((id + t) % tagRows.size()));
+        jobTagRows.add(new Row(id, tag.getId(), job.getJobPageUrl(), tag.getName()));
+      }
+    }
+  }
+
+  @Benchmark
+  public void dump() {
+    SqlDumpWriter dump = format.newWriter(Writer.nullWriter());
+    dump.writeHeader(Instant.EPOCH);
+    dump.writeSchema();
+    write(dump, SqlDumpSection.COMPANIES, companyRows, dump::writeCompany);
+    write(dump, SqlDumpSection.TAGS, tagRows, dump::writeTag);
+    write(dump, SqlDumpSection.JOBS, jobRows, dump::writeJob);
+    write(dump, SqlDumpSection.JOB_TAGS, jobTagRows, dump::writeJobTag);
+    dump.writeFooter();
+    dump.flush();
+  }
+
+  private static <T> void write(
+      SqlDumpWriter dump, SqlDumpSection section, List<T> rows, Consumer<T> sink) {
+    dump.beginSection(section);
+    rows.forEach(sink);
+    dump.endSection(section);
+  }
+
+  private record Row(Long jobId, Long tagId, String jobPageUrl, String tagName)
+      implements JobTagRow {
+    @Override
+    public Long getJobId() {
+      return jobId;
+    }
+
+    @Override
+    public Long getTagId() {
+      return tagId;
+    }
+
+    @Override
+    public String getJobPageUrl() {
+      return jobPageUrl;
+    }
+
+    @Override
+    public String getTagName() {
+      return tagName;
+    }
+  }
+}
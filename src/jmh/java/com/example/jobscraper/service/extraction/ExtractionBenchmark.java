@@ -0,0 +1,107 @@
+package com.example.jobscraper.service.extraction;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.service.fetch.PageParser;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/** Scrape hot path on saved listing fixtures, scaled to {@code cards} job cards per page. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ExtractionBenchmark {
+
+  private static final String BASE_URI = "https://jobs.techstars.com/jobs";
+  private static final String JOB_FUNCTION = "Software Engineering";
+
+  @Param({"10", "100", "1000"})
+  private int cards;
+
+  private Document listing;
+  private Document unstructured;
+  private byte[] listingHtml;
+  private Elements cardElements;
+  private JobElementExtractor extractor;
+  private JobTextAnalyzer analyzer;
+  private StreamingPageParser streamingParser;
+
+  @Setup
+  public void setUp() throws IOException {
+    ScraperProperties.Crawl crawl = new ScraperProperties.Crawl();
+    listing = scale("techstars-cards.html", ".job-card");
+    unstructured = scale("unstructured.html", ".content > *");
+    listingHtml = listing.outerHtml().getBytes(StandardCharsets.UTF_8);
+    extractor = new JobElementExtractor(Integer.MAX_VALUE);
+    cardElements = extractor.extractJobElements(listing);
+    analyzer =
+        new JobTextAnalyzer(
+            JobDictionary.load(new ClassPathResource("dictionary/job-keywords.txt")));
+    streamingParser =
+        new StreamingPageParser(crawl.getMaxJobsPerScrape(), crawl.getFollowSelectors());
+  }
+
+  @Benchmark
+  public Elements extractJobElements() {
+    return extractor.extractJobElements(listing);
+  }
+
+  @Benchmark
+  public Elements searchByTextContent() {
+    return extractor.searchByTextContent(unstructured);
+  }
+
+  @Benchmark
+  public void buildJobs(Blackhole blackhole) {
+    for (Element card : cardElements) {
+      blackhole.consume(new JobBuilder(card, BASE_URI, JOB_FUNCTION, analyzer).build());
+    }
+  }
+
+  @Benchmark
+  public Document parseDom() throws IOException {
+    return PageParser.DOM.parse(new ByteArrayInputStream(listingHtml), "UTF-8", BASE_URI);
+  }
+
+  @Benchmark
+  public Document parseStreaming() throws IOException {
+    return streamingParser.parse(new ByteArrayInputStream(listingHtml), "UTF-8", BASE_URI);
+  }
+
+  private Document scale(String fixture, String itemSelector) throws IOException {
+    Document document;
+    try (InputStream in = new ClassPathResource("fixtures/" + fixture).getInputStream()) {
+      document = Jsoup.parse(in, "UTF-8", BASE_URI);
+    }
+    Elements items = document.select(itemSelector);
+    Element container = items.first().parent();
+    items.remove();
+    for (int i = 0; i < cards; i++) {
+      container.appendChild(items.get(i % items.size()).clone());
+    }
+    return document;
+  }
+}
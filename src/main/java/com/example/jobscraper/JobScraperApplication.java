@@ -2,10 +2,12 @@ package com.example.jobscraper;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @SpringBootApplication
 @EnableJpaRepositories
+@ConfigurationPropertiesScan
 public class JobScraperApplication {
 
   public static void main(String[] args) {
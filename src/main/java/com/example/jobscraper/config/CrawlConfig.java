@@ -0,0 +1,52 @@
+package com.example.jobscraper.config;
+
+import com.example.jobscraper.config.ScraperProperties.ExtractionMode;
+import com.example.jobscraper.service.crawl.CrawlEngine;
+import com.example.jobscraper.service.crawl.PageHistory;
+import com.example.jobscraper.service.extraction.JobDictionary;
+import com.example.jobscraper.service.extraction.JobElementExtractor;
+import com.example.jobscraper.service.extraction.JobTextAnalyzer;
+import com.example.jobscraper.service.extraction.StreamingPageParser;
+import com.example.jobscraper.service.fetch.PageFetcher;
+import com.example.jobscraper.service.fetch.PageParser;
+import com.example.jobscraper.service.fingerprint.FingerprintStore;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+
+@Configuration
+public class CrawlConfig {
+
+  @Bean
+  public JobElementExtractor jobElementExtractor(ScraperProperties properties) {
+    return new JobElementExtractor(properties.getCrawl().getMaxJobsPerScrape());
+  }
+
+  @Bean
+  public JobTextAnalyzer jobTextAnalyzer(
+      ScraperProperties properties, ResourceLoader resourceLoader) {
+    Resource dictionary = resourceLoader.getResource(properties.getCrawl().getDictionary());
+    return new JobTextAnalyzer(JobDictionary.load(dictionary));
+  }
+
+  @Bean
+  public PageParser pageParser(ScraperProperties properties) {
+    ScraperProperties.Crawl crawl = properties.getCrawl();
+    if (crawl.getExtraction() == ExtractionMode.DOM) {
+      return PageParser.DOM;
+    }
+    return new StreamingPageParser(crawl.getMaxJobsPerScrape(), crawl.getFollowSelectors());
+  }
+
+  @Bean
+  public CrawlEngine crawlEngine(
+      PageFetcher pageFetcher,
+      PageParser pageParser,
+      ScraperProperties properties,
+      FingerprintStore fingerprintStore) {
+    ScraperProperties.Crawl crawl = properties.getCrawl();
+    PageHistory history = crawl.isSkipUnchanged() ? fingerprintStore : PageHistory.NONE;
+    return new CrawlEngine(pageFetcher, pageParser, crawl, history);
+  }
+}
@@ -0,0 +1,124 @@
+package com.example.jobscraper.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "scraper")
+public class ScraperProperties {
+
+  private final Persistence persistence = new Persistence();
+  private final Cache cache = new Cache();
+  private final Dedup dedup = new Dedup();
+  private final Tasks tasks = new Tasks();
+  private final Crawl crawl = new Crawl();
+  private final Pipeline pipeline = new Pipeline();
+  private final Freshness freshness = new Freshness();
+  private final Feed feed = new Feed();
+  private final Ingest ingest = new Ingest();
+
+  @Data
+  public static class Persistence {
+    private PersistenceMode mode = PersistenceMode.BULK;
+    private int batchSize = 500;
+    private int idBlockSize = 100;
+  }
+
+  @Data
+  public static class Cache {
+    private int companyMaxSize = 10_000;
+    private int tagMaxSize = 10_000;
+    private int responseMaxEntries = 1_000;
+    private DataSize responseMaxSize = DataSize.ofMegabytes(64);
+  }
+
+  @Data
+  public static class Dedup {
+    private long expectedUrls = 1_000_000;
+    private double falsePositiveRate = 0.01;
+    private NearDuplicateMode nearDuplicates = NearDuplicateMode.SKIP;
+    private int nearDuplicateDistance = 3;
+  }
+
+  @Data
+  public static class Tasks {
+    private int poolSize = 2;
+    private int queueCapacity = 20;
+    private int retainedTasks = 200;
+  }
+
+  @Data
+  public static class Crawl {
+    private int concurrency = 8;
+    private double requestsPerSecond = 4.0;
+    private int burst = 4;
+    private int maxDepth = 2;
+    private int maxPages = 100;
+    private int maxJobsPerScrape = 200;
+    private ExtractionMode extraction = ExtractionMode.STREAMING;
+    private String dictionary = "classpath:dictionary/job-keywords.txt";
+    private boolean skipUnchanged = true;
+    private List<String> followSelectors =
+        new ArrayList<>(
+            List.of(
+                "a[rel=next]",
+                ".pagination a[href]",
+                "a[href*='page=']",
+                "a[href*='/job/']",
+                "a[href*='/jobs/']",
+                "a[href*='/position/']"));
+  }
+
+  @Data
+  public static class Pipeline {
+    private int queueCapacity = 200;
+    private int extractThreads = 2;
+    private int dedupThreads = 1;
+    private int dedupBatchSize = 50;
+    private int writerThreads = 1;
+    private int writerBatchSize = 100;
+    private Duration flushInterval = Duration.ofSeconds(2);
+  }
+
+  @Data
+  public static class Freshness {
+    private Duration touchInterval = Duration.ofHours(1);
+    private Duration expireAfter = Duration.ZERO;
+  }
+
+  @Data
+  public static class Feed {
+    private int bufferSize = 10_000;
+    private int maxSubscribers = 100;
+    private int senderThreads = 4;
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+    private Duration timeout = Duration.ofMinutes(30);
+  }
+
+  @Data
+  public static class Ingest {
+    private int batchSize = 5_000;
+    private int maxRejects = 1_000;
+  }
+
+  public enum PersistenceMode {
+    ENTITY,
+    BULK
+  }
+
+  public enum NearDuplicateMode {
+    OFF,
+    SKIP,
+    LINK
+  }
+
+  public enum ExtractionMode {
+    DOM,
+    STREAMING
+  }
+}
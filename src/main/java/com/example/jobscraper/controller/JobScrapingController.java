@@ -1,12 +1,45 @@
 package com.example.jobscraper.controller;
 
-import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.dto.FacetQuery;
+import com.example.jobscraper.dto.FacetResult;
+import com.example.jobscraper.dto.ImportProgress;
+import com.example.jobscraper.dto.ImportReject;
+import com.example.jobscraper.dto.JobFilter;
+import com.example.jobscraper.dto.JobPage;
+import com.example.jobscraper.dto.JobView;
+import com.example.jobscraper.service.JobQueryService;
 import com.example.jobscraper.service.JobScrapingService;
+import com.example.jobscraper.service.cache.ResponseCache;
+import com.example.jobscraper.service.export.SqlExportFormat;
+import com.example.jobscraper.service.facet.FacetIndex;
+import com.example.jobscraper.service.feed.JobFeed;
+import com.example.jobscraper.service.ingest.ImportFormat;
+import com.example.jobscraper.service.ingest.ImportListener;
+import com.example.jobscraper.service.ingest.JobImportService;
+import com.example.jobscraper.service.task.ScrapeTask;
+import com.example.jobscraper.service.task.ScrapeTaskService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 @RestController
 @RequestMapping("/api/jobs")
@@ -14,32 +47,56 @@ import java.util.*;
 @CrossOrigin(origins = "*")
 public class JobScrapingController {
 
+  private static final int EXPORT_BUFFER_SIZE = 64 * 1024;
+  private static final String DEFAULT_PAGE_SIZE = "50";
+
   private final JobScrapingService jobScrapingService;
+  private final JobQueryService jobQueryService;
+  private final ScrapeTaskService scrapeTaskService;
+  private final FacetIndex facetIndex;
+  private final ResponseCache responseCache;
+  private final JobFeed jobFeed;
+  private final JobImportService jobImportService;
+  private final ObjectMapper objectMapper;
 
   @PostMapping("/scrape")
   public ResponseEntity<Map<String, Object>> scrapeJobs(@RequestParam String jobFunction) {
     Map<String, Object> response = new HashMap<>();
+    response.put("jobFunction", jobFunction);
 
     try {
-      List<Job> jobs = jobScrapingService.scrapeJobsByFunction(jobFunction);
+      ScrapeTask task = scrapeTaskService.submit(jobFunction);
 
       response.put("success", true);
-      response.put("totalJobs", jobs.size());
-      response.put("jobFunction", jobFunction);
-      response.put("message", "Successfully scraped " + jobs.size() + " jobs");
+      response.put("taskId", task.getId());
+      response.put("message", "Scrape task accepted");
 
-      return ResponseEntity.ok(response);
+      return ResponseEntity.accepted().body(response);
 
-    } catch (Exception e) {
+    } catch (RejectedExecutionException e) {
       response.put("success", false);
-      response.put("totalJobs", 0);
-      response.put("jobFunction", jobFunction);
-      response.put("message", "Failed to scrape jobs: " + e.getMessage());
+      response.put("message", "Too many scrape tasks queued, try again later");
 
-      return ResponseEntity.status(500).body(response);
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(response);
     }
   }
 
+  @GetMapping("/scrape/{taskId}")
+  public ResponseEntity<ScrapeTask> getScrapeTask(@PathVariable String taskId) {
+    return scrapeTaskService
+        .find(taskId)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  @DeleteMapping("/scrape/{taskId}")
+  public ResponseEntity<ScrapeTask> cancelScrapeTask(@PathVariable String taskId) {
+    return scrapeTaskService
+        .cancel(taskId)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
   @GetMapping("/functions")
   public ResponseEntity<List<String>> getAvailableJobFunctions() {
     List<String> functions =
@@ -59,32 +116,223 @@ public class JobScrapingController {
   }
 
   @GetMapping
-  public ResponseEntity<List<Job>> getAllJobs() {
+  public ResponseEntity<byte[]> getJobs(
+      HttpServletRequest request,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @ModelAttribute JobFilter filter,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+      @RequestParam(defaultValue = "false") boolean includeDescription) {
+    return cachedPage(
+        request, ifNoneMatch, () -> findJobs(filter, cursor, limit, includeDescription));
+  }
+
+  @GetMapping("/function/{jobFunction}")
+  public ResponseEntity<byte[]> getJobsByFunction(
+      HttpServletRequest request,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @PathVariable String jobFunction,
+      @ModelAttribute JobFilter filter,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+      @RequestParam(defaultValue = "false") boolean includeDescription) {
+    return cachedPage(
+        request,
+        ifNoneMatch,
+        () -> findJobs(filter.withFunction(jobFunction), cursor, limit, includeDescription));
+  }
+
+  @GetMapping("/search")
+  public ResponseEntity<JobPage<JobView>> searchJobs(
+      @RequestParam String q,
+      @ModelAttribute JobFilter filter,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int limit,
+      @RequestParam(defaultValue = "false") boolean includeDescription) {
+    return pageOf(() -> jobQueryService.search(q, filter, cursor, limit, includeDescription));
+  }
+
+  @GetMapping("/facets")
+  public ResponseEntity<FacetResult> getFacets(@ModelAttribute FacetQuery query) {
     try {
-      List<Job> jobs = jobScrapingService.getAllJobs();
-      return ResponseEntity.ok(jobs);
-    } catch (Exception e) {
-      return ResponseEntity.status(500).body(new ArrayList<>());
+      return ResponseEntity.ok(facetIndex.query(query));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().build();
     }
   }
 
-  @GetMapping("/function/{jobFunction}")
-  public ResponseEntity<List<Job>> getJobsByFunction(@PathVariable String jobFunction) {
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public ResponseEntity<SseEmitter> streamJobs(
+      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
     try {
-      List<Job> jobs = jobScrapingService.getJobsByFunction(jobFunction);
-      return ResponseEntity.ok(jobs);
-    } catch (Exception e) {
-      return ResponseEntity.status(500).body(new ArrayList<>());
+      return ResponseEntity.ok(jobFeed.subscribe(lastEventId));
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
     }
   }
 
-  @GetMapping("/export")
-  public ResponseEntity<String> exportToSql() {
+  @GetMapping("/{id:\\d+}")
+  public ResponseEntity<JobView> getJob(@PathVariable long id) {
+    return jobQueryService
+        .getJob(id)
+        .map(ResponseEntity::ok)
+        .orElseGet(() -> ResponseEntity.notFound().build());
+  }
+
+  private ResponseEntity<JobPage<JobView>> findJobs(
+      JobFilter filter, String cursor, int limit, boolean includeDescription) {
+    return pageOf(() -> jobQueryService.getJobs(filter, cursor, limit, includeDescription));
+  }
+
+  private ResponseEntity<JobPage<JobView>> pageOf(Supplier<JobPage<JobView>> query) {
     try {
-      String sqlDump = jobScrapingService.exportToSql();
-      return ResponseEntity.ok(sqlDump);
+      return ResponseEntity.ok(query.get());
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(new JobPage<>(new ArrayList<>(), null));
     } catch (Exception e) {
-      return ResponseEntity.status(500).body("Export failed: " + e.getMessage());
+      return ResponseEntity.status(500).body(new JobPage<>(new ArrayList<>(), null));
+    }
+  }
+
+  /**
+   * Serves a page from {@link ResponseCache} while the data version is unchanged. A request whose
+   * {@code If-None-Match} names the current ETag gets a 304 before any query runs. Error
+   * responses are neither cached nor tagged.
+   */
+  private ResponseEntity<byte[]> cachedPage(
+      HttpServletRequest request,
+      String ifNoneMatch,
+      Supplier<ResponseEntity<JobPage<JobView>>> page) {
+    String key = cacheKey(request);
+    long version = responseCache.version();
+    String etag = responseCache.etag(key, version);
+    if (matchesEtag(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    Optional<byte[]> cached = responseCache.get(key, version);
+    if (cached.isPresent()) {
+      return json(etag, cached.get());
+    }
+
+    ResponseEntity<JobPage<JobView>> response = page.get();
+    byte[] body;
+    try {
+      body = objectMapper.writeValueAsBytes(response.getBody());
+    } catch (JsonProcessingException e) {
+      return ResponseEntity.status(500).build();
+    }
+    if (!response.getStatusCode().is2xxSuccessful()) {
+      return ResponseEntity.status(response.getStatusCode())
+          .contentType(MediaType.APPLICATION_JSON)
+          .body(body);
+    }
+    responseCache.put(key, version, body);
+    return json(etag, body);
+  }
+
+  private static ResponseEntity<byte[]> json(String etag, byte[] body) {
+    return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(body);
+  }
+
+  @GetMapping("/export")
+  public ResponseEntity<StreamingResponseBody> exportToSql(
+      HttpServletRequest request,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @RequestParam(defaultValue = "INSERT") SqlExportFormat format) {
+    String etag = responseCache.etag(cacheKey(request), responseCache.version());
+    if (matchesEtag(ifNoneMatch, etag)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+    StreamingResponseBody body =
+        outputStream -> {
+          Writer writer =
+              new BufferedWriter(
+                  new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                  EXPORT_BUFFER_SIZE);
+          jobScrapingService.exportToSql(writer, format);
+          writer.flush();
+        };
+    return ResponseEntity.ok().eTag(etag).contentType(MediaType.TEXT_PLAIN).body(body);
+  }
+
+  /**
+   * Imports NDJSON, or CSV when the body is {@code text/csv}, as it is uploaded. The response is
+   * NDJSON: a {@code reject} line per invalid row, a {@code progress} line per committed batch
+   * and a final {@code completed} or {@code failed} line.
+   */
+  @PostMapping("/import")
+  public ResponseEntity<StreamingResponseBody> importJobs(
+      HttpServletRequest request,
+      @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false)
+          String contentEncoding,
+      @RequestParam(required = false) ImportFormat format)
+      throws IOException {
+    ImportFormat importFormat = format != null ? format : ImportFormat.of(request.getContentType());
+    boolean gzip = "gzip".equalsIgnoreCase(contentEncoding);
+    InputStream requestBody = request.getInputStream();
+    StreamingResponseBody body =
+        outputStream -> {
+          Writer writer =
+              new BufferedWriter(
+                  new OutputStreamWriter(outputStream, StandardCharsets.UTF_8),
+                  EXPORT_BUFFER_SIZE);
+          InputStream input = requestBody;
+          if (gzip) {
+            try {
+              input = new GZIPInputStream(requestBody, EXPORT_BUFFER_SIZE);
+            } catch (IOException e) {
+              writeLine(
+                  writer, new ImportProgress("failed", 0, 0, 0, 0, 0, 0, 0, "Invalid gzip body"));
+              writer.flush();
+              return;
+            }
+          }
+          jobImportService.importJobs(
+              input,
+              importFormat,
+              new ImportListener() {
+                @Override
+                public void onReject(ImportReject reject) throws IOException {
+                  writeLine(writer, reject);
+                }
+
+                @Override
+                public void onProgress(ImportProgress progress) throws IOException {
+                  writeLine(writer, progress);
+                  writer.flush();
+                }
+              });
+        };
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+  }
+
+  private void writeLine(Writer writer, Object value) throws IOException {
+    writer.write(objectMapper.writeValueAsString(value));
+    writer.write('\n');
+  }
+
+  private static String cacheKey(HttpServletRequest request) {
+    StringBuilder key = new StringBuilder(request.getRequestURI());
+    new TreeMap<>(request.getParameterMap())
+        .forEach(
+            (name, values) ->
+                key.append('&').append(name).append('=').append(String.join(",", values)));
+    return key.toString();
+  }
+
+  private static boolean matchesEtag(String ifNoneMatch, String etag) {
+    if (ifNoneMatch == null) {
+      return false;
+    }
+    for (String candidate : ifNoneMatch.split(",")) {
+      String tag = candidate.trim();
+      if (tag.startsWith("W/")) {
+        tag = tag.substring(2);
+      }
+      if (tag.equals("*") || tag.equals(etag)) {
+        return true;
+      }
     }
+    return false;
   }
 }
@@ -0,0 +1,3 @@
+package com.example.jobscraper.dto;
+
+public record CompanyView(Long id, String title, String websiteUrl, String logoUrl) {}
@@ -0,0 +1,3 @@
+package com.example.jobscraper.dto;
+
+public record FacetCount(String value, int count) {}
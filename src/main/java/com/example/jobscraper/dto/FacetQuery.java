@@ -0,0 +1,20 @@
+package com.example.jobscraper.dto;
+
+import java.util.List;
+
+/**
+ * A job must carry every {@code tag}, at least one {@code anyTag} and no {@code notTag}, and match
+ * {@code location}, {@code company} and {@code function} when given. {@code facet} names the
+ * facets to count ({@code tag}, {@code location}, {@code company}, {@code function}); {@code ids}
+ * asks for up to that many matching job ids, newest first.
+ */
+public record FacetQuery(
+    List<String> tag,
+    List<String> anyTag,
+    List<String> notTag,
+    String location,
+    String company,
+    String function,
+    List<String> facet,
+    Integer limit,
+    Integer ids) {}
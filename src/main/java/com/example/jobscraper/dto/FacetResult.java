@@ -0,0 +1,6 @@
+package com.example.jobscraper.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public record FacetResult(int total, List<Long> jobIds, Map<String, List<FacetCount>> facets) {}
@@ -0,0 +1,20 @@
+package com.example.jobscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Import counts so far. {@code type} is {@code progress} after each committed batch, then {@code
+ * completed} or {@code failed}, the latter with an {@code error}. {@code duplicates} counts rows
+ * skipped as near-duplicates of another job.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportProgress(
+    String type,
+    long rows,
+    long inserted,
+    long updated,
+    long unchanged,
+    long duplicates,
+    long rejected,
+    long elapsedMillis,
+    String error) {}
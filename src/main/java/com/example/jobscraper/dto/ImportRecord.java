@@ -0,0 +1,18 @@
+package com.example.jobscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.List;
+
+/** One job to import, in the shape {@code GET /api/jobs} returns; ids are ignored. */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ImportRecord(
+    String positionName,
+    String jobPageUrl,
+    String laborFunction,
+    String location,
+    Long postedDateUnix,
+    String description,
+    String status,
+    CompanyView company,
+    List<String> tags) {}
@@ -0,0 +1,9 @@
+package com.example.jobscraper.dto;
+
+/** A row that was not imported, by the input line it starts on. */
+public record ImportReject(String type, long line, String reason) {
+
+  public ImportReject(long line, String reason) {
+    this("reject", line, reason);
+  }
+}
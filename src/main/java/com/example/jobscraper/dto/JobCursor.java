@@ -0,0 +1,25 @@
+package com.example.jobscraper.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record JobCursor(long postedDateUnix, long id) {
+
+  public static JobCursor decode(String token) {
+    try {
+      String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+      int separator = decoded.indexOf(':');
+      return new JobCursor(
+          Long.parseLong(decoded.substring(0, separator)),
+          Long.parseLong(decoded.substring(separator + 1)));
+    } catch (RuntimeException e) {
+      throw new IllegalArgumentException("Invalid cursor: " + token, e);
+    }
+  }
+
+  public String encode() {
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString((postedDateUnix + ":" + id).getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.jobscraper.dto;
+
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+
+import java.util.List;
+
+public record JobFilter(
+    String function,
+    String location,
+    ProcessingStatus status,
+    String company,
+    Long postedFrom,
+    Long postedTo,
+    List<String> tag) {
+
+  public JobFilter withFunction(String function) {
+    return new JobFilter(function, location, status, company, postedFrom, postedTo, tag);
+  }
+}
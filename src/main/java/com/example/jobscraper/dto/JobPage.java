@@ -0,0 +1,5 @@
+package com.example.jobscraper.dto;
+
+import java.util.List;
+
+public record JobPage<T>(List<T> items, String nextCursor) {}
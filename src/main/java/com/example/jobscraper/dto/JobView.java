@@ -0,0 +1,18 @@
+package com.example.jobscraper.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobView(
+    long id,
+    String positionName,
+    String jobPageUrl,
+    String laborFunction,
+    String location,
+    Long postedDateUnix,
+    String status,
+    CompanyView company,
+    List<String> tags,
+    String description) {}
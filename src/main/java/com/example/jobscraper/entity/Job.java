@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.OffsetDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -24,7 +25,17 @@ public class Job {
   private String location;
   private Long postedDateUnix;
 
-  @Lob private String description;
+  @Column(columnDefinition = "TEXT")
+  private String description;
+
+  private String contentHash;
+
+  /** Refreshed in SQL whenever a crawl or import sees the job again. */
+  @Column(insertable = false, updatable = false)
+  private OffsetDateTime lastSeenAt;
+
+  private Long simhash;
+  private Long duplicateOf;
 
   @Enumerated(EnumType.STRING)
   private ProcessingStatus status = ProcessingStatus.PENDING;
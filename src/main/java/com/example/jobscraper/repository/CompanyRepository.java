@@ -1,12 +1,37 @@
 package com.example.jobscraper.repository;
 
 import com.example.jobscraper.entity.Company;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface CompanyRepository extends JpaRepository<Company, Long> {
   Optional<Company> findByTitle(String title);
+
+  @Modifying
+  @Query(
+      value =
+          "INSERT INTO companies (title, website_url, logo_url)"
+              + " VALUES (:#{#company.title}, :#{#company.websiteUrl}, :#{#company.logoUrl})"
+              + " ON CONFLICT (title) DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("company") Company company);
+
+  @Query("select c from Company c order by c.id")
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  Stream<Company> streamAll();
 }
@@ -0,0 +1,186 @@
+package com.example.jobscraper.repository;
+
+import com.example.jobscraper.dto.CompanyView;
+import com.example.jobscraper.dto.JobCursor;
+import com.example.jobscraper.dto.JobFilter;
+import com.example.jobscraper.dto.SearchCursor;
+import com.example.jobscraper.repository.projection.JobRow;
+import com.example.jobscraper.repository.projection.JobSearchRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+
+@Repository
+@RequiredArgsConstructor
+public class JobQueryRepository {
+
+  private static final String SORT_KEY = "COALESCE(j.posted_date_unix, 0)";
+  private static final String RANK = "ts_rank(j.search_vector, q.query)";
+  private static final String JOB_COLUMNS =
+      "j.id, j.position_name, j.job_page_url, j.labor_function, j.location,"
+          + " j.posted_date_unix, j.status, j.company_id";
+
+  private static final String FIND_COMPANIES_SQL =
+      "SELECT id, title, website_url, logo_url FROM companies WHERE id IN (:ids)";
+  private static final String FIND_TAG_NAMES_SQL =
+      "SELECT jt.job_id, t.name FROM job_tags jt JOIN tags t ON t.id = jt.tag_id"
+          + " WHERE jt.job_id IN (:jobIds) ORDER BY t.name";
+
+  private static final RowMapper<JobRow> JOB_ROW_MAPPER =
+      (rs, rowNum) ->
+          new JobRow(
+              rs.getLong("id"),
+              rs.getString("position_name"),
+              rs.getString("job_page_url"),
+              rs.getString("labor_function"),
+              rs.getString("location"),
+              rs.getObject("posted_date_unix", Long.class),
+              rs.getString("status"),
+              rs.getObject("company_id", Long.class),
+              rs.getString("description"));
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+
+  /**
+   * Full-text search over titles and descriptions, ranked with title matches first. Matches are
+   * found through the GIN index on {@code search_vector}; {@code query} uses web search syntax
+   * ({@code "exact phrase"}, {@code or}, {@code -excluded}).
+   */
+  public List<JobSearchRow> search(
+      String query, JobFilter filter, SearchCursor after, int limit, boolean includeDescription) {
+    StringBuilder sql =
+        selectColumns(includeDescription)
+            .append(", ")
+            .append(RANK)
+            .append(" AS rank FROM jobs j, websearch_to_tsquery('english', :query) AS q(query)")
+            .append(" WHERE j.search_vector @@ q.query");
+    MapSqlParameterSource params = new MapSqlParameterSource("query", query);
+    appendFilter(sql, params, filter);
+
+    if (after != null) {
+      sql.append(" AND (").append(RANK).append(", j.id) < (CAST(:cursorRank AS real), :cursorId)");
+      params.addValue("cursorRank", after.rank()).addValue("cursorId", after.id());
+    }
+
+    sql.append(" ORDER BY rank DESC, j.id DESC LIMIT :limit");
+    params.addValue("limit", limit);
+
+    return jdbcTemplate.query(
+        sql.toString(),
+        params,
+        (rs, rowNum) -> new JobSearchRow(JOB_ROW_MAPPER.mapRow(rs, rowNum), rs.getFloat("rank")));
+  }
+
+  public List<JobRow> findPage(
+      JobFilter filter, JobCursor after, int limit, boolean includeDescription) {
+    StringBuilder sql = selectJobs(includeDescription).append(" WHERE 1 = 1");
+    MapSqlParameterSource params = new MapSqlParameterSource();
+    appendFilter(sql, params, filter);
+
+    if (after != null) {
+      sql.append(" AND (").append(SORT_KEY).append(", j.id) < (:cursorPosted, :cursorId)");
+      params.addValue("cursorPosted", after.postedDateUnix()).addValue("cursorId", after.id());
+    }
+
+    sql.append(" ORDER BY ").append(SORT_KEY).append(" DESC, j.id DESC LIMIT :limit");
+    params.addValue("limit", limit);
+
+    return jdbcTemplate.query(sql.toString(), params, JOB_ROW_MAPPER);
+  }
+
+  public List<JobRow> findByIds(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    String sql = selectJobs(false).append(" WHERE j.id IN (:ids) ORDER BY j.id").toString();
+    return jdbcTemplate.query(sql, Map.of("ids", ids), JOB_ROW_MAPPER);
+  }
+
+  public Optional<JobRow> findById(long id) {
+    String sql = selectJobs(true).append(" WHERE j.id = :id").toString();
+    return jdbcTemplate.query(sql, Map.of("id", id), JOB_ROW_MAPPER).stream().findFirst();
+  }
+
+  public Map<Long, CompanyView> findCompanies(Collection<Long> ids) {
+    Map<Long, CompanyView> companies = new HashMap<>();
+    if (ids.isEmpty()) {
+      return companies;
+    }
+    jdbcTemplate.query(
+        FIND_COMPANIES_SQL,
+        Map.of("ids", ids),
+        rs -> {
+          long id = rs.getLong("id");
+          companies.put(
+              id,
+              new CompanyView(
+                  id,
+                  rs.getString("title"),
+                  rs.getString("website_url"),
+                  rs.getString("logo_url")));
+        });
+    return companies;
+  }
+
+  public Map<Long, List<String>> findTagNames(Collection<Long> jobIds) {
+    Map<Long, List<String>> tags = new HashMap<>();
+    if (jobIds.isEmpty()) {
+      return tags;
+    }
+    jdbcTemplate.query(
+        FIND_TAG_NAMES_SQL,
+        Map.of("jobIds", jobIds),
+        rs -> {
+          tags.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+        });
+    return tags;
+  }
+
+  private StringBuilder selectJobs(boolean includeDescription) {
+    return selectColumns(includeDescription).append(" FROM jobs j");
+  }
+
+  private StringBuilder selectColumns(boolean includeDescription) {
+    return new StringBuilder("SELECT ")
+        .append(JOB_COLUMNS)
+        .append(includeDescription ? ", j.description" : ", NULL AS description");
+  }
+
+  private void appendFilter(StringBuilder sql, MapSqlParameterSource params, JobFilter filter) {
+    if (filter.function() != null) {
+      sql.append(" AND j.labor_function = :function");
+      params.addValue("function", filter.function());
+    }
+    if (filter.location() != null) {
+      sql.append(" AND j.location = :location");
+      params.addValue("location", filter.location());
+    }
+    if (filter.status() != null) {
+      sql.append(" AND j.status = :status");
+      params.addValue("status", filter.status().name());
+    }
+    if (filter.company() != null) {
+      sql.append(" AND j.company_id = (SELECT c.id FROM companies c WHERE c.title = :company)");
+      params.addValue("company", filter.company());
+    }
+    if (filter.postedFrom() != null) {
+      sql.append(" AND j.posted_date_unix >= :postedFrom");
+      params.addValue("postedFrom", filter.postedFrom());
+    }
+    if (filter.postedTo() != null) {
+      sql.append(" AND j.posted_date_unix <= :postedTo");
+      params.addValue("postedTo", filter.postedTo());
+    }
+    if (filter.tag() != null && !filter.tag().isEmpty()) {
+      Set<String> tags = new HashSet<>(filter.tag());
+      sql.append(
+          " AND j.id IN (SELECT jt.job_id FROM job_tags jt JOIN tags t ON t.id = jt.tag_id"
+              + " WHERE t.name IN (:tags) GROUP BY jt.job_id HAVING COUNT(*) = :tagCount)");
+      params.addValue("tags", tags).addValue("tagCount", tags.size());
+    }
+  }
+}
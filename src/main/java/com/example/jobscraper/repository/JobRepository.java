@@ -1,10 +1,52 @@
 package com.example.jobscraper.repository;
 
 import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+import com.example.jobscraper.repository.projection.JobDuplicateRow;
+import com.example.jobscraper.repository.projection.JobTagRow;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
-  boolean existsByJobPageUrl(String jobPageUrl);
+  @Query("select j from Job j left join fetch j.company order by j.id")
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  Stream<Job> streamAllWithCompany();
+
+  @Query(
+      value =
+          "SELECT jt.job_id AS jobId, jt.tag_id AS tagId, j.job_page_url AS jobPageUrl,"
+              + " t.name AS tagName FROM job_tags jt"
+              + " JOIN jobs j ON j.id = jt.job_id"
+              + " JOIN tags t ON t.id = jt.tag_id"
+              + " ORDER BY jt.job_id",
+      nativeQuery = true)
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+  Stream<JobTagRow> streamJobTagRows();
+
+  @Query(
+      value =
+          "SELECT j.job_page_url AS jobPageUrl, o.job_page_url AS duplicateOfUrl FROM jobs j"
+              + " JOIN jobs o ON o.id = j.duplicate_of"
+              + " ORDER BY j.id",
+      nativeQuery = true)
+  @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+  Stream<JobDuplicateRow> streamDuplicateRows();
+
+  @Modifying
+  @Query("update Job j set j.status = :status where j.id = :id")
+  int updateStatus(@Param("id") Long id, @Param("status") ProcessingStatus status);
 }
@@ -1,12 +1,34 @@
 package com.example.jobscraper.repository;
 
 import com.example.jobscraper.entity.Tag;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
 public interface TagRepository extends JpaRepository<Tag, Long> {
   Optional<Tag> findByName(String name);
+
+  @Modifying
+  @Query(
+      value = "INSERT INTO tags (name) VALUES (:name) ON CONFLICT (name) DO NOTHING",
+      nativeQuery = true)
+  int insertIfAbsent(@Param("name") String name);
+
+  @Query("select t from Tag t order by t.id")
+  @QueryHints({
+    @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+    @QueryHint(name = HINT_READ_ONLY, value = "true")
+  })
+  Stream<Tag> streamAll();
 }
@@ -0,0 +1,7 @@
+package com.example.jobscraper.repository.projection;
+
+public interface JobDuplicateRow {
+  String getJobPageUrl();
+
+  String getDuplicateOfUrl();
+}
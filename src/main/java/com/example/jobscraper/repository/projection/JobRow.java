@@ -0,0 +1,12 @@
+package com.example.jobscraper.repository.projection;
+
+public record JobRow(
+    long id,
+    String positionName,
+    String jobPageUrl,
+    String laborFunction,
+    String location,
+    Long postedDateUnix,
+    String status,
+    Long companyId,
+    String description) {}
@@ -0,0 +1,3 @@
+package com.example.jobscraper.repository.projection;
+
+public record JobSearchRow(JobRow job, float rank) {}
@@ -0,0 +1,11 @@
+package com.example.jobscraper.repository.projection;
+
+public interface JobTagRow {
+  Long getJobId();
+
+  Long getTagId();
+
+  String getJobPageUrl();
+
+  String getTagName();
+}
@@ -0,0 +1,103 @@
+package com.example.jobscraper.service;
+
+import com.example.jobscraper.dto.CompanyView;
+import com.example.jobscraper.dto.JobCursor;
+import com.example.jobscraper.dto.JobFilter;
+import com.example.jobscraper.dto.JobPage;
+import com.example.jobscraper.dto.JobView;
+import com.example.jobscraper.dto.SearchCursor;
+import com.example.jobscraper.repository.JobQueryRepository;
+import com.example.jobscraper.repository.projection.JobRow;
+import com.example.jobscraper.repository.projection.JobSearchRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class JobQueryService {
+
+  private static final int MAX_PAGE_SIZE = 500;
+
+  private final JobQueryRepository jobQueryRepository;
+
+  @Transactional(readOnly = true)
+  public JobPage<JobView> getJobs(
+      JobFilter filter, String cursor, int limit, boolean includeDescription) {
+    int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    JobCursor after = Optional.ofNullable(cursor).map(JobCursor::decode).orElse(null);
+
+    List<JobRow> rows =
+        jobQueryRepository.findPage(filter, after, pageSize + 1, includeDescription);
+    boolean hasMore = rows.size() > pageSize;
+    List<JobRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+    String nextCursor = hasMore ? toCursor(page.get(page.size() - 1)) : null;
+    return new JobPage<>(toViews(page), nextCursor);
+  }
+
+  @Transactional(readOnly = true)
+  public JobPage<JobView> search(
+      String query, JobFilter filter, String cursor, int limit, boolean includeDescription) {
+    if (query == null || query.isBlank()) {
+      throw new IllegalArgumentException("Search query must not be blank");
+    }
+    int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+    SearchCursor after = Optional.ofNullable(cursor).map(SearchCursor::decode).orElse(null);
+
+    List<JobSearchRow> rows =
+        jobQueryRepository.search(query, filter, after, pageSize + 1, includeDescription);
+    boolean hasMore = rows.size() > pageSize;
+    List<JobSearchRow> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+    JobSearchRow last = page.isEmpty() ? null : page.get(page.size() - 1);
+    String nextCursor = hasMore ? new SearchCursor(last.rank(), last.job().id()).encode() : null;
+    return new JobPage<>(
+        toViews(page.stream().map(JobSearchRow::job).collect(Collectors.toList())), nextCursor);
+  }
+
+  @Transactional(readOnly = true)
+  public Optional<JobView> getJob(long id) {
+    return jobQueryRepository
+        .findById(id)
+        .map(row -> toViews(List.of(row)))
+        .map(views -> views.get(0));
+  }
+
+  @Transactional(readOnly = true)
+  public List<JobView> getJobsById(Collection<Long> ids) {
+    return toViews(jobQueryRepository.findByIds(ids));
+  }
+
+  private List<JobView> toViews(List<JobRow> rows) {
+    Set<Long> companyIds =
+        rows.stream().map(JobRow::companyId).filter(Objects::nonNull).collect(Collectors.toSet());
+    List<Long> jobIds = rows.stream().map(JobRow::id).collect(Collectors.toList());
+
+    Map<Long, CompanyView> companies = jobQueryRepository.findCompanies(companyIds);
+    Map<Long, List<String>> tags = jobQueryRepository.findTagNames(jobIds);
+
+    return rows.stream()
+        .map(
+            row ->
+                new JobView(
+                    row.id(),
+                    row.positionName(),
+                    row.jobPageUrl(),
+                    row.laborFunction(),
+                    row.location(),
+                    row.postedDateUnix(),
+                    row.status(),
+                    companies.get(row.companyId()),
+                    tags.getOrDefault(row.id(), Collections.emptyList()),
+                    row.description()))
+        .collect(Collectors.toList());
+  }
+
+  private String toCursor(JobRow row) {
+    return new JobCursor(Optional.ofNullable(row.postedDateUnix()).orElse(0L), row.id()).encode();
+  }
+}
@@ -1,5 +1,8 @@
 package com.example.jobscraper.service;
 
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.config.ScraperProperties.NearDuplicateMode;
+import com.example.jobscraper.config.ScraperProperties.PersistenceMode;
 import com.example.jobscraper.entity.Company;
 import com.example.jobscraper.entity.Job;
 import com.example.jobscraper.entity.Tag;
@@ -7,19 +10,58 @@ import com.example.jobscraper.entity.enums.ProcessingStatus;
 import com.example.jobscraper.repository.CompanyRepository;
 import com.example.jobscraper.repository.JobRepository;
 import com.example.jobscraper.repository.TagRepository;
+import com.example.jobscraper.service.cache.DataVersion;
+import com.example.jobscraper.service.cache.IdentityCache;
+import com.example.jobscraper.service.crawl.CrawlEngine;
+import com.example.jobscraper.service.crawl.CrawlSession;
+import com.example.jobscraper.service.crawl.CrawlStats;
+import com.example.jobscraper.service.crawl.CrawlVisitor;
+import com.example.jobscraper.service.crawl.CrawledPage;
+import com.example.jobscraper.service.dedup.KnownUrlFilter;
+import com.example.jobscraper.service.dedup.KnownUrlFilter.KnownJob;
+import com.example.jobscraper.service.dedup.NearDuplicateIndex;
+import com.example.jobscraper.service.dedup.NearDuplicates;
+import com.example.jobscraper.service.dedup.NearDuplicates.Match;
+import com.example.jobscraper.service.dedup.UrlCanonicalizer;
+import com.example.jobscraper.service.export.SqlDumpSection;
+import com.example.jobscraper.service.extraction.JobBuilder;
+import com.example.jobscraper.service.extraction.JobElementExtractor;
+import com.example.jobscraper.service.extraction.JobElementExtractor.Selection;
+import com.example.jobscraper.service.extraction.JobTextAnalyzer;
+import com.example.jobscraper.service.export.SqlDumpWriter;
+import com.example.jobscraper.service.export.SqlExportFormat;
+import com.example.jobscraper.service.facet.FacetIndex;
+import com.example.jobscraper.service.feed.JobFeed;
+import com.example.jobscraper.service.fingerprint.CardFingerprints;
+import com.example.jobscraper.service.fingerprint.ContentHash;
+import com.example.jobscraper.service.fingerprint.FingerprintStore;
+import com.example.jobscraper.service.fingerprint.SimHash;
+import com.example.jobscraper.service.metrics.ScrapeMetrics;
+import com.example.jobscraper.service.metrics.ScrapeMetrics.Stage;
+import com.example.jobscraper.service.persistence.JobBulkWriter;
+import com.example.jobscraper.service.persistence.JobFreshness;
+import com.example.jobscraper.service.pipeline.ScrapePipeline;
+import com.example.jobscraper.service.pipeline.ScrapePipeline.Candidate;
+import com.example.jobscraper.service.task.ScrapeProgress;
+import com.example.jobscraper.service.task.ScrapeStage;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.select.Elements;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.Writer;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -27,246 +69,311 @@ import java.util.stream.Collectors;
 public class JobScrapingService {
 
   private static final String BASE_URL = "https://jobs.techstars.com/jobs";
-  private static final String USER_AGENT =
-      "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
-  private static final int TIMEOUT_MS = 30000;
-  private static final int MAX_JOBS_PER_SCRAPE = 15;
-
-  private static final Pattern JOB_TITLE_PATTERN =
-      Pattern.compile(
-          "(Senior|Junior|Lead|Staff|Principal)?\\s*(Software|Backend|Frontend|Full.?Stack|Platform|DevOps)\\s*(Engineer|Developer)",
-          Pattern.CASE_INSENSITIVE);
-
-  private static final Pattern LOCATION_PATTERN =
-      Pattern.compile(
-          "\\b(Remote|San Francisco|New York|NYC|Boston|Austin|Seattle|Los Angeles|LA|Denver|Chicago|Toronto|London|California|Texas|Massachusetts)\\b",
-          Pattern.CASE_INSENSITIVE);
+  private static final int EXPORT_FETCH_SIZE = 500;
 
   private final JobRepository jobRepository;
   private final CompanyRepository companyRepository;
   private final TagRepository tagRepository;
+  private final EntityManager entityManager;
+  private final JobBulkWriter jobBulkWriter;
+  private final IdentityCache identityCache;
+  private final KnownUrlFilter knownUrlFilter;
+  private final ScraperProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final CrawlEngine crawlEngine;
+  private final JobElementExtractor jobElementExtractor;
+  private final JobTextAnalyzer jobTextAnalyzer;
+  private final ScrapeMetrics scrapeMetrics;
+  private final FingerprintStore fingerprintStore;
+  private final JobFreshness jobFreshness;
+  private final FacetIndex facetIndex;
+  private final DataVersion dataVersion;
+  private final JobFeed jobFeed;
+  private final NearDuplicateIndex nearDuplicateIndex;
 
-  @Transactional
   public List<Job> scrapeJobsByFunction(String jobFunction) {
+    return scrapeJobsByFunction(jobFunction, ScrapeProgress.NONE);
+  }
+
+  public List<Job> scrapeJobsByFunction(String jobFunction, ScrapeProgress progress) {
     log.info("Starting job scraping for function: {}", jobFunction);
 
-    return Optional.ofNullable(performRealScraping(jobFunction))
-        .filter(jobs -> !jobs.isEmpty())
-        .orElseGet(() -> createFallbackJobs(jobFunction));
+    return performRealScraping(jobFunction, progress)
+        .orElseGet(() -> createFallbackJobs(jobFunction, progress));
   }
 
-  private List<Job> performRealScraping(String jobFunction) {
+  /**
+   * Returns the jobs saved or updated, or nothing when the crawl failed or found no job cards. A
+   * crawl whose cards are all unchanged returns an empty list.
+   */
+  private Optional<List<Job>> performRealScraping(String jobFunction, ScrapeProgress progress) {
+    CardFingerprints cards =
+        new CardFingerprints(fingerprintStore, properties.getCrawl().isSkipUnchanged());
+    NearDuplicates nearDuplicates = newNearDuplicates();
+    ScrapePipeline pipeline =
+        new ScrapePipeline(
+            properties.getPipeline(),
+            properties.getCrawl().getMaxJobsPerScrape(),
+            candidate -> extractJob(candidate, jobFunction, progress),
+            jobs -> dropUnchangedJobs(jobs, cards, nearDuplicates),
+            jobs -> writeJobs(jobs, cards, progress),
+            progress);
+    AtomicInteger cardsFound = new AtomicInteger();
     try {
-      Document document = connectToJobsSite();
-      Elements jobElements = extractJobElements(document);
-
-      return processJobElements(jobElements, jobFunction);
+      progress.onStage(ScrapeStage.CRAWL);
+      CrawlStats stats = crawl(pipeline, cards, cardsFound, progress);
+      progress.onStage(ScrapeStage.EXTRACT);
+      List<Job> written = pipeline.await();
+      log.info(
+          "Scrape finished: {} pages fetched ({} unchanged), {} failed, {} jobs saved or updated",
+          stats.pagesFetched(),
+          stats.pagesUnchanged(),
+          stats.pagesFailed(),
+          written.size());
+      expireStaleJobs();
+      rebuildNearDuplicatesIfDirty();
+      return cardsFound.get() > 0 || stats.pagesUnchanged() > 0
+          ? Optional.of(written)
+          : Optional.empty();
     } catch (Exception e) {
       log.error("Real scraping failed", e);
-      return Collections.emptyList();
+      pipeline.abort();
+      return Optional.empty();
     }
   }
 
-  private Document connectToJobsSite() throws Exception {
-    return Jsoup.connect(BASE_URL)
-        .userAgent(USER_AGENT)
-        .timeout(TIMEOUT_MS)
-        .followRedirects(true)
-        .get();
+  private CrawlStats crawl(
+      ScrapePipeline pipeline,
+      CardFingerprints cards,
+      AtomicInteger cardsFound,
+      ScrapeProgress progress)
+      throws InterruptedException {
+    try {
+      CrawlSession session =
+          crawlEngine.start(
+              BASE_URL,
+              new CrawlVisitor() {
+                @Override
+                public boolean visit(CrawledPage page) {
+                  progress.onPageFetched(page.url());
+                  return offerCandidates(pipeline, cards, cardsFound, page, progress)
+                      && !progress.isCancelled();
+                }
+
+                @Override
+                public void unchanged(String url) {
+                  jobFreshness.touchPage(url);
+                }
+              });
+      return session.await();
+    } finally {
+      pipeline.finishInput();
+    }
   }
 
-  private Elements extractJobElements(Document document) {
-    List<String> selectors =
-        Arrays.asList(
-            ".job-item, .job-card, .job-posting, [data-job], .posting",
-            "[data-qa='job'], [data-testid*='job'], .opening, .position",
-            "a[href*='/job/'], a[href*='/position/'], a[href*='/career/']");
-
-    return selectors.stream()
-        .map(document::select)
-        .filter(elements -> !elements.isEmpty())
-        .findFirst()
-        .orElseGet(() -> searchByTextContent(document));
-  }
+  private boolean offerCandidates(
+      ScrapePipeline pipeline,
+      CardFingerprints cards,
+      AtomicInteger cardsFound,
+      CrawledPage page,
+      ScrapeProgress progress) {
+    Selection selection =
+        scrapeMetrics.time(Stage.SELECT, () -> jobElementExtractor.select(page.document()));
+    Elements elements = selection.elements();
+    scrapeMetrics.recordSelection(selection.selector(), elements.size());
+    progress.onElementsFound(elements.size());
+    cardsFound.addAndGet(elements.size());
+
+    List<Candidate> candidates =
+        elements.stream()
+            .map(element -> new Candidate(extractCandidateUrl(element), element))
+            .collect(Collectors.toList());
+    List<Candidate> changed =
+        scrapeMetrics.time(
+            Stage.DEDUP,
+            () ->
+                cards.changed(
+                    page.url(), candidates, Candidate::url, c -> c.element().outerHtml()));
+    touchUnchangedCards(candidates, changed);
 
-  private Elements searchByTextContent(Document document) {
-    return document.select("*").stream()
-        .filter(this::hasJobRelatedContent)
-        .limit(MAX_JOBS_PER_SCRAPE)
-        .collect(Collectors.toCollection(Elements::new));
+    try {
+      for (Candidate candidate : changed) {
+        if (!pipeline.offer(candidate)) {
+          return false;
+        }
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
   }
 
-  private boolean hasJobRelatedContent(Element element) {
-    String text = element.ownText();
-    String href = element.attr("href");
-    String className = element.className();
-
-    return containsJobKeywords(text) || containsJobUrl(href) || containsJobClass(className);
+  private void touchUnchangedCards(List<Candidate> candidates, List<Candidate> changed) {
+    if (candidates.size() == changed.size()) {
+      return;
+    }
+    Set<String> offered = changed.stream().map(Candidate::url).collect(Collectors.toSet());
+    List<String> unchanged =
+        candidates.stream()
+            .map(Candidate::url)
+            .filter(url -> !offered.contains(url))
+            .collect(Collectors.toList());
+    scrapeMetrics.recordUnchangedCards(unchanged.size());
+    jobFreshness.touch(unchanged);
   }
 
-  private boolean containsJobKeywords(String text) {
-    return Optional.ofNullable(text)
-        .filter(t -> t.length() > 10)
-        .map(String::toLowerCase)
-        .map(t -> t.contains("engineer") || t.contains("developer") || t.contains("software"))
-        .orElse(false);
+  private Optional<Job> extractJob(
+      Candidate candidate, String jobFunction, ScrapeProgress progress) {
+    Optional<Job> job =
+        scrapeMetrics.time(
+            Stage.EXTRACT,
+            () ->
+                Optional.ofNullable(
+                        createJobFromElement(candidate.element(), candidate.url(), jobFunction))
+                    .filter(this::isValidJob));
+    job.ifPresent(extracted -> progress.onJobsExtracted(1));
+    return job;
   }
 
-  private boolean containsJobUrl(String href) {
-    return Optional.ofNullable(href)
-        .map(h -> h.contains("/job") || h.contains("/position") || h.contains("/career"))
-        .orElse(false);
+  /**
+   * Passes on new jobs and stored jobs whose content hash changed, the latter carrying the id of
+   * their row. Unchanged stored jobs only have their last-seen time refreshed. New jobs that nearly
+   * duplicate another job are dropped, confirming their card and refreshing the stored job, or
+   * with {@code scraper.dedup.near-duplicates: link} passed on with {@code duplicateOf} set.
+   */
+  private List<Job> dropUnchangedJobs(
+      List<Job> jobs, CardFingerprints cards, NearDuplicates nearDuplicates) {
+    List<String> urls = jobs.stream().map(Job::getJobPageUrl).collect(Collectors.toList());
+    Map<String, KnownJob> known =
+        scrapeMetrics.time(Stage.DEDUP, () -> knownUrlFilter.findKnown(urls));
+    NearDuplicateMode mode = properties.getDedup().getNearDuplicates();
+
+    List<Job> pending = new ArrayList<>(jobs.size());
+    List<String> unchanged = new ArrayList<>();
+    List<String> skippedUrls = new ArrayList<>();
+    List<Long> duplicated = new ArrayList<>();
+    int skipped = 0;
+    int linked = 0;
+    for (Job job : jobs) {
+      KnownJob stored = known.get(job.getJobPageUrl());
+      if (stored == null) {
+        Optional<Match> match =
+            mode == NearDuplicateMode.OFF
+                ? Optional.empty()
+                : scrapeMetrics.time(Stage.DEDUP, () -> nearDuplicates.check(job));
+        if (match.isEmpty()) {
+          pending.add(job);
+        } else if (match.get().isStored() && mode == NearDuplicateMode.LINK) {
+          job.setDuplicateOf(match.get().jobId());
+          pending.add(job);
+          linked++;
+        } else {
+          match.filter(Match::isStored).ifPresent(m -> duplicated.add(m.jobId()));
+          skippedUrls.add(job.getJobPageUrl());
+          skipped++;
+        }
+      } else if (stored.hasContent(job.getContentHash())) {
+        unchanged.add(job.getJobPageUrl());
+      } else {
+        job.setId(stored.id());
+        pending.add(job);
+      }
+    }
+    jobFreshness.touch(unchanged);
+    jobFreshness.touchJobs(duplicated);
+    cards.confirm(unchanged);
+    cards.confirm(skippedUrls);
+    scrapeMetrics.recordNearDuplicates("skipped", skipped);
+    scrapeMetrics.recordNearDuplicates("linked", linked);
+    return pending;
   }
 
-  private boolean containsJobClass(String className) {
-    return Optional.ofNullable(className)
-        .map(c -> c.contains("job") || c.contains("position") || c.contains("career"))
-        .orElse(false);
+  private List<Job> writeJobs(List<Job> jobs, CardFingerprints cards, ScrapeProgress progress) {
+    Map<Boolean, List<Job>> byStored =
+        jobs.stream().collect(Collectors.partitioningBy(job -> job.getId() != null));
+    List<Job> written = new ArrayList<>();
+    if (!byStored.get(false).isEmpty()) {
+      written.addAll(saveJobs(byStored.get(false), progress));
+    }
+    written.addAll(updateJobs(byStored.get(true), progress));
+    cards.confirm(
+        written.stream()
+            .filter(job -> job.getStatus() != ProcessingStatus.FAILED)
+            .map(Job::getJobPageUrl)
+            .collect(Collectors.toList()));
+    return written;
   }
 
-  private List<Job> processJobElements(Elements elements, String jobFunction) {
-    return elements.stream()
-        .map(element -> createJobFromElement(element, jobFunction))
-        .filter(Objects::nonNull)
-        .filter(this::isValidJob)
-        .filter(job -> !jobRepository.existsByJobPageUrl(job.getJobPageUrl()))
-        .peek(this::saveJob)
-        .limit(MAX_JOBS_PER_SCRAPE)
-        .collect(Collectors.toList());
+  private List<Job> updateJobs(List<Job> jobs, ScrapeProgress progress) {
+    if (jobs.isEmpty()) {
+      return jobs;
+    }
+    List<Job> updated = scrapeMetrics.time(Stage.PERSIST, () -> updateBatch(jobs));
+    onJobsWritten(
+        Collections.emptyList(),
+        updated.stream()
+            .filter(job -> job.getStatus() != ProcessingStatus.FAILED)
+            .collect(Collectors.toList()));
+    progress.onJobsSaved(updated.size());
+    return updated;
   }
 
-  private Job createJobFromElement(Element element, String jobFunction) {
+  private List<Job> updateBatch(List<Job> jobs) {
     try {
-      JobBuilder builder = new JobBuilder(element, jobFunction);
-      return builder.build();
+      return transactionTemplate.execute(status -> jobBulkWriter.updateAll(jobs));
     } catch (Exception e) {
-      log.debug("Failed to create job from element", e);
-      return null;
+      log.error("Updating {} changed jobs failed, retrying job by job", jobs.size(), e);
+      List<Job> updated = new ArrayList<>();
+      jobs.forEach(job -> updated.addAll(updateJobInOwnTransaction(job)));
+      return updated;
     }
   }
 
-  private class JobBuilder {
-    private final Element element;
-    private final String jobFunction;
-    private final String elementText;
-
-    public JobBuilder(Element element, String jobFunction) {
-      this.element = element;
-      this.jobFunction = jobFunction;
-      this.elementText = element.text();
-    }
-
-    public Job build() {
-      Job job = new Job();
-      job.setPositionName(extractJobTitle());
-      job.setJobPageUrl(extractJobUrl());
-      job.setLaborFunction(jobFunction);
-      job.setLocation(extractLocation());
-      job.setDescription(extractDescription());
-      job.setPostedDateUnix(System.currentTimeMillis() / 1000);
-      job.setStatus(ProcessingStatus.COMPLETED);
-      job.setCompany(createCompany());
-      job.setTags(createTags());
-      return job;
-    }
-
-    private String extractJobTitle() {
-      return Optional.of(JOB_TITLE_PATTERN.matcher(elementText))
-          .filter(Matcher::find)
-          .map(Matcher::group)
-          .map(String::trim)
-          .orElseGet(this::generateFallbackTitle);
-    }
-
-    private String generateFallbackTitle() {
-      if (elementText.toLowerCase().contains("engineer")) {
-        return "Software Engineer";
-      }
-      if (elementText.toLowerCase().contains("developer")) {
-        return "Software Developer";
+  /** Returns the job if it was rewritten or marked {@code FAILED}, or nothing if unchanged. */
+  private List<Job> updateJobInOwnTransaction(Job job) {
+    try {
+      return transactionTemplate.execute(status -> jobBulkWriter.updateAll(List.of(job)));
+    } catch (Exception e) {
+      log.error("Failed to update job: {}", job.getPositionName(), e);
+      try {
+        transactionTemplate.executeWithoutResult(status -> handleSaveError(job));
+      } catch (Exception rollback) {
+        log.error("Critical: Failed to mark job {} as FAILED", job.getId(), rollback);
       }
-      return "Software Engineering Position";
+      return List.of(job);
     }
+  }
 
-    private String extractJobUrl() {
-      String href = element.attr("href");
-      if (href.contains("/job") || href.contains("/position")) {
-        return href.startsWith("http") ? href : BASE_URL.replace("/jobs", "") + href;
+  private void expireStaleJobs() {
+    try {
+      if (jobFreshness.expireStale() > 0) {
+        facetIndex.rebuild();
+        nearDuplicateIndex.rebuild();
+        dataVersion.bump();
       }
-      return BASE_URL + "/job/" + Math.abs(elementText.hashCode());
-    }
-
-    private String extractLocation() {
-      return Optional.of(LOCATION_PATTERN.matcher(elementText))
-          .filter(Matcher::find)
-          .map(Matcher::group)
-          .orElse("Remote");
-    }
-
-    private String extractDescription() {
-      String description =
-          elementText.length() > 300 ? elementText.substring(0, 300) + "..." : elementText;
-      return "<p>" + description + "</p>";
-    }
-
-    private Company createCompany() {
-      Company company = new Company();
-      company.setTitle(extractCompanyName());
-      company.setWebsiteUrl("https://techstars.com");
-      return company;
-    }
-
-    private String extractCompanyName() {
-      return Arrays.stream(elementText.split("\\s+"))
-          .filter(this::isValidCompanyName)
-          .findFirst()
-          .map(word -> word + " (TechStars)")
-          .orElse("TechStars Portfolio Company");
-    }
-
-    private boolean isValidCompanyName(String word) {
-      return word.length() > 2
-          && Character.isUpperCase(word.charAt(0))
-          && !isCommonWord(word.toLowerCase());
-    }
-
-    private boolean isCommonWord(String word) {
-      Set<String> commonWords =
-          Set.of(
-              "software",
-              "engineer",
-              "developer",
-              "senior",
-              "junior",
-              "lead",
-              "at",
-              "in",
-              "for",
-              "the",
-              "and",
-              "or",
-              "with",
-              "to",
-              "from");
-      return commonWords.contains(word);
+    } catch (Exception e) {
+      log.error("Expiring stale jobs failed", e);
     }
+  }
 
-    private Set<Tag> createTags() {
-      Set<Tag> tags = new HashSet<>();
-      tags.add(new Tag(jobFunction));
-      tags.add(new Tag("TechStars"));
-
-      addConditionalTag(tags, "Senior", elementText.toLowerCase().contains("senior"));
-      addConditionalTag(tags, "Remote", elementText.toLowerCase().contains("remote"));
-      addConditionalTag(tags, "Startup", true);
-
-      return tags;
+  private String extractCandidateUrl(Element element) {
+    String href = element.attr("href");
+    if (href.contains("/job") || href.contains("/position")) {
+      return UrlCanonicalizer.canonicalize(
+          href.startsWith("http") ? href : BASE_URL.replace("/jobs", "") + href);
     }
+    String textHash = ContentHash.of(element.text().toLowerCase(Locale.ROOT));
+    return BASE_URL + "/job/" + textHash.substring(0, 16);
+  }
 
-    private void addConditionalTag(Set<Tag> tags, String tagName, boolean condition) {
-      if (condition) {
-        tags.add(new Tag(tagName));
-      }
+  private Job createJobFromElement(Element element, String jobPageUrl, String jobFunction) {
+    try {
+      JobBuilder builder = new JobBuilder(element, jobPageUrl, jobFunction, jobTextAnalyzer);
+      return builder.build();
+    } catch (Exception e) {
+      log.debug("Failed to create job from element", e);
+      return null;
     }
   }
 
@@ -279,7 +386,9 @@ public class JobScrapingService {
         .isPresent();
   }
 
-  private List<Job> createFallbackJobs(String jobFunction) {
+  private List<Job> createFallbackJobs(String jobFunction, ScrapeProgress progress) {
+    progress.onStage(ScrapeStage.FALLBACK);
+    scrapeMetrics.recordFallbackRun();
     String[] companies = {
       "DigitalOcean",
       "SendGrid",
@@ -302,11 +411,12 @@ public class JobScrapingService {
       "San Francisco, CA", "New York, NY", "Remote", "Austin, TX", "Boston, MA"
     };
 
-    return Arrays.stream(companies)
-        .limit(8)
-        .map(company -> createFallbackJob(company, positions, locations, jobFunction))
-        .peek(this::saveJob)
-        .collect(Collectors.toList());
+    List<Job> jobs =
+        Arrays.stream(companies)
+            .limit(8)
+            .map(company -> createFallbackJob(company, positions, locations, jobFunction))
+            .collect(Collectors.toList());
+    return saveJobs(jobs, progress);
   }
 
   private Job createFallbackJob(
@@ -358,198 +468,280 @@ public class JobScrapingService {
     return tags;
   }
 
-  private void saveJob(Job job) {
-    try {
-      job.setCompany(findOrCreateCompany(job.getCompany()));
-      job.setTags(findOrCreateTags(job.getTags()));
-      jobRepository.save(job);
-    } catch (Exception e) {
-      log.error("Failed to save job: {}", job.getPositionName(), e);
-      handleSaveError(job);
-    }
-  }
-
-  private Company findOrCreateCompany(Company company) {
-    return companyRepository
-        .findByTitle(company.getTitle())
-        .orElseGet(() -> companyRepository.save(company));
+  public List<Job> saveJobs(List<Job> jobs) {
+    return saveJobs(jobs, ScrapeProgress.NONE);
   }
 
-  private Set<Tag> findOrCreateTags(Set<Tag> tags) {
-    return tags.stream()
-        .map(
-            tag -> tagRepository.findByName(tag.getName()).orElseGet(() -> tagRepository.save(tag)))
-        .collect(Collectors.toSet());
+  private List<Job> saveJobs(List<Job> jobs, ScrapeProgress progress) {
+    jobs.stream()
+        .filter(job -> job.getSimhash() == null)
+        .forEach(job -> job.setSimhash(SimHash.of(job)));
+    List<Job> saved = scrapeMetrics.time(Stage.PERSIST, () -> persistBatch(jobs));
+    onJobsWritten(saved, Collections.emptyList());
+    jobFeed.publish(saved);
+    knownUrlFilter.remember(saved.stream().map(Job::getJobPageUrl).collect(Collectors.toList()));
+    progress.onJobsSaved(saved.size());
+    return saved;
   }
 
-  private void handleSaveError(Job job) {
-    try {
-      job.setStatus(ProcessingStatus.FAILED);
-      jobRepository.save(job);
-    } catch (Exception saveException) {
-      log.error("Critical: Failed to save job with FAILED status", saveException);
-    }
+  /** Brings the in-memory indexes and the feed up to date with jobs written by an import. */
+  public void recordImported(List<Job> inserted, List<Job> updated) {
+    onJobsWritten(inserted, updated);
+    jobFeed.publish(inserted);
+    knownUrlFilter.remember(
+        inserted.stream().map(Job::getJobPageUrl).collect(Collectors.toList()));
   }
 
-  public List<Job> getAllJobs() {
-    return jobRepository.findAll();
+  /** Near-duplicate checks for one scrape or import. */
+  public NearDuplicates newNearDuplicates() {
+    return new NearDuplicates(nearDuplicateIndex, properties.getDedup().getNearDuplicateDistance());
   }
 
-  public List<Job> getJobsByFunction(String jobFunction) {
-    return jobRepository.findAll().stream()
-        .filter(job -> Objects.equals(job.getLaborFunction(), jobFunction))
+  /**
+   * Applies {@code scraper.dedup.near-duplicates} to an import batch before it is staged, as
+   * {@link #dropUnchangedJobs} does for scraped jobs. Only the last row of each URL that is not
+   * stored yet is checked; when it is skipped, so are the earlier rows of its URL.
+   */
+  public List<Job> dropNearDuplicateImports(List<Job> jobs, NearDuplicates nearDuplicates) {
+    NearDuplicateMode mode = properties.getDedup().getNearDuplicates();
+    if (mode == NearDuplicateMode.OFF || jobs.isEmpty()) {
+      return jobs;
+    }
+    Map<String, Job> latest = new LinkedHashMap<>();
+    jobs.forEach(job -> latest.put(job.getJobPageUrl(), job));
+    Set<String> known = knownUrlFilter.findKnown(latest.keySet()).keySet();
+
+    Set<String> skippedUrls = new HashSet<>();
+    List<Long> duplicated = new ArrayList<>();
+    int linked = 0;
+    for (Job job : latest.values()) {
+      if (known.contains(job.getJobPageUrl())) {
+        continue;
+      }
+      Optional<Match> match = nearDuplicates.check(job);
+      if (match.isEmpty()) {
+        continue;
+      }
+      if (match.get().isStored() && mode == NearDuplicateMode.LINK) {
+        job.setDuplicateOf(match.get().jobId());
+        linked++;
+      } else {
+        match.filter(Match::isStored).ifPresent(m -> duplicated.add(m.jobId()));
+        skippedUrls.add(job.getJobPageUrl());
+      }
+    }
+    jobFreshness.touchJobs(duplicated);
+    scrapeMetrics.recordNearDuplicates("skipped", skippedUrls.size());
+    scrapeMetrics.recordNearDuplicates("linked", linked);
+    if (skippedUrls.isEmpty()) {
+      return jobs;
+    }
+    return jobs.stream()
+        .filter(job -> !skippedUrls.contains(job.getJobPageUrl()))
         .collect(Collectors.toList());
   }
 
-  public String exportToSql() {
-    SqlExporter exporter = new SqlExporter(jobRepository.findAll());
-    return exporter.generateSqlDump();
+  /** Rebuilds the near-duplicate index once an import that updated jobs has finished. */
+  public void recordImportFinished() {
+    rebuildNearDuplicatesIfDirty();
   }
 
-  private static class SqlExporter {
-    private final List<Job> jobs;
-    private final StringBuilder sql;
+  /**
+   * Indexes written jobs. The near-duplicate index only takes inserted jobs; updated ones mark it
+   * for a rebuild once the scrape or import finishes.
+   */
+  private void onJobsWritten(List<Job> inserted, List<Job> updated) {
+    facetIndex.index(inserted);
+    facetIndex.index(updated);
+    nearDuplicateIndex.index(inserted);
+    if (!updated.isEmpty()) {
+      nearDuplicateIndex.markDirty();
+    }
+    dataVersion.bump();
+  }
 
-    public SqlExporter(List<Job> jobs) {
-      this.jobs = jobs;
-      this.sql = new StringBuilder();
+  private void rebuildNearDuplicatesIfDirty() {
+    try {
+      nearDuplicateIndex.rebuildIfDirty();
+    } catch (Exception e) {
+      log.error("Rebuilding the near-duplicate index failed", e);
     }
+  }
 
-    public String generateSqlDump() {
-      appendHeader();
-      appendSchema();
-      appendData();
-      return sql.toString();
+  private List<Job> persistBatch(List<Job> jobs) {
+    try {
+      return transactionTemplate.execute(status -> persistJobs(jobs));
+    } catch (Exception e) {
+      log.error("Saving a batch of {} jobs failed, retrying job by job", jobs.size(), e);
+      jobs.forEach(this::saveJobInOwnTransaction);
+      return jobs;
     }
+  }
 
-    private void appendHeader() {
-      sql.append("-- TechStars Job Scraper Database Export\n");
-      sql.append("-- Generated: ").append(new Date()).append("\n\n");
+  private List<Job> persistJobs(List<Job> jobs) {
+    if (properties.getPersistence().getMode() != PersistenceMode.BULK) {
+      jobs.forEach(this::saveJob);
+      return jobs;
     }
 
-    private void appendSchema() {
-      sql.append("CREATE TABLE IF NOT EXISTS companies (\n")
-          .append("  id BIGSERIAL PRIMARY KEY,\n")
-          .append("  title VARCHAR(255) UNIQUE NOT NULL,\n")
-          .append("  website_url VARCHAR(255),\n")
-          .append("  logo_url VARCHAR(255)\n")
-          .append(");\n\n");
-
-      sql.append("CREATE TABLE IF NOT EXISTS tags (\n")
-          .append("  id BIGSERIAL PRIMARY KEY,\n")
-          .append("  name VARCHAR(255) UNIQUE NOT NULL\n")
-          .append(");\n\n");
-
-      sql.append("CREATE TABLE IF NOT EXISTS jobs (\n")
-          .append("  id BIGSERIAL PRIMARY KEY,\n")
-          .append("  position_name VARCHAR(255),\n")
-          .append("  job_page_url VARCHAR(255),\n")
-          .append("  labor_function VARCHAR(255),\n")
-          .append("  location VARCHAR(255),\n")
-          .append("  posted_date_unix BIGINT,\n")
-          .append("  description TEXT,\n")
-          .append("  status VARCHAR(50),\n")
-          .append("  company_id BIGINT REFERENCES companies(id)\n")
-          .append(");\n\n");
-
-      sql.append("CREATE TABLE IF NOT EXISTS job_tags (\n")
-          .append("  job_id BIGINT REFERENCES jobs(id),\n")
-          .append("  tag_id BIGINT REFERENCES tags(id),\n")
-          .append("  PRIMARY KEY (job_id, tag_id)\n")
-          .append(");\n\n");
+    try {
+      return jobBulkWriter.saveAll(jobs);
+    } catch (Exception e) {
+      log.error("Bulk save of {} jobs failed, falling back to per-job saves", jobs.size(), e);
+      jobs.forEach(this::saveJob);
+      return jobs;
     }
+  }
 
-    private void appendData() {
-      appendCompanies();
-      appendTags();
-      appendJobs();
-      appendJobTags();
+  private void saveJob(Job job) {
+    try {
+      storeJob(job);
+    } catch (Exception e) {
+      log.error("Failed to save job: {}", job.getPositionName(), e);
+      handleSaveError(job);
     }
+  }
 
-    private void appendCompanies() {
-      jobs.stream()
-          .map(Job::getCompany)
-          .filter(Objects::nonNull)
-          .distinct()
-          .forEach(this::appendCompanyInsert);
-      sql.append("\n");
+  private void saveJobInOwnTransaction(Job job) {
+    try {
+      job.setId(null);
+      transactionTemplate.executeWithoutResult(status -> storeJob(job));
+    } catch (Exception e) {
+      log.error("Failed to save job: {}", job.getPositionName(), e);
+      job.setId(null);
+      try {
+        transactionTemplate.executeWithoutResult(status -> handleSaveError(job));
+      } catch (Exception rollback) {
+        log.error("Critical: Failed to save job with FAILED status", rollback);
+      }
     }
+  }
 
-    private void appendCompanyInsert(Company company) {
-      sql.append("INSERT INTO companies (title, website_url, logo_url) VALUES ('")
-          .append(escapeString(company.getTitle()))
-          .append("', '")
-          .append(escapeString(company.getWebsiteUrl()))
-          .append("', '")
-          .append(escapeString(company.getLogoUrl()))
-          .append("') ON CONFLICT (title) DO NOTHING;\n");
+  /**
+   * Saves a job against its stored company and tags. Names already in {@link IdentityCache} are
+   * attached as references without a SELECT; once the transaction ends the job gets back its own
+   * company and tag objects, now carrying their ids, so it can be read without a session. The tag
+   * set is rebuilt because setting the ids changed the tags' hash codes.
+   */
+  private void storeJob(Job job) {
+    Company company = job.getCompany();
+    Set<Tag> tags = job.getTags();
+    Company stored = findOrCreateCompany(company);
+    company.setId(stored.getId());
+    job.setCompany(stored);
+    job.setTags(findOrCreateTags(tags));
+    jobRepository.save(job);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+              job.setCompany(company);
+              job.setTags(new HashSet<>(tags));
+            }
+          });
     }
+  }
 
-    private void appendTags() {
-      jobs.stream()
-          .map(Job::getTags)
-          .filter(Objects::nonNull)
-          .flatMap(Set::stream)
-          .distinct()
-          .forEach(this::appendTagInsert);
-      sql.append("\n");
-    }
+  private Company findOrCreateCompany(Company company) {
+    return identityCache
+        .getCompanies()
+        .get(company.getTitle())
+        .map(companyRepository::getReferenceById)
+        .orElseGet(() -> loadOrInsertCompany(company));
+  }
 
-    private void appendTagInsert(Tag tag) {
-      sql.append("INSERT INTO tags (name) VALUES ('")
-          .append(escapeString(tag.getName()))
-          .append("') ON CONFLICT (name) DO NOTHING;\n");
-    }
+  private Company loadOrInsertCompany(Company company) {
+    Company stored =
+        companyRepository
+            .findByTitle(company.getTitle())
+            .orElseGet(
+                () -> {
+                  companyRepository.insertIfAbsent(company);
+                  return companyRepository.findByTitle(company.getTitle()).orElseThrow();
+                });
+    identityCache.getCompanies().putAfterCommit(stored.getTitle(), stored.getId());
+    return stored;
+  }
 
-    private void appendJobs() {
-      jobs.forEach(this::appendJobInsert);
-      sql.append("\n");
-    }
+  /** Collected by identity, since hashing an uninitialized tag reference would load it. */
+  private Set<Tag> findOrCreateTags(Set<Tag> tags) {
+    Set<Tag> stored = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Tag tag : tags) {
+      Tag found =
+          identityCache
+              .getTags()
+              .get(tag.getName())
+              .map(tagRepository::getReferenceById)
+              .orElseGet(() -> loadOrInsertTag(tag));
+      tag.setId(found.getId());
+      stored.add(found);
+    }
+    return stored;
+  }
 
-    private void appendJobInsert(Job job) {
-      sql.append(
-              "INSERT INTO jobs (position_name, job_page_url, labor_function, location, posted_date_unix, description, status, company_id) VALUES ('")
-          .append(escapeString(job.getPositionName()))
-          .append("', '")
-          .append(escapeString(job.getJobPageUrl()))
-          .append("', '")
-          .append(escapeString(job.getLaborFunction()))
-          .append("', '")
-          .append(escapeString(job.getLocation()))
-          .append("', ")
-          .append(job.getPostedDateUnix())
-          .append(", '")
-          .append(escapeString(job.getDescription()))
-          .append("', '")
-          .append(job.getStatus().name())
-          .append("', ")
-          .append("(SELECT id FROM companies WHERE title = '")
-          .append(escapeString(job.getCompany().getTitle()))
-          .append("'));\n");
-    }
+  private Tag loadOrInsertTag(Tag tag) {
+    Tag stored =
+        tagRepository
+            .findByName(tag.getName())
+            .orElseGet(
+                () -> {
+                  tagRepository.insertIfAbsent(tag.getName());
+                  return tagRepository.findByName(tag.getName()).orElseThrow();
+                });
+    identityCache.getTags().putAfterCommit(stored.getName(), stored.getId());
+    return stored;
+  }
 
-    private void appendJobTags() {
-      jobs.forEach(this::appendJobTagsForJob);
+  /** Stores a new job as {@code FAILED}; a stored job keeps its row and only changes status. */
+  private void handleSaveError(Job job) {
+    try {
+      job.setStatus(ProcessingStatus.FAILED);
+      if (job.getId() == null) {
+        jobRepository.save(job);
+      } else {
+        jobRepository.updateStatus(job.getId(), ProcessingStatus.FAILED);
+      }
+    } catch (Exception saveException) {
+      log.error("Critical: Failed to save job with FAILED status", saveException);
     }
+  }
 
-    private void appendJobTagsForJob(Job job) {
-      Optional.ofNullable(job.getTags())
-          .orElse(Collections.emptySet())
-          .forEach(tag -> appendJobTagInsert(job, tag));
-    }
+  @Transactional(readOnly = true)
+  public void exportToSql(Writer writer, SqlExportFormat format) {
+    SqlDumpWriter dump = format.newWriter(writer);
+    dump.writeHeader(dataVersion.current().changedAt());
+    dump.writeSchema();
+
+    exportSection(dump, SqlDumpSection.COMPANIES, companyRepository::streamAll, dump::writeCompany);
+    exportSection(dump, SqlDumpSection.TAGS, tagRepository::streamAll, dump::writeTag);
+    exportSection(dump, SqlDumpSection.JOBS, jobRepository::streamAllWithCompany, dump::writeJob);
+    streamDetached(jobRepository::streamDuplicateRows, dump::writeDuplicateLink);
+    exportSection(
+        dump, SqlDumpSection.JOB_TAGS, jobRepository::streamJobTagRows, dump::writeJobTag);
+
+    dump.writeFooter();
+    dump.flush();
+  }
 
-    private void appendJobTagInsert(Job job, Tag tag) {
-      sql.append("INSERT INTO job_tags (job_id, tag_id) VALUES (")
-          .append("(SELECT id FROM jobs WHERE job_page_url = '")
-          .append(escapeString(job.getJobPageUrl()))
-          .append("'), ")
-          .append("(SELECT id FROM tags WHERE name = '")
-          .append(escapeString(tag.getName()))
-          .append("'));\n");
-    }
+  private <T> void exportSection(
+      SqlDumpWriter dump, SqlDumpSection section, Supplier<Stream<T>> source, Consumer<T> sink) {
+    dump.beginSection(section);
+    streamDetached(source, sink);
+    dump.endSection(section);
+  }
 
-    private String escapeString(String str) {
-      return Optional.ofNullable(str).orElse("").replace("'", "''");
-    }
+  private <T> void streamDetached(Supplier<Stream<T>> source, Consumer<T> sink) {
+    try (Stream<T> rows = source.get()) {
+      AtomicInteger written = new AtomicInteger();
+      rows.forEach(
+          row -> {
+            sink.accept(row);
+            if (written.incrementAndGet() % EXPORT_FETCH_SIZE == 0) {
+              entityManager.clear();
+            }
+          });
+    }
+    entityManager.clear();
   }
 }
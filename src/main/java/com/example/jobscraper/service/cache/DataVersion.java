@@ -0,0 +1,30 @@
+package com.example.jobscraper.service.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Counter bumped after every committed write to jobs. The epoch tells this process's versions
+ * apart from those handed out before a restart.
+ */
+@Component
+public class DataVersion {
+
+  private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+  private volatile Snapshot current = new Snapshot(0, Instant.now());
+
+  public Snapshot current() {
+    return current;
+  }
+
+  public String epoch() {
+    return epoch;
+  }
+
+  public synchronized void bump() {
+    current = new Snapshot(current.version() + 1, Instant.now());
+  }
+
+  public record Snapshot(long version, Instant changedAt) {}
+}
@@ -0,0 +1,34 @@
+package com.example.jobscraper.service.cache;
+
+import com.example.jobscraper.config.ScraperProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Component
+public class IdentityCache {
+  private final NameIdCache companies;
+  private final NameIdCache tags;
+
+  public IdentityCache(ScraperProperties properties, MeterRegistry meterRegistry) {
+    this.companies = new NameIdCache(properties.getCache().getCompanyMaxSize());
+    this.tags = new NameIdCache(properties.getCache().getTagMaxSize());
+    bindMetrics(meterRegistry, "companies", companies);
+    bindMetrics(meterRegistry, "tags", tags);
+  }
+
+  private void bindMetrics(MeterRegistry registry, String name, NameIdCache cache) {
+    FunctionCounter.builder("scraper.identity.cache.hits", cache, NameIdCache::hits)
+        .tag("cache", name)
+        .register(registry);
+    FunctionCounter.builder("scraper.identity.cache.misses", cache, NameIdCache::misses)
+        .tag("cache", name)
+        .register(registry);
+    Gauge.builder("scraper.identity.cache.size", cache, NameIdCache::size)
+        .tag("cache", name)
+        .register(registry);
+  }
+}
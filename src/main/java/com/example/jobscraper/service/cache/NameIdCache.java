@@ -0,0 +1,68 @@
+package com.example.jobscraper.service.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NameIdCache {
+  private final Map<String, Long> entries;
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+
+  public NameIdCache(int maxSize) {
+    this.entries =
+        new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > maxSize;
+          }
+        };
+  }
+
+  public Optional<Long> get(String name) {
+    Long id;
+    synchronized (entries) {
+      id = entries.get(name);
+    }
+    (id == null ? misses : hits).incrementAndGet();
+    return Optional.ofNullable(id);
+  }
+
+  public void put(String name, Long id) {
+    synchronized (entries) {
+      entries.put(name, id);
+    }
+  }
+
+  public void putAfterCommit(String name, Long id) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      put(name, id);
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            put(name, id);
+          }
+        });
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public long hits() {
+    return hits.get();
+  }
+
+  public long misses() {
+    return misses.get();
+  }
+}
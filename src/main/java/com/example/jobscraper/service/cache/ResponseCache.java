@@ -0,0 +1,93 @@
+package com.example.jobscraper.service.cache;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.service.fingerprint.ContentHash;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized read responses keyed by endpoint and parameters, each valid for one {@link
+ * DataVersion}. Bounded by entry count and total size, evicting the least recently used. ETags
+ * are derived from the key and the data version alone, so a matching {@code If-None-Match} can
+ * be answered without building or even caching the response.
+ */
+@Component
+public class ResponseCache {
+
+  private final DataVersion dataVersion;
+  private final int maxEntries;
+  private final long maxBytes;
+  private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private long bytes;
+
+  public ResponseCache(
+      ScraperProperties properties, DataVersion dataVersion, MeterRegistry meterRegistry) {
+    this.dataVersion = dataVersion;
+    this.maxEntries = properties.getCache().getResponseMaxEntries();
+    this.maxBytes = properties.getCache().getResponseMaxSize().toBytes();
+    FunctionCounter.builder("scraper.response.cache.hits", hits, AtomicLong::get)
+        .register(meterRegistry);
+    FunctionCounter.builder("scraper.response.cache.misses", misses, AtomicLong::get)
+        .register(meterRegistry);
+    Gauge.builder("scraper.response.cache.bytes", this, ResponseCache::size)
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  public long version() {
+    return dataVersion.current().version();
+  }
+
+  public String etag(String key, long version) {
+    return "\"" + dataVersion.epoch() + "." + version + "." + ContentHash.of(key).substring(0, 16)
+        + "\"";
+  }
+
+  /** Whether a response of {@code size} bytes would be kept; larger ones are never cached. */
+  private boolean fits(long size) {
+    return size <= maxBytes / 4;
+  }
+
+  public Optional<byte[]> get(String key, long version) {
+    byte[] body;
+    synchronized (entries) {
+      Entry entry = entries.get(key);
+      body = entry != null && entry.version() == version ? entry.body() : null;
+    }
+    (body == null ? misses : hits).incrementAndGet();
+    return Optional.ofNullable(body);
+  }
+
+  public void put(String key, long version, byte[] body) {
+    if (!fits(body.length)) {
+      return;
+    }
+    synchronized (entries) {
+      Entry previous = entries.put(key, new Entry(version, body));
+      bytes += body.length - (previous == null ? 0 : previous.body().length);
+      Iterator<Entry> eldest = entries.values().iterator();
+      while (eldest.hasNext() && (entries.size() > maxEntries || bytes > maxBytes)) {
+        bytes -= eldest.next().body().length;
+        eldest.remove();
+      }
+    }
+  }
+
+  public long size() {
+    synchronized (entries) {
+      return bytes;
+    }
+  }
+
+  private record Entry(long version, byte[] body) {}
+}
@@ -0,0 +1,185 @@
+package com.example.jobscraper.service.crawl;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.service.fetch.FetchResult;
+import com.example.jobscraper.service.fetch.PageFetcher;
+import com.example.jobscraper.service.fetch.PageFingerprint;
+import com.example.jobscraper.service.fetch.PageParser;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+@Slf4j
+public class CrawlEngine {
+  private final PageFetcher fetcher;
+  private final PageParser parser;
+  private final ScraperProperties.Crawl settings;
+  private final PageHistory history;
+  private final Map<String, TokenBucketRateLimiter> hostLimiters = new ConcurrentHashMap<>();
+
+  public CrawlEngine(PageFetcher fetcher, ScraperProperties.Crawl settings) {
+    this(fetcher, PageParser.DOM, settings);
+  }
+
+  public CrawlEngine(PageFetcher fetcher, PageParser parser, ScraperProperties.Crawl settings) {
+    this(fetcher, parser, settings, PageHistory.NONE);
+  }
+
+  public CrawlEngine(
+      PageFetcher fetcher,
+      PageParser parser,
+      ScraperProperties.Crawl settings,
+      PageHistory history) {
+    this.fetcher = fetcher;
+    this.parser = parser;
+    this.settings = settings;
+    this.history = history;
+  }
+
+  public CrawlSession start(String seedUrl, CrawlVisitor visitor) {
+    CrawlSession session = new CrawlSession(newExecutor(), settings.getConcurrency());
+    String seedHost = URI.create(seedUrl).getHost();
+    String seed = normalize(seedUrl);
+
+    session.markVisited(seed);
+    session.submit(() -> crawl(session, seedHost, seed, 0, visitor));
+    return session;
+  }
+
+  private void crawl(
+      CrawlSession session, String seedHost, String url, int depth, CrawlVisitor visitor) {
+    if (session.isCancelled() || !session.tryStartPage(settings.getMaxPages())) {
+      return;
+    }
+
+    List<String> links = fetchAndVisit(session, url, depth, visitor);
+    if (links == null || depth >= settings.getMaxDepth()) {
+      return;
+    }
+
+    links.stream()
+        .filter(link -> seedHost.equalsIgnoreCase(URI.create(link).getHost()))
+        .filter(session::markVisited)
+        .forEach(
+            link -> session.submit(() -> crawl(session, seedHost, link, depth + 1, visitor)));
+  }
+
+  /**
+   * Returns the links to follow from {@code url}, or {@code null} when the crawl should not go
+   * further. Holds a concurrency permit through the visit, so a visitor that blocks also slows
+   * fetching.
+   */
+  private List<String> fetchAndVisit(
+      CrawlSession session, String url, int depth, CrawlVisitor visitor) {
+    try {
+      session.permits().acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      session.cancel();
+      return null;
+    }
+    try {
+      Optional<PageSnapshot> previous = history.find(url);
+      FetchResult result =
+          fetch(session, url, previous.map(PageSnapshot::fingerprint).orElse(null));
+      if (result == null || session.isCancelled()) {
+        return null;
+      }
+      if (result.isUnchanged()) {
+        session.recordUnchanged();
+        visitor.unchanged(url);
+        List<String> links = previous.map(PageSnapshot::links).orElse(List.of());
+        if (!result.fingerprint().equals(previous.map(PageSnapshot::fingerprint).orElse(null))) {
+          history.save(url, new PageSnapshot(result.fingerprint(), links));
+        }
+        return links;
+      }
+
+      Document document = result.document();
+      if (!visitor.visit(new CrawledPage(url, depth, document))) {
+        session.cancel();
+        return null;
+      }
+      List<String> links = followLinks(document);
+      if (result.fingerprint() != null) {
+        history.save(url, new PageSnapshot(result.fingerprint(), links));
+      }
+      return links;
+    } finally {
+      session.permits().release();
+    }
+  }
+
+  private List<String> followLinks(Document document) {
+    return document.select(String.join(", ", settings.getFollowSelectors())).stream()
+        .map(link -> link.absUrl("href"))
+        .filter(link -> !link.isEmpty())
+        .map(CrawlEngine::normalize)
+        .filter(Objects::nonNull)
+        .distinct()
+        .collect(Collectors.toList());
+  }
+
+  private FetchResult fetch(CrawlSession session, String url, PageFingerprint previous) {
+    try {
+      limiterFor(url).acquire();
+      FetchResult result =
+          history == PageHistory.NONE
+              ? new FetchResult(fetcher.fetch(url, parser), null)
+              : fetcher.fetchIfChanged(url, parser, previous);
+      session.recordFetched();
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      session.cancel();
+      return null;
+    } catch (Exception e) {
+      log.warn("Failed to fetch {}: {}", url, e.getMessage());
+      session.recordFailed();
+      return null;
+    }
+  }
+
+  private TokenBucketRateLimiter limiterFor(String url) {
+    return hostLimiters.computeIfAbsent(
+        URI.create(url).getHost(),
+        host -> new TokenBucketRateLimiter(settings.getRequestsPerSecond(), settings.getBurst()));
+  }
+
+  private ExecutorService newExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      AtomicInteger counter = new AtomicInteger();
+      return Executors.newFixedThreadPool(
+          settings.getConcurrency(),
+          runnable -> {
+            Thread thread = new Thread(runnable, "crawler-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          });
+    }
+  }
+
+  private static String normalize(String url) {
+    int fragment = url.indexOf('#');
+    String withoutFragment = (fragment >= 0 ? url.substring(0, fragment) : url).trim();
+    try {
+      String scheme = URI.create(withoutFragment).getScheme();
+      return scheme != null && scheme.startsWith("http") ? withoutFragment : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+package com.example.jobscraper.service.crawl;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CrawlSession {
+  private final ExecutorService executor;
+  private final Semaphore permits;
+  private final Set<String> visited = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger pending = new AtomicInteger();
+  private final AtomicInteger pagesStarted = new AtomicInteger();
+  private final AtomicInteger pagesFetched = new AtomicInteger();
+  private final AtomicInteger pagesUnchanged = new AtomicInteger();
+  private final AtomicInteger pagesFailed = new AtomicInteger();
+  private final CompletableFuture<CrawlStats> completion = new CompletableFuture<>();
+  private volatile boolean cancelled;
+
+  CrawlSession(ExecutorService executor, int concurrency) {
+    this.executor = executor;
+    this.permits = new Semaphore(concurrency);
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled;
+  }
+
+  public CrawlStats await() throws InterruptedException {
+    try {
+      return completion.get();
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Crawl failed", e.getCause());
+    }
+  }
+
+  boolean markVisited(String url) {
+    return visited.add(url);
+  }
+
+  void submit(Runnable task) {
+    pending.incrementAndGet();
+    try {
+      executor.execute(
+          () -> {
+            try {
+              task.run();
+            } finally {
+              taskFinished();
+            }
+          });
+    } catch (RuntimeException e) {
+      taskFinished();
+      throw e;
+    }
+  }
+
+  Semaphore permits() {
+    return permits;
+  }
+
+  boolean tryStartPage(int maxPages) {
+    if (pagesStarted.incrementAndGet() <= maxPages) {
+      return true;
+    }
+    pagesStarted.decrementAndGet();
+    return false;
+  }
+
+  void recordFetched() {
+    pagesFetched.incrementAndGet();
+  }
+
+  void recordUnchanged() {
+    pagesUnchanged.incrementAndGet();
+  }
+
+  void recordFailed() {
+    pagesFailed.incrementAndGet();
+  }
+
+  private void taskFinished() {
+    if (pending.decrementAndGet() == 0) {
+      executor.shutdown();
+      completion.complete(
+          new CrawlStats(
+              pagesFetched.get(),
+              pagesUnchanged.get(),
+              pagesFailed.get(),
+              visited.size(),
+              cancelled));
+    }
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.jobscraper.service.crawl;
+
+public record CrawlStats(
+    int pagesFetched, int pagesUnchanged, int pagesFailed, int urlsSeen, boolean cancelled) {}
@@ -0,0 +1,9 @@
+package com.example.jobscraper.service.crawl;
+
+@FunctionalInterface
+public interface CrawlVisitor {
+  boolean visit(CrawledPage page);
+
+  /** Called instead of {@link #visit} for a page that has not changed since the last crawl. */
+  default void unchanged(String url) {}
+}
@@ -0,0 +1,5 @@
+package com.example.jobscraper.service.crawl;
+
+import org.jsoup.nodes.Document;
+
+public record CrawledPage(String url, int depth, Document document) {}
@@ -0,0 +1,24 @@
+package com.example.jobscraper.service.crawl;
+
+import java.util.Optional;
+
+/**
+ * Pages seen by earlier crawls. An unchanged page is neither parsed nor visited; the crawl
+ * follows the links recorded for it instead.
+ */
+public interface PageHistory {
+  PageHistory NONE =
+      new PageHistory() {
+        @Override
+        public Optional<PageSnapshot> find(String url) {
+          return Optional.empty();
+        }
+
+        @Override
+        public void save(String url, PageSnapshot snapshot) {}
+      };
+
+  Optional<PageSnapshot> find(String url);
+
+  void save(String url, PageSnapshot snapshot);
+}
@@ -0,0 +1,8 @@
+package com.example.jobscraper.service.crawl;
+
+import com.example.jobscraper.service.fetch.PageFingerprint;
+
+import java.util.List;
+
+/** What a crawl remembers about a page: how to recognise it unchanged and where it links to. */
+public record PageSnapshot(PageFingerprint fingerprint, List<String> links) {}
@@ -0,0 +1,83 @@
+package com.example.jobscraper.service.dedup;
+
+import com.example.jobscraper.config.ScraperProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class KnownUrlFilter {
+
+  private static final String FIND_EXISTING_SQL =
+      "SELECT job_page_url, id, content_hash FROM jobs WHERE job_page_url = ANY(?)";
+  private static final String ALL_URLS_SQL =
+      "SELECT job_page_url FROM jobs WHERE job_page_url IS NOT NULL";
+  private static final int WARM_UP_FETCH_SIZE = 5_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final BloomFilter bloomFilter;
+  private volatile boolean warmedUp;
+
+  public KnownUrlFilter(JdbcTemplate jdbcTemplate, ScraperProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.bloomFilter =
+        new BloomFilter(
+            properties.getDedup().getExpectedUrls(), properties.getDedup().getFalsePositiveRate());
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void warmUp() {
+    AtomicLong loaded = new AtomicLong();
+    jdbcTemplate.query(
+        connection -> {
+          var statement = connection.prepareStatement(ALL_URLS_SQL);
+          statement.setFetchSize(WARM_UP_FETCH_SIZE);
+          return statement;
+        },
+        rs -> {
+          bloomFilter.put(rs.getString(1));
+          loaded.incrementAndGet();
+        });
+    warmedUp = true;
+    log.info("Known job URL filter warmed up with {} URLs", loaded.get());
+  }
+
+  public Map<String, KnownJob> findKnown(Collection<String> urls) {
+    List<String> candidates =
+        urls.stream()
+            .filter(url -> !warmedUp || bloomFilter.mightContain(url))
+            .distinct()
+            .collect(Collectors.toList());
+    if (candidates.isEmpty()) {
+      return Collections.emptyMap();
+    }
+
+    Map<String, KnownJob> known = new HashMap<>();
+    jdbcTemplate.query(
+        FIND_EXISTING_SQL,
+        ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", candidates.toArray())),
+        rs -> {
+          known.put(rs.getString(1), new KnownJob(rs.getLong(2), rs.getString(3)));
+        });
+    return known;
+  }
+
+  public void remember(Collection<String> urls) {
+    urls.stream().filter(Objects::nonNull).forEach(bloomFilter::put);
+  }
+
+  public record KnownJob(long id, String contentHash) {
+    public boolean hasContent(String hash) {
+      return Objects.equals(contentHash, hash);
+    }
+  }
+}
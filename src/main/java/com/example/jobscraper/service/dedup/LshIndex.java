@@ -0,0 +1,98 @@
+package com.example.jobscraper.service.dedup;
+
+import com.example.jobscraper.service.fingerprint.SimHash;
+
+import java.util.Arrays;
+
+/**
+ * Banded locality-sensitive index of 64-bit SimHashes. Each hash is split into {@code maxDistance
+ * + 1} bands, and two hashes within {@code maxDistance} bits of each other agree on at least one
+ * band. A lookup therefore only compares against entries sharing one of its band buckets. Entries
+ * also carry a key that must match exactly. Entries are kept in flat arrays chained per bucket and
+ * cannot be removed; the owner rebuilds the index instead. Not thread-safe.
+ */
+class LshIndex {
+
+  private static final int MAX_BUCKET_BITS = 20;
+  private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+  private final int maxDistance;
+  private final int bands;
+  private final int bandBits;
+  private final int bucketBits;
+  private final int[][] heads;
+  private int[][] next;
+  private long[] ids;
+  private long[] hashes;
+  private int[] keys;
+  private int size;
+
+  LshIndex(int maxDistance) {
+    if (maxDistance < 0 || maxDistance > 15) {
+      throw new IllegalArgumentException("maxDistance must be between 0 and 15: " + maxDistance);
+    }
+    this.maxDistance = maxDistance;
+    this.bands = maxDistance + 1;
+    this.bandBits = Long.SIZE / bands;
+    this.bucketBits = Math.min(bandBits, MAX_BUCKET_BITS);
+    this.heads = new int[bands][1 << bucketBits];
+    this.next = new int[bands][16];
+    this.ids = new long[16];
+    this.hashes = new long[16];
+    this.keys = new int[16];
+  }
+
+  void add(long id, long hash, int key) {
+    if (size == ids.length) {
+      grow();
+    }
+    ids[size] = id;
+    hashes[size] = hash;
+    keys[size] = key;
+    for (int band = 0; band < bands; band++) {
+      int bucket = bucket(band, hash);
+      next[band][size] = heads[band][bucket];
+      heads[band][bucket] = size + 1;
+    }
+    size++;
+  }
+
+  /** Id of the closest entry with {@code key} within {@code maxDistance} bits, or -1. */
+  long findNear(long hash, int key) {
+    long nearest = -1;
+    int nearestDistance = maxDistance + 1;
+    for (int band = 0; band < bands && nearestDistance > 0; band++) {
+      for (int entry = heads[band][bucket(band, hash)]; entry != 0; entry = next[band][entry - 1]) {
+        int distance = SimHash.distance(hash, hashes[entry - 1]);
+        if (distance < nearestDistance && keys[entry - 1] == key) {
+          nearest = ids[entry - 1];
+          nearestDistance = distance;
+        }
+      }
+    }
+    return nearest;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Bucket of the band's bits; the last band also takes the bits left over by the division. */
+  private int bucket(int band, long hash) {
+    long value = hash >>> (band * bandBits);
+    if (band < bands - 1) {
+      value &= (1L << bandBits) - 1;
+    }
+    return (int) ((value * GOLDEN_RATIO) >>> (Long.SIZE - bucketBits));
+  }
+
+  private void grow() {
+    int capacity = ids.length * 2;
+    ids = Arrays.copyOf(ids, capacity);
+    hashes = Arrays.copyOf(hashes, capacity);
+    keys = Arrays.copyOf(keys, capacity);
+    for (int band = 0; band < bands; band++) {
+      next[band] = Arrays.copyOf(next[band], capacity);
+    }
+  }
+}
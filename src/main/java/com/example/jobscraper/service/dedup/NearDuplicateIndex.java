@@ -0,0 +1,184 @@
+package com.example.jobscraper.service.dedup;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.service.fingerprint.SimHash;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * SimHashes of the stored jobs that are not themselves duplicates, in an {@link LshIndex}, so a
+ * new job can be checked for a near-duplicate without a query. Two jobs only count as
+ * near-duplicates when their locations also match. Loaded once the application is ready, after
+ * hashing any stored jobs that have no SimHash yet. Inserted jobs are added as they are written;
+ * since entries cannot be removed, updates only mark the index dirty and it is rebuilt once the
+ * scrape or import writing them has finished.
+ */
+@Slf4j
+@Component
+public class NearDuplicateIndex {
+
+  private static final String LOAD_SQL =
+      "SELECT id, simhash, location FROM jobs WHERE simhash IS NOT NULL AND duplicate_of IS NULL";
+  private static final String UNHASHED_SQL =
+      "SELECT j.id, j.position_name, c.title, j.description FROM jobs j"
+          + " LEFT JOIN companies c ON c.id = j.company_id"
+          + " WHERE j.simhash IS NULL AND j.id > ? ORDER BY j.id LIMIT ?";
+  private static final String SET_SIMHASH_SQL = "UPDATE jobs SET simhash = ? WHERE id = ?";
+  private static final int LOAD_FETCH_SIZE = 5_000;
+  private static final int BACKFILL_BATCH_SIZE = 1_000;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int maxDistance;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Object rebuildMonitor = new Object();
+  private final AtomicBoolean dirty = new AtomicBoolean();
+  private LshIndex index;
+  private List<Job> indexedDuringRebuild;
+
+  public NearDuplicateIndex(JdbcTemplate jdbcTemplate, ScraperProperties properties) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.maxDistance = properties.getDedup().getNearDuplicateDistance();
+    this.index = new LshIndex(maxDistance);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional
+  public void warmUp() {
+    int hashed = backfill();
+    if (hashed > 0) {
+      log.info("Computed SimHashes for {} stored jobs", hashed);
+    }
+    load();
+  }
+
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    load();
+  }
+
+  /** Rebuilds the index if jobs were updated since it was last loaded. */
+  @Transactional(readOnly = true)
+  public void rebuildIfDirty() {
+    if (dirty.get()) {
+      load();
+    }
+  }
+
+  /** Records that stored jobs changed, so their entries may be stale until the next rebuild. */
+  public void markDirty() {
+    dirty.set(true);
+  }
+
+  /** Id of a stored job {@code job} nearly duplicates, if any. */
+  public OptionalLong findNear(Job job) {
+    long simhash = Optional.ofNullable(job.getSimhash()).orElseGet(() -> SimHash.of(job));
+    lock.readLock().lock();
+    try {
+      long id = index.findNear(simhash, locationKey(job.getLocation()));
+      return id < 0 ? OptionalLong.empty() : OptionalLong.of(id);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Adds newly inserted jobs; jobs linked to another job stay out so that job remains the match.
+   * Updated jobs go through {@link #markDirty()} instead, as their old entries cannot be removed.
+   */
+  public void index(Collection<Job> jobs) {
+    lock.writeLock().lock();
+    try {
+      for (Job job : jobs) {
+        if (job.getId() != null && job.getSimhash() != null && job.getDuplicateOf() == null) {
+          index.add(job.getId(), job.getSimhash(), locationKey(job.getLocation()));
+          if (indexedDuringRebuild != null) {
+            indexedDuringRebuild.add(job);
+          }
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  static int locationKey(String location) {
+    return Objects.toString(location, "").trim().toLowerCase(Locale.ROOT).hashCode();
+  }
+
+  /** Loads the index, replaying jobs inserted while it loaded into the new one. */
+  private void load() {
+    synchronized (rebuildMonitor) {
+      dirty.set(false);
+      recordIndexed(new ArrayList<>());
+      LshIndex loaded = new LshIndex(maxDistance);
+      try {
+        jdbcTemplate.query(
+            connection -> {
+              var statement = connection.prepareStatement(LOAD_SQL);
+              statement.setFetchSize(LOAD_FETCH_SIZE);
+              return statement;
+            },
+            rs -> {
+              loaded.add(rs.getLong(1), rs.getLong(2), locationKey(rs.getString(3)));
+            });
+      } catch (RuntimeException e) {
+        recordIndexed(null);
+        dirty.set(true);
+        throw e;
+      }
+
+      lock.writeLock().lock();
+      try {
+        for (Job job : indexedDuringRebuild) {
+          loaded.add(job.getId(), job.getSimhash(), locationKey(job.getLocation()));
+        }
+        indexedDuringRebuild = null;
+        index = loaded;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      log.info("Near-duplicate index loaded with {} jobs", loaded.size());
+    }
+  }
+
+  private void recordIndexed(List<Job> jobs) {
+    lock.writeLock().lock();
+    try {
+      indexedDuringRebuild = jobs;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private int backfill() {
+    int hashed = 0;
+    long afterId = 0;
+    while (true) {
+      List<Object[]> rows =
+          jdbcTemplate.query(
+              UNHASHED_SQL,
+              (rs, rowNum) ->
+                  new Object[] {
+                    SimHash.of(rs.getString(2), rs.getString(3), rs.getString(4)), rs.getLong(1)
+                  },
+              afterId,
+              BACKFILL_BATCH_SIZE);
+      if (rows.isEmpty()) {
+        return hashed;
+      }
+      jdbcTemplate.batchUpdate(SET_SIMHASH_SQL, rows);
+      hashed += rows.size();
+      afterId = (long) rows.get(rows.size() - 1)[1];
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.example.jobscraper.service.dedup;
+
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.service.fingerprint.SimHash;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Near-duplicate checks for one scrape. Besides the stored jobs in {@link NearDuplicateIndex} it
+ * remembers the jobs this scrape already let through, which are only indexed once their batch has
+ * been written.
+ */
+public class NearDuplicates {
+
+  /** The job a candidate nearly duplicates; {@code jobId} is -1 for a job not yet stored. */
+  public record Match(long jobId) {
+    public boolean isStored() {
+      return jobId >= 0;
+    }
+  }
+
+  private final NearDuplicateIndex stored;
+  private final LshIndex pending;
+
+  public NearDuplicates(NearDuplicateIndex stored, int maxDistance) {
+    this.stored = stored;
+    this.pending = new LshIndex(maxDistance);
+  }
+
+  /** Checks a new job, remembering it for the rest of the scrape when it is not a duplicate. */
+  public synchronized Optional<Match> check(Job job) {
+    if (job.getSimhash() == null) {
+      job.setSimhash(SimHash.of(job));
+    }
+    OptionalLong storedMatch = stored.findNear(job);
+    if (storedMatch.isPresent()) {
+      return Optional.of(new Match(storedMatch.getAsLong()));
+    }
+    int location = NearDuplicateIndex.locationKey(job.getLocation());
+    if (pending.findNear(job.getSimhash(), location) >= 0) {
+      return Optional.of(new Match(-1));
+    }
+    pending.add(0, job.getSimhash(), location);
+    return Optional.empty();
+  }
+}
@@ -0,0 +1,71 @@
+package com.example.jobscraper.service.dedup;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Canonical form of job page URLs, so one posting reached through different links is stored under
+ * one {@code job_page_url}. Scheme and host are lower-cased; the default port, fragment, tracking
+ * parameters, repeated slashes and a trailing slash are dropped; the remaining query parameters
+ * are sorted. URLs that do not parse are returned trimmed.
+ */
+public final class UrlCanonicalizer {
+
+  private static final Set<String> TRACKING_PARAMETERS =
+      Set.of("gclid", "fbclid", "msclkid", "mc_cid", "mc_eid", "_hsenc", "_hsmi", "ref");
+
+  private UrlCanonicalizer() {}
+
+  public static String canonicalize(String url) {
+    String trimmed = url.trim();
+    URI uri;
+    try {
+      uri = new URI(trimmed);
+    } catch (URISyntaxException e) {
+      return trimmed;
+    }
+    if (uri.isOpaque() || uri.getScheme() == null || uri.getHost() == null) {
+      return trimmed;
+    }
+
+    String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+    StringBuilder canonical =
+        new StringBuilder(scheme).append("://").append(uri.getHost().toLowerCase(Locale.ROOT));
+    if (uri.getPort() != -1 && uri.getPort() != defaultPort(scheme)) {
+      canonical.append(':').append(uri.getPort());
+    }
+    String path = Optional.ofNullable(uri.getRawPath()).orElse("").replaceAll("/{2,}", "/");
+    canonical.append(path.endsWith("/") ? path.substring(0, path.length() - 1) : path);
+
+    String query = canonicalQuery(uri.getRawQuery());
+    if (!query.isEmpty()) {
+      canonical.append('?').append(query);
+    }
+    return canonical.toString();
+  }
+
+  private static String canonicalQuery(String query) {
+    if (query == null || query.isEmpty()) {
+      return "";
+    }
+    return Arrays.stream(query.split("&"))
+        .filter(parameter -> !parameter.isEmpty())
+        .filter(parameter -> !isTracking(parameter.split("=", 2)[0].toLowerCase(Locale.ROOT)))
+        .sorted()
+        .collect(Collectors.joining("&"));
+  }
+
+  private static boolean isTracking(String name) {
+    return name.startsWith("utm_") || TRACKING_PARAMETERS.contains(name);
+  }
+
+  private static int defaultPort(String scheme) {
+    return switch (scheme) {
+      case "http" -> 80;
+      case "https" -> 443;
+      default -> -1;
+    };
+  }
+}
@@ -0,0 +1,116 @@
+package com.example.jobscraper.service.export;
+
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.repository.projection.JobTagRow;
+
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+
+public class CopySqlExporter extends SqlDumpWriter {
+  private static final String NULL_VALUE = "\\N";
+
+  public CopySqlExporter(Writer out) {
+    super(out);
+  }
+
+  @Override
+  public void writeSchema() {
+    super.writeSchema();
+    append("BEGIN;\n\n");
+  }
+
+  @Override
+  public void beginSection(SqlDumpSection section) {
+    append("COPY ")
+        .append(section.getTableName())
+        .append(" (")
+        .append(section.getColumns())
+        .append(") FROM stdin;\n");
+  }
+
+  @Override
+  public void writeCompany(Company company) {
+    writeRow(company.getId(), company.getTitle(), company.getWebsiteUrl(), company.getLogoUrl());
+  }
+
+  @Override
+  public void writeTag(Tag tag) {
+    writeRow(tag.getId(), tag.getName());
+  }
+
+  @Override
+  public void writeJob(Job job) {
+    writeRow(
+        job.getId(),
+        job.getPositionName(),
+        job.getJobPageUrl(),
+        job.getLaborFunction(),
+        job.getLocation(),
+        job.getPostedDateUnix(),
+        job.getDescription(),
+        job.getStatus(),
+        job.getCompany() == null ? null : job.getCompany().getId(),
+        job.getContentHash(),
+        job.getLastSeenAt(),
+        job.getSimhash(),
+        job.getDuplicateOf());
+  }
+
+  @Override
+  public void writeJobTag(JobTagRow row) {
+    writeRow(row.getJobId(), row.getTagId());
+  }
+
+  @Override
+  public void endSection(SqlDumpSection section) {
+    append("\\.\n\n");
+  }
+
+  @Override
+  public void writeFooter() {
+    Arrays.stream(SqlDumpSection.values())
+        .filter(SqlDumpSection::isSerialId)
+        .map(SqlDumpSection::getTableName)
+        .forEach(this::appendSequenceReset);
+    append("\nCOMMIT;\n");
+  }
+
+  private void appendSequenceReset(String tableName) {
+    append("SELECT setval(pg_get_serial_sequence('")
+        .append(tableName)
+        .append("', 'id'), COALESCE(MAX(id), 0) + 1, false) FROM ")
+        .append(tableName)
+        .append(";\n");
+  }
+
+  private void writeRow(Object... values) {
+    for (int i = 0; i < values.length; i++) {
+      if (i > 0) {
+        append('\t');
+      }
+      appendCopyValue(values[i]);
+    }
+    append('\n');
+  }
+
+  private void appendCopyValue(Object value) {
+    if (Objects.isNull(value)) {
+      append(NULL_VALUE);
+      return;
+    }
+    String text = value.toString();
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '\\' -> append("\\\\");
+        case '\t' -> append("\\t");
+        case '\n' -> append("\\n");
+        case '\r' -> append("\\r");
+        default -> append(c);
+      }
+    }
+  }
+}
@@ -0,0 +1,21 @@
+package com.example.jobscraper.service.export;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum SqlDumpSection {
+  COMPANIES("companies", "id, title, website_url, logo_url", true),
+  TAGS("tags", "id, name", true),
+  JOBS(
+      "jobs",
+      "id, position_name, job_page_url, labor_function, location, posted_date_unix, description,"
+          + " status, company_id, content_hash, last_seen_at, simhash, duplicate_of",
+      true),
+  JOB_TAGS("job_tags", "job_id, tag_id", false);
+
+  private final String tableName;
+  private final String columns;
+  private final boolean serialId;
+}
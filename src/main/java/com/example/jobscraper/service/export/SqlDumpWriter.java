@@ -0,0 +1,121 @@
+package com.example.jobscraper.service.export;
+
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.repository.projection.JobDuplicateRow;
+import com.example.jobscraper.repository.projection.JobTagRow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Optional;
+
+public abstract class SqlDumpWriter {
+  private final Writer out;
+
+  protected SqlDumpWriter(Writer out) {
+    this.out = out;
+  }
+
+  /** Stamps the dump with the time the data last changed, so equal data gives equal dumps. */
+  public void writeHeader(Instant dataChangedAt) {
+    append("-- TechStars Job Scraper Database Export\n");
+    append("-- Data as of: ").append(Date.from(dataChangedAt)).append("\n\n");
+  }
+
+  public void writeSchema() {
+    append("CREATE TABLE IF NOT EXISTS companies (\n")
+        .append("  id BIGSERIAL PRIMARY KEY,\n")
+        .append("  title VARCHAR(255) UNIQUE NOT NULL,\n")
+        .append("  website_url VARCHAR(255),\n")
+        .append("  logo_url VARCHAR(255)\n")
+        .append(");\n\n");
+
+    append("CREATE TABLE IF NOT EXISTS tags (\n")
+        .append("  id BIGSERIAL PRIMARY KEY,\n")
+        .append("  name VARCHAR(255) UNIQUE NOT NULL\n")
+        .append(");\n\n");
+
+    append("CREATE TABLE IF NOT EXISTS jobs (\n")
+        .append("  id BIGSERIAL PRIMARY KEY,\n")
+        .append("  position_name VARCHAR(255),\n")
+        .append("  job_page_url VARCHAR(255),\n")
+        .append("  labor_function VARCHAR(255),\n")
+        .append("  location VARCHAR(255),\n")
+        .append("  posted_date_unix BIGINT,\n")
+        .append("  description TEXT,\n")
+        .append("  status VARCHAR(50),\n")
+        .append("  company_id BIGINT REFERENCES companies(id),\n")
+        .append("  content_hash CHAR(64),\n")
+        .append("  last_seen_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP,\n")
+        .append("  simhash BIGINT,\n")
+        .append("  duplicate_of BIGINT REFERENCES jobs(id) ON DELETE SET NULL\n")
+        .append(");\n\n");
+
+    append("CREATE TABLE IF NOT EXISTS job_tags (\n")
+        .append("  job_id BIGINT REFERENCES jobs(id),\n")
+        .append("  tag_id BIGINT REFERENCES tags(id),\n")
+        .append("  PRIMARY KEY (job_id, tag_id)\n")
+        .append(");\n\n");
+  }
+
+  public void beginSection(SqlDumpSection section) {}
+
+  public abstract void writeCompany(Company company);
+
+  public abstract void writeTag(Tag tag);
+
+  public abstract void writeJob(Job job);
+
+  public abstract void writeJobTag(JobTagRow row);
+
+  /**
+   * Links a job to the job it nearly duplicates, once all jobs are written. Dumps that keep the
+   * original ids already carry {@code duplicate_of} in the job rows and write nothing here.
+   */
+  public void writeDuplicateLink(JobDuplicateRow row) {}
+
+  public void endSection(SqlDumpSection section) {
+    append("\n");
+  }
+
+  public void writeFooter() {}
+
+  public void flush() {
+    try {
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to flush SQL export", e);
+    }
+  }
+
+  protected SqlDumpWriter append(Object value) {
+    try {
+      out.write(String.valueOf(value));
+      return this;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write SQL export", e);
+    }
+  }
+
+  protected SqlDumpWriter append(char value) {
+    try {
+      out.write(value);
+      return this;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write SQL export", e);
+    }
+  }
+
+  protected String escapeString(String str) {
+    return Optional.ofNullable(str).orElse("").replace("'", "''");
+  }
+
+  /** {@code value} as a quoted SQL literal, or {@code NULL}. */
+  protected String literal(Object value) {
+    return value == null ? "NULL" : "'" + escapeString(value.toString()) + "'";
+  }
+}
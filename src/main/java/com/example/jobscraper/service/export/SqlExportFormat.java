@@ -0,0 +1,19 @@
+package com.example.jobscraper.service.export;
+
+import java.io.Writer;
+import java.util.function.Function;
+
+public enum SqlExportFormat {
+  INSERT(SqlExporter::new),
+  COPY(CopySqlExporter::new);
+
+  private final Function<Writer, SqlDumpWriter> factory;
+
+  SqlExportFormat(Function<Writer, SqlDumpWriter> factory) {
+    this.factory = factory;
+  }
+
+  public SqlDumpWriter newWriter(Writer out) {
+    return factory.apply(out);
+  }
+}
@@ -0,0 +1,85 @@
+package com.example.jobscraper.service.export;
+
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.repository.projection.JobDuplicateRow;
+import com.example.jobscraper.repository.projection.JobTagRow;
+
+import java.io.Writer;
+
+public class SqlExporter extends SqlDumpWriter {
+
+  public SqlExporter(Writer out) {
+    super(out);
+  }
+
+  @Override
+  public void writeCompany(Company company) {
+    append("INSERT INTO companies (title, website_url, logo_url) VALUES ('")
+        .append(escapeString(company.getTitle()))
+        .append("', '")
+        .append(escapeString(company.getWebsiteUrl()))
+        .append("', '")
+        .append(escapeString(company.getLogoUrl()))
+        .append("') ON CONFLICT (title) DO NOTHING;\n");
+  }
+
+  @Override
+  public void writeTag(Tag tag) {
+    append("INSERT INTO tags (name) VALUES ('")
+        .append(escapeString(tag.getName()))
+        .append("') ON CONFLICT (name) DO NOTHING;\n");
+  }
+
+  @Override
+  public void writeJob(Job job) {
+    append(
+            "INSERT INTO jobs (position_name, job_page_url, labor_function, location,"
+                + " posted_date_unix, description, status, company_id, content_hash,"
+                + " last_seen_at, simhash) VALUES ('")
+        .append(escapeString(job.getPositionName()))
+        .append("', '")
+        .append(escapeString(job.getJobPageUrl()))
+        .append("', '")
+        .append(escapeString(job.getLaborFunction()))
+        .append("', '")
+        .append(escapeString(job.getLocation()))
+        .append("', ")
+        .append(job.getPostedDateUnix())
+        .append(", '")
+        .append(escapeString(job.getDescription()))
+        .append("', '")
+        .append(job.getStatus().name())
+        .append("', ")
+        .append("(SELECT id FROM companies WHERE title = '")
+        .append(escapeString(job.getCompany().getTitle()))
+        .append("'), ")
+        .append(literal(job.getContentHash()))
+        .append(", ")
+        .append(literal(job.getLastSeenAt()))
+        .append(", ")
+        .append(job.getSimhash() == null ? "NULL" : job.getSimhash())
+        .append(");\n");
+  }
+
+  @Override
+  public void writeDuplicateLink(JobDuplicateRow row) {
+    append("UPDATE jobs SET duplicate_of = (SELECT id FROM jobs WHERE job_page_url = '")
+        .append(escapeString(row.getDuplicateOfUrl()))
+        .append("') WHERE job_page_url = '")
+        .append(escapeString(row.getJobPageUrl()))
+        .append("';\n");
+  }
+
+  @Override
+  public void writeJobTag(JobTagRow row) {
+    append("INSERT INTO job_tags (job_id, tag_id) VALUES (")
+        .append("(SELECT id FROM jobs WHERE job_page_url = '")
+        .append(escapeString(row.getJobPageUrl()))
+        .append("'), ")
+        .append("(SELECT id FROM tags WHERE name = '")
+        .append(escapeString(row.getTagName()))
+        .append("'));\n");
+  }
+}
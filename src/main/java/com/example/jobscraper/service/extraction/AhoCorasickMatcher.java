@@ -0,0 +1,132 @@
+package com.example.jobscraper.service.extraction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Multi-keyword matcher compiled once into an Aho–Corasick automaton. {@link #match} reports
+ * every occurrence of every keyword in one pass over the text, independent of dictionary size.
+ * Matching is case-insensitive per character and does not allocate.
+ */
+public class AhoCorasickMatcher<T> {
+
+  private final char[][] edgeChars;
+  private final int[][] edgeTargets;
+  private final int[] fail;
+  private final int[] outputLink;
+  private final int[][] outputs;
+  private final int[] keywordLengths;
+  private final List<T> values;
+
+  public AhoCorasickMatcher(List<Map.Entry<String, T>> keywords) {
+    List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+    List<List<Integer>> nodeOutputs = new ArrayList<>();
+    trie.add(new TreeMap<>());
+    nodeOutputs.add(new ArrayList<>());
+
+    this.keywordLengths = new int[keywords.size()];
+    this.values = new ArrayList<>(keywords.size());
+    for (int id = 0; id < keywords.size(); id++) {
+      String keyword = keywords.get(id).getKey();
+      int node = 0;
+      for (int i = 0; i < keyword.length(); i++) {
+        char c = fold(keyword.charAt(i));
+        Integer next = trie.get(node).get(c);
+        if (next == null) {
+          next = trie.size();
+          trie.add(new TreeMap<>());
+          nodeOutputs.add(new ArrayList<>());
+          trie.get(node).put(c, next);
+        }
+        node = next;
+      }
+      nodeOutputs.get(node).add(id);
+      keywordLengths[id] = keyword.length();
+      values.add(keywords.get(id).getValue());
+    }
+
+    int size = trie.size();
+    this.edgeChars = new char[size][];
+    this.edgeTargets = new int[size][];
+    this.outputs = new int[size][];
+    for (int node = 0; node < size; node++) {
+      TreeMap<Character, Integer> edges = trie.get(node);
+      edgeChars[node] = new char[edges.size()];
+      edgeTargets[node] = new int[edges.size()];
+      int i = 0;
+      for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+        edgeChars[node][i] = edge.getKey();
+        edgeTargets[node][i++] = edge.getValue();
+      }
+      outputs[node] = nodeOutputs.get(node).stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    this.fail = new int[size];
+    this.outputLink = new int[size];
+    linkFailures();
+  }
+
+  public void match(CharSequence text, MatchHandler<T> handler) {
+    int state = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = fold(text.charAt(i));
+      int next = transition(state, c);
+      while (next < 0 && state != 0) {
+        state = fail[state];
+        next = transition(state, c);
+      }
+      state = Math.max(next, 0);
+
+      int end = i + 1;
+      for (int node = outputs[state].length > 0 ? state : outputLink[state];
+          node > 0;
+          node = outputLink[node]) {
+        for (int id : outputs[node]) {
+          handler.onMatch(end - keywordLengths[id], end, values.get(id));
+        }
+      }
+    }
+  }
+
+  private void linkFailures() {
+    Deque<Integer> queue = new ArrayDeque<>();
+    for (int child : edgeTargets[0]) {
+      queue.add(child);
+    }
+    while (!queue.isEmpty()) {
+      int node = queue.poll();
+      for (int i = 0; i < edgeChars[node].length; i++) {
+        char c = edgeChars[node][i];
+        int child = edgeTargets[node][i];
+        int candidate = fail[node];
+        int target = transition(candidate, c);
+        while (target < 0 && candidate != 0) {
+          candidate = fail[candidate];
+          target = transition(candidate, c);
+        }
+        fail[child] = Math.max(target, 0);
+        outputLink[child] = outputs[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+        queue.add(child);
+      }
+    }
+  }
+
+  private int transition(int node, char c) {
+    int index = Arrays.binarySearch(edgeChars[node], c);
+    return index >= 0 ? edgeTargets[node][index] : -1;
+  }
+
+  static char fold(char c) {
+    return Character.toLowerCase(c);
+  }
+
+  @FunctionalInterface
+  public interface MatchHandler<T> {
+    void onMatch(int start, int end, T value);
+  }
+}
@@ -0,0 +1,89 @@
+package com.example.jobscraper.service.extraction;
+
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+import com.example.jobscraper.service.extraction.JobTextAnalyzer.Analysis;
+import com.example.jobscraper.service.fingerprint.JobContentHash;
+import com.example.jobscraper.service.fingerprint.SimHash;
+import org.jsoup.nodes.Element;
+
+import java.util.HashSet;
+import java.util.Set;
+
+public class JobBuilder {
+  private static final int DESCRIPTION_LENGTH = 300;
+
+  private final String jobPageUrl;
+  private final String jobFunction;
+  private final String elementText;
+  private final Analysis analysis;
+
+  public JobBuilder(
+      Element element, String jobPageUrl, String jobFunction, JobTextAnalyzer analyzer) {
+    this.jobPageUrl = jobPageUrl;
+    this.jobFunction = jobFunction;
+    this.elementText = element.text();
+    this.analysis = analyzer.analyze(elementText);
+  }
+
+  public Job build() {
+    Job job = new Job();
+    job.setPositionName(extractJobTitle());
+    job.setJobPageUrl(jobPageUrl);
+    job.setLaborFunction(jobFunction);
+    job.setLocation(extractLocation());
+    job.setDescription(extractDescription());
+    job.setPostedDateUnix(System.currentTimeMillis() / 1000);
+    job.setStatus(ProcessingStatus.COMPLETED);
+    job.setCompany(createCompany());
+    job.setTags(createTags());
+    job.setContentHash(JobContentHash.of(job));
+    job.setSimhash(SimHash.of(job));
+    return job;
+  }
+
+  private String extractJobTitle() {
+    if (analysis.title() != null) {
+      return analysis.title();
+    }
+    if (analysis.roleTypes().contains("Engineer")) {
+      return "Software Engineer";
+    }
+    if (analysis.roleTypes().contains("Developer")) {
+      return "Software Developer";
+    }
+    return "Software Engineering Position";
+  }
+
+  private String extractLocation() {
+    return analysis.location() != null ? analysis.location() : "Remote";
+  }
+
+  private String extractDescription() {
+    if (elementText.length() > DESCRIPTION_LENGTH) {
+      return "<p>" + elementText.substring(0, DESCRIPTION_LENGTH) + "...</p>";
+    }
+    return "<p>" + elementText + "</p>";
+  }
+
+  private Company createCompany() {
+    Company company = new Company();
+    company.setTitle(
+        analysis.companyWord() != null
+            ? analysis.companyWord() + " (TechStars)"
+            : "TechStars Portfolio Company");
+    company.setWebsiteUrl("https://techstars.com");
+    return company;
+  }
+
+  private Set<Tag> createTags() {
+    Set<Tag> tags = new HashSet<>();
+    tags.add(new Tag(jobFunction));
+    tags.add(new Tag("TechStars"));
+    tags.add(new Tag("Startup"));
+    analysis.tags().forEach(name -> tags.add(new Tag(name)));
+    return tags;
+  }
+}
@@ -0,0 +1,69 @@
+package com.example.jobscraper.service.extraction;
+
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keyword dictionary read from a text resource with one {@code category|Name|alias|...} entry per
+ * line. Every name and alias is compiled into a single {@link AhoCorasickMatcher}.
+ */
+public class JobDictionary {
+
+  private final AhoCorasickMatcher<Keyword> matcher;
+  private final int size;
+
+  private JobDictionary(List<Map.Entry<String, Keyword>> entries) {
+    this.matcher = new AhoCorasickMatcher<>(entries);
+    this.size = entries.size();
+  }
+
+  public static JobDictionary load(Resource resource) {
+    List<Map.Entry<String, Keyword>> entries = new ArrayList<>();
+    try (BufferedReader reader =
+        new BufferedReader(
+            new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+      String line;
+      int lineNumber = 0;
+      while ((line = reader.readLine()) != null) {
+        lineNumber++;
+        line = line.trim();
+        if (line.isEmpty() || line.startsWith("#")) {
+          continue;
+        }
+        String[] fields = line.split("\\|");
+        if (fields.length < 2) {
+          throw new IllegalArgumentException(
+              "Invalid dictionary entry at " + resource.getDescription() + ":" + lineNumber);
+        }
+        Keyword keyword =
+            new Keyword(
+                Keyword.Category.valueOf(fields[0].trim().toUpperCase(Locale.ROOT)),
+                fields[1].trim());
+        for (int i = 1; i < fields.length; i++) {
+          entries.add(new AbstractMap.SimpleImmutableEntry<>(fields[i].trim(), keyword));
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to load " + resource.getDescription(), e);
+    }
+    return new JobDictionary(entries);
+  }
+
+  public AhoCorasickMatcher<Keyword> getMatcher() {
+    return matcher;
+  }
+
+  public int size() {
+    return size;
+  }
+}
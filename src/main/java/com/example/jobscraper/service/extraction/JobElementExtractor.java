@@ -0,0 +1,81 @@
+package com.example.jobscraper.service.extraction;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class JobElementExtractor {
+
+  public static final List<String> SELECTOR_GROUPS =
+      List.of(
+          ".job-item, .job-card, .job-posting, [data-job], .posting",
+          "[data-qa='job'], [data-testid*='job'], .opening, .position",
+          "a[href*='/job/'], a[href*='/position/'], a[href*='/career/']");
+  public static final String TEXT_CONTENT_SELECTOR = "text-content";
+
+  private final int maxElements;
+
+  public JobElementExtractor(int maxElements) {
+    this.maxElements = maxElements;
+  }
+
+  public int getMaxElements() {
+    return maxElements;
+  }
+
+  public Elements extractJobElements(Document document) {
+    return select(document).elements();
+  }
+
+  public Selection select(Document document) {
+    for (int group = 0; group < SELECTOR_GROUPS.size(); group++) {
+      Elements elements = document.select(SELECTOR_GROUPS.get(group));
+      if (!elements.isEmpty()) {
+        return new Selection("group-" + group, elements);
+      }
+    }
+    return new Selection(TEXT_CONTENT_SELECTOR, searchByTextContent(document));
+  }
+
+  public Elements searchByTextContent(Document document) {
+    return document.select("*").stream()
+        .filter(JobElementExtractor::hasJobRelatedContent)
+        .limit(maxElements)
+        .collect(Collectors.toCollection(Elements::new));
+  }
+
+  public static boolean hasJobRelatedContent(Element element) {
+    return containsJobKeywords(element.ownText()) || hasJobRelatedAttributes(element);
+  }
+
+  static boolean hasJobRelatedAttributes(Element element) {
+    return containsJobUrl(element.attr("href")) || containsJobClass(element.className());
+  }
+
+  private static boolean containsJobKeywords(String text) {
+    return Optional.ofNullable(text)
+        .filter(t -> t.length() > 10)
+        .map(String::toLowerCase)
+        .map(t -> t.contains("engineer") || t.contains("developer") || t.contains("software"))
+        .orElse(false);
+  }
+
+  private static boolean containsJobUrl(String href) {
+    return Optional.ofNullable(href)
+        .map(h -> h.contains("/job") || h.contains("/position") || h.contains("/career"))
+        .orElse(false);
+  }
+
+  private static boolean containsJobClass(String className) {
+    return Optional.ofNullable(className)
+        .map(c -> c.contains("job") || c.contains("position") || c.contains("career"))
+        .orElse(false);
+  }
+
+  /** Job elements found on a page and the selector group or text search that found them. */
+  public record Selection(String selector, Elements elements) {}
+}
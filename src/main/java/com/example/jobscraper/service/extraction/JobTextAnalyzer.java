@@ -0,0 +1,187 @@
+package com.example.jobscraper.service.extraction;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Reads everything {@link JobBuilder} needs from a job card's text: one {@link JobDictionary}
+ * pass yields the title, location, seniority and skill keywords, and one scan over the tokens
+ * picks the company candidate. A title is a role type ("Engineer") optionally preceded by a role
+ * ("Backend") and a seniority ("Senior"), separated only by whitespace. Keywords match whole
+ * words only; a lower-to-upper case change also counts as a word break, because {@code
+ * Element.text()} glues adjacent inline elements together ("EngineerAustin"), and a keyword that
+ * is only the tail of a longer match ("SQL" in "PostgreSQL") is skipped.
+ */
+public class JobTextAnalyzer {
+
+  private static final String REMOTE = "Remote";
+  private static final String[] COMMON_WORDS = {
+    "software", "engineer", "developer", "senior", "junior", "lead", "at", "in", "for", "the",
+    "and", "or", "with", "to", "from"
+  };
+
+  private final JobDictionary dictionary;
+
+  public JobTextAnalyzer(JobDictionary dictionary) {
+    this.dictionary = dictionary;
+  }
+
+  public Analysis analyze(String text) {
+    KeywordScan scan = new KeywordScan(text);
+    dictionary.getMatcher().match(text, scan);
+    return new Analysis(
+        scan.titleStart < 0 ? null : text.substring(scan.titleStart, scan.titleEnd),
+        scan.location,
+        findCompanyWord(text),
+        scan.roleTypes,
+        scan.tags);
+  }
+
+  private static String findCompanyWord(String text) {
+    int i = 0;
+    while (i < text.length()) {
+      i = skipWhitespace(text, i);
+      int end = skipToken(text, i);
+      if (isCompanyCandidate(text, i, end)) {
+        return text.substring(i, end);
+      }
+      i = end;
+    }
+    return null;
+  }
+
+  private static boolean isCompanyCandidate(String text, int start, int end) {
+    if (end - start <= 2 || !Character.isUpperCase(text.charAt(start))) {
+      return false;
+    }
+    for (String word : COMMON_WORDS) {
+      if (word.length() == end - start && text.regionMatches(true, start, word, 0, end - start)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int skipWhitespace(String text, int start) {
+    int i = start;
+    while (i < text.length() && Character.isWhitespace(text.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static int skipToken(String text, int start) {
+    int i = start;
+    while (i < text.length() && !Character.isWhitespace(text.charAt(i))) {
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isWordChar(char c) {
+    return c == '_' || Character.isLetterOrDigit(c);
+  }
+
+  private static final class KeywordScan implements AhoCorasickMatcher.MatchHandler<Keyword> {
+    private final String text;
+    private final Set<String> roleTypes = new LinkedHashSet<>();
+    private final Set<String> tags = new LinkedHashSet<>();
+    private String location;
+    private int locationStart = Integer.MAX_VALUE;
+    private int locationEnd = -1;
+    private int seniorityStart = -1;
+    private int seniorityEnd = -1;
+    private int roleStart = -1;
+    private int roleEnd = -1;
+    private int titleStart = -1;
+    private int titleEnd = -1;
+    private int matchStart = -1;
+    private int matchEnd = -1;
+
+    KeywordScan(String text) {
+      this.text = text;
+    }
+
+    @Override
+    public void onMatch(int start, int end, Keyword keyword) {
+      if (!isWholeWord(start, end) || (end == matchEnd && start > matchStart)) {
+        return;
+      }
+      matchStart = start;
+      matchEnd = end;
+      switch (keyword.category()) {
+        case SENIORITY -> {
+          seniorityStart = start;
+          seniorityEnd = end;
+          tags.add(keyword.name());
+        }
+        case ROLE -> {
+          roleStart = start;
+          roleEnd = end;
+        }
+        case ROLE_TYPE -> {
+          roleTypes.add(keyword.name());
+          onRoleType(start, end);
+        }
+        case LOCATION -> onLocation(start, end, keyword.name());
+        case SKILL -> tags.add(keyword.name());
+      }
+    }
+
+    private void onRoleType(int start, int end) {
+      if (titleStart >= 0) {
+        return;
+      }
+      int title = start;
+      if (roleEnd >= 0 && isBlankBetween(roleEnd, start)) {
+        title = roleStart;
+      }
+      if (seniorityEnd >= 0 && isBlankBetween(seniorityEnd, title)) {
+        title = seniorityStart;
+      }
+      if (title < start) {
+        titleStart = title;
+        titleEnd = end;
+      }
+    }
+
+    private void onLocation(int start, int end, String name) {
+      if (REMOTE.equals(name)) {
+        tags.add(REMOTE);
+      }
+      if (start < locationStart || (start == locationStart && end > locationEnd)) {
+        location = name;
+        locationStart = start;
+        locationEnd = end;
+      }
+    }
+
+    private boolean isBlankBetween(int from, int to) {
+      if (from > to) {
+        return false;
+      }
+      for (int i = from; i < to; i++) {
+        if (!Character.isWhitespace(text.charAt(i))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean isWholeWord(int start, int end) {
+      return (start == 0 || isBoundary(start - 1, start))
+          && (end == text.length() || isBoundary(end - 1, end));
+    }
+
+    private boolean isBoundary(int before, int after) {
+      char left = text.charAt(before);
+      char right = text.charAt(after);
+      return !isWordChar(left)
+          || !isWordChar(right)
+          || (Character.isLowerCase(left) && Character.isUpperCase(right));
+    }
+  }
+
+  public record Analysis(
+      String title, String location, String companyWord, Set<String> roleTypes, Set<String> tags) {}
+}
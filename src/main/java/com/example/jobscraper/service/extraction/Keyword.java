@@ -0,0 +1,12 @@
+package com.example.jobscraper.service.extraction;
+
+public record Keyword(Category category, String name) {
+
+  public enum Category {
+    SENIORITY,
+    ROLE,
+    ROLE_TYPE,
+    LOCATION,
+    SKILL
+  }
+}
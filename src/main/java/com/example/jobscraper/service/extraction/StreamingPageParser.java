@@ -0,0 +1,174 @@
+package com.example.jobscraper.service.extraction;
+
+import com.example.jobscraper.service.fetch.PageParser;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+import org.jsoup.parser.StreamParser;
+import org.jsoup.select.Evaluator;
+import org.jsoup.select.QueryParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Parses a listing page with {@link StreamParser} and keeps only what the scraper reads from it:
+ * the job cards of the best matching selector group (capped at the job limit) and the crawl
+ * links. Every other element is dropped as soon as it is closed, so the returned document is
+ * small and {@link JobElementExtractor#extractJobElements} picks the same selector group on it as
+ * it would on the full page.
+ */
+public class StreamingPageParser implements PageParser {
+
+  private static final int TEXT_FALLBACK = JobElementExtractor.SELECTOR_GROUPS.size();
+  private static final int NO_GROUP = Integer.MAX_VALUE;
+
+  private final List<Evaluator> selectorGroups;
+  private final Evaluator followLinks;
+  private final int maxElements;
+
+  public StreamingPageParser(int maxElements, List<String> followSelectors) {
+    this.selectorGroups =
+        JobElementExtractor.SELECTOR_GROUPS.stream()
+            .map(QueryParser::parse)
+            .collect(Collectors.toList());
+    this.followLinks = QueryParser.parse(String.join(", ", followSelectors));
+    this.maxElements = maxElements;
+  }
+
+  @Override
+  public Document parse(InputStream body, String charset, String baseUri) throws IOException {
+    PrunedPage page = new PrunedPage();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(body, resolve(charset)));
+    try (StreamParser parser = new StreamParser(Parser.htmlParser()).parse(reader, baseUri)) {
+      Iterator<Element> elements = parser.iterator();
+      while (!page.isFull() && elements.hasNext()) {
+        page.accept(elements.next());
+      }
+    }
+    return page.toDocument(baseUri);
+  }
+
+  private static Charset resolve(String charset) {
+    if (charset == null) {
+      return StandardCharsets.UTF_8;
+    }
+    try {
+      return Charset.forName(charset);
+    } catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+      return StandardCharsets.UTF_8;
+    }
+  }
+
+  private final class PrunedPage {
+    private final List<List<Element>> matches =
+        IntStream.rangeClosed(0, TEXT_FALLBACK)
+            .mapToObj(group -> new ArrayList<Element>())
+            .collect(Collectors.toList());
+    private final List<Element> links = new ArrayList<>();
+    private final Map<Element, Integer> openGroups = new IdentityHashMap<>();
+
+    boolean isFull() {
+      return matches.get(0).size() >= maxElements;
+    }
+
+    void accept(Element element) {
+      if (element instanceof Document) {
+        return;
+      }
+      openGroups.remove(element);
+      int group = closedGroup(element);
+      int enclosing = enclosingGroup(element);
+
+      if (group == NO_GROUP) {
+        if (enclosing == NO_GROUP) {
+          discard(element);
+        }
+      } else if (group <= enclosing) {
+        List<Element> kept = matches.get(group);
+        if (kept.size() < maxElements) {
+          element.remove();
+          kept.add(element);
+        } else {
+          discard(element);
+        }
+      }
+    }
+
+    Document toDocument(String baseUri) {
+      Document document = Document.createShell(baseUri);
+      boolean selected = false;
+      for (List<Element> kept : matches) {
+        if (!selected && !kept.isEmpty()) {
+          kept.forEach(document.body()::appendChild);
+          selected = true;
+        } else {
+          kept.forEach(this::discard);
+        }
+      }
+      links.forEach(document.body()::appendChild);
+      return document;
+    }
+
+    private void discard(Element element) {
+      if (element.is(followLinks)) {
+        element.remove();
+        links.add(element);
+        return;
+      }
+      for (Element link : element.select(followLinks)) {
+        link.remove();
+        links.add(link);
+      }
+      element.remove();
+    }
+
+    private int closedGroup(Element element) {
+      int group = selectorGroup(element);
+      if (group == NO_GROUP && JobElementExtractor.hasJobRelatedContent(element)) {
+        return TEXT_FALLBACK;
+      }
+      return group;
+    }
+
+    private int enclosingGroup(Element element) {
+      int enclosing = NO_GROUP;
+      for (Element parent = element.parent();
+          parent != null && !(parent instanceof Document);
+          parent = parent.parent()) {
+        enclosing = Math.min(enclosing, openGroups.computeIfAbsent(parent, this::openGroup));
+      }
+      return enclosing;
+    }
+
+    private int openGroup(Element element) {
+      int group = selectorGroup(element);
+      if (group == NO_GROUP && JobElementExtractor.hasJobRelatedAttributes(element)) {
+        return TEXT_FALLBACK;
+      }
+      return group;
+    }
+
+    private int selectorGroup(Element element) {
+      for (int group = 0; group < selectorGroups.size(); group++) {
+        if (element.is(selectorGroups.get(group))) {
+          return group;
+        }
+      }
+      return NO_GROUP;
+    }
+  }
+}
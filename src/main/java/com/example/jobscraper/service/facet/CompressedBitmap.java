@@ -0,0 +1,509 @@
+package com.example.jobscraper.service.facet;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of non-negative ints laid out like a Roaring bitmap. Values are grouped by their
+ * high 16 bits; a group is a sorted array while it holds at most 4096 values and a 65536-bit
+ * bitset once it grows past that. Set operations return new bitmaps. Not thread-safe.
+ */
+public class CompressedBitmap {
+
+  private static final int ARRAY_MAX = 4096;
+  private static final int BITMAP_WORDS = 1 << 10;
+
+  private char[] keys;
+  private Container[] containers;
+  private int size;
+
+  public CompressedBitmap() {
+    this(4);
+  }
+
+  private CompressedBitmap(int capacity) {
+    this.keys = new char[capacity];
+    this.containers = new Container[capacity];
+  }
+
+  public void add(int value) {
+    checkValue(value);
+    char key = high(value);
+    int index = indexOf(key);
+    if (index >= 0) {
+      containers[index] = containers[index].add(low(value));
+    } else {
+      insertAt(-index - 1, key, new ArrayContainer(new char[] {low(value)}, 1));
+    }
+  }
+
+  public void remove(int value) {
+    int index = value < 0 ? -1 : indexOf(high(value));
+    if (index < 0) {
+      return;
+    }
+    Container container = containers[index].remove(low(value));
+    if (container.cardinality() == 0) {
+      removeAt(index);
+    } else {
+      containers[index] = container;
+    }
+  }
+
+  public boolean contains(int value) {
+    int index = value < 0 ? -1 : indexOf(high(value));
+    return index >= 0 && containers[index].contains(low(value));
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int cardinality() {
+    int cardinality = 0;
+    for (int i = 0; i < size; i++) {
+      cardinality += containers[i].cardinality();
+    }
+    return cardinality;
+  }
+
+  public CompressedBitmap and(CompressedBitmap other) {
+    CompressedBitmap result = new CompressedBitmap(Math.max(1, Math.min(size, other.size)));
+    int i = 0;
+    int j = 0;
+    while (i < size && j < other.size) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        result.appendIfNotEmpty(keys[i], containers[i++].and(other.containers[j++]));
+      }
+    }
+    return result;
+  }
+
+  public CompressedBitmap or(CompressedBitmap other) {
+    CompressedBitmap result = new CompressedBitmap(Math.max(1, size + other.size));
+    int i = 0;
+    int j = 0;
+    while (i < size || j < other.size) {
+      if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+        result.appendIfNotEmpty(keys[i], containers[i++].copy());
+      } else if (i == size || keys[i] > other.keys[j]) {
+        result.appendIfNotEmpty(other.keys[j], other.containers[j++].copy());
+      } else {
+        result.appendIfNotEmpty(keys[i], containers[i++].or(other.containers[j++]));
+      }
+    }
+    return result;
+  }
+
+  public CompressedBitmap andNot(CompressedBitmap other) {
+    CompressedBitmap result = new CompressedBitmap(Math.max(1, size));
+    int j = 0;
+    for (int i = 0; i < size; i++) {
+      while (j < other.size && other.keys[j] < keys[i]) {
+        j++;
+      }
+      boolean shared = j < other.size && other.keys[j] == keys[i];
+      result.appendIfNotEmpty(
+          keys[i], shared ? containers[i].andNot(other.containers[j]) : containers[i].copy());
+    }
+    return result;
+  }
+
+  /** Size of the intersection, without building it. */
+  public int andCardinality(CompressedBitmap other) {
+    int cardinality = 0;
+    int i = 0;
+    int j = 0;
+    while (i < size && j < other.size) {
+      if (keys[i] < other.keys[j]) {
+        i++;
+      } else if (keys[i] > other.keys[j]) {
+        j++;
+      } else {
+        cardinality += containers[i++].andCardinality(other.containers[j++]);
+      }
+    }
+    return cardinality;
+  }
+
+  /** Up to {@code limit} of the largest values, largest first. */
+  public int[] highest(int limit) {
+    int[] values = new int[Math.min(Math.max(limit, 0), cardinality())];
+    int filled = 0;
+    for (int i = size - 1; i >= 0 && filled < values.length; i--) {
+      filled = containers[i].fillDescending(keys[i] << 16, values, filled);
+    }
+    return values;
+  }
+
+  private int indexOf(char key) {
+    return Arrays.binarySearch(keys, 0, size, key);
+  }
+
+  private void insertAt(int index, char key, Container container) {
+    ensureCapacity(size + 1);
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(containers, index, containers, index + 1, size - index);
+    keys[index] = key;
+    containers[index] = container;
+    size++;
+  }
+
+  private void removeAt(int index) {
+    System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+    System.arraycopy(containers, index + 1, containers, index, size - index - 1);
+    containers[--size] = null;
+  }
+
+  private void appendIfNotEmpty(char key, Container container) {
+    if (container.cardinality() > 0) {
+      ensureCapacity(size + 1);
+      keys[size] = key;
+      containers[size++] = container;
+    }
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > keys.length) {
+      int grown = Math.max(capacity, keys.length * 2);
+      keys = Arrays.copyOf(keys, grown);
+      containers = Arrays.copyOf(containers, grown);
+    }
+  }
+
+  private static void checkValue(int value) {
+    if (value < 0) {
+      throw new IllegalArgumentException("Negative value: " + value);
+    }
+  }
+
+  private static char high(int value) {
+    return (char) (value >>> 16);
+  }
+
+  private static char low(int value) {
+    return (char) value;
+  }
+
+  private abstract static class Container {
+    abstract Container add(char value);
+
+    abstract Container remove(char value);
+
+    abstract boolean contains(char value);
+
+    abstract int cardinality();
+
+    abstract Container and(Container other);
+
+    abstract Container or(Container other);
+
+    abstract Container andNot(Container other);
+
+    abstract int andCardinality(Container other);
+
+    abstract int fillDescending(int high, int[] values, int filled);
+
+    abstract Container copy();
+  }
+
+  private static final class ArrayContainer extends Container {
+    private char[] values;
+    private int cardinality;
+
+    ArrayContainer(char[] values, int cardinality) {
+      this.values = values;
+      this.cardinality = cardinality;
+    }
+
+    @Override
+    Container add(char value) {
+      int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        return this;
+      }
+      if (cardinality == ARRAY_MAX) {
+        return toBitmap().add(value);
+      }
+      if (cardinality == values.length) {
+        values = Arrays.copyOf(values, Math.min(ARRAY_MAX, Math.max(4, cardinality * 2)));
+      }
+      int insertAt = -index - 1;
+      System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+      values[insertAt] = value;
+      cardinality++;
+      return this;
+    }
+
+    @Override
+    Container remove(char value) {
+      int index = Arrays.binarySearch(values, 0, cardinality, value);
+      if (index >= 0) {
+        System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+        cardinality--;
+      }
+      return this;
+    }
+
+    @Override
+    boolean contains(char value) {
+      return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    Container and(Container other) {
+      char[] result = new char[cardinality];
+      int count = 0;
+      if (other instanceof ArrayContainer array) {
+        int i = 0;
+        int j = 0;
+        while (i < cardinality && j < array.cardinality) {
+          if (values[i] < array.values[j]) {
+            i++;
+          } else if (values[i] > array.values[j]) {
+            j++;
+          } else {
+            result[count++] = values[i++];
+            j++;
+          }
+        }
+      } else {
+        for (int i = 0; i < cardinality; i++) {
+          if (other.contains(values[i])) {
+            result[count++] = values[i];
+          }
+        }
+      }
+      return new ArrayContainer(result, count);
+    }
+
+    @Override
+    Container or(Container other) {
+      if (!(other instanceof ArrayContainer array)) {
+        return other.or(this);
+      }
+      char[] result = new char[cardinality + array.cardinality];
+      int count = 0;
+      int i = 0;
+      int j = 0;
+      while (i < cardinality || j < array.cardinality) {
+        if (j == array.cardinality || (i < cardinality && values[i] < array.values[j])) {
+          result[count++] = values[i++];
+        } else if (i == cardinality || values[i] > array.values[j]) {
+          result[count++] = array.values[j++];
+        } else {
+          result[count++] = values[i++];
+          j++;
+        }
+      }
+      ArrayContainer union = new ArrayContainer(result, count);
+      return count > ARRAY_MAX ? union.toBitmap() : union;
+    }
+
+    @Override
+    Container andNot(Container other) {
+      char[] result = new char[cardinality];
+      int count = 0;
+      for (int i = 0; i < cardinality; i++) {
+        if (!other.contains(values[i])) {
+          result[count++] = values[i];
+        }
+      }
+      return new ArrayContainer(result, count);
+    }
+
+    @Override
+    int andCardinality(Container other) {
+      int count = 0;
+      if (other instanceof BitmapContainer bitmap) {
+        long[] words = bitmap.words;
+        for (int i = 0; i < cardinality; i++) {
+          count += (int) (words[values[i] >>> 6] >>> values[i]) & 1;
+        }
+        return count;
+      }
+      ArrayContainer array = (ArrayContainer) other;
+      int i = 0;
+      int j = 0;
+      while (i < cardinality && j < array.cardinality) {
+        if (values[i] < array.values[j]) {
+          i++;
+        } else if (values[i] > array.values[j]) {
+          j++;
+        } else {
+          count++;
+          i++;
+          j++;
+        }
+      }
+      return count;
+    }
+
+    @Override
+    int fillDescending(int high, int[] out, int filled) {
+      for (int i = cardinality - 1; i >= 0 && filled < out.length; i--) {
+        out[filled++] = high | values[i];
+      }
+      return filled;
+    }
+
+    @Override
+    Container copy() {
+      return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+    }
+
+    private BitmapContainer toBitmap() {
+      long[] words = new long[BITMAP_WORDS];
+      for (int i = 0; i < cardinality; i++) {
+        words[values[i] >>> 6] |= 1L << values[i];
+      }
+      return new BitmapContainer(words, cardinality);
+    }
+  }
+
+  private static final class BitmapContainer extends Container {
+    private final long[] words;
+    private int cardinality;
+
+    BitmapContainer(long[] words, int cardinality) {
+      this.words = words;
+      this.cardinality = cardinality;
+    }
+
+    static Container of(long[] words) {
+      int cardinality = 0;
+      for (long word : words) {
+        cardinality += Long.bitCount(word);
+      }
+      BitmapContainer bitmap = new BitmapContainer(words, cardinality);
+      return cardinality > ARRAY_MAX ? bitmap : bitmap.toArray();
+    }
+
+    @Override
+    Container add(char value) {
+      long mask = 1L << value;
+      if ((words[value >>> 6] & mask) == 0) {
+        words[value >>> 6] |= mask;
+        cardinality++;
+      }
+      return this;
+    }
+
+    @Override
+    Container remove(char value) {
+      long mask = 1L << value;
+      if ((words[value >>> 6] & mask) != 0) {
+        words[value >>> 6] &= ~mask;
+        cardinality--;
+      }
+      return cardinality > ARRAY_MAX ? this : toArray();
+    }
+
+    @Override
+    boolean contains(char value) {
+      return (words[value >>> 6] & (1L << value)) != 0;
+    }
+
+    @Override
+    int cardinality() {
+      return cardinality;
+    }
+
+    @Override
+    Container and(Container other) {
+      if (other instanceof ArrayContainer) {
+        return other.and(this);
+      }
+      long[] otherWords = ((BitmapContainer) other).words;
+      long[] result = new long[BITMAP_WORDS];
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        result[i] = words[i] & otherWords[i];
+      }
+      return of(result);
+    }
+
+    @Override
+    Container or(Container other) {
+      long[] result = words.clone();
+      if (other instanceof ArrayContainer array) {
+        for (int i = 0; i < array.cardinality; i++) {
+          result[array.values[i] >>> 6] |= 1L << array.values[i];
+        }
+      } else {
+        long[] otherWords = ((BitmapContainer) other).words;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+          result[i] |= otherWords[i];
+        }
+      }
+      return of(result);
+    }
+
+    @Override
+    Container andNot(Container other) {
+      long[] result = words.clone();
+      if (other instanceof ArrayContainer array) {
+        for (int i = 0; i < array.cardinality; i++) {
+          result[array.values[i] >>> 6] &= ~(1L << array.values[i]);
+        }
+      } else {
+        long[] otherWords = ((BitmapContainer) other).words;
+        for (int i = 0; i < BITMAP_WORDS; i++) {
+          result[i] &= ~otherWords[i];
+        }
+      }
+      return of(result);
+    }
+
+    @Override
+    int andCardinality(Container other) {
+      if (other instanceof ArrayContainer) {
+        return other.andCardinality(this);
+      }
+      long[] otherWords = ((BitmapContainer) other).words;
+      int count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        count += Long.bitCount(words[i] & otherWords[i]);
+      }
+      return count;
+    }
+
+    @Override
+    int fillDescending(int high, int[] out, int filled) {
+      for (int i = BITMAP_WORDS - 1; i >= 0 && filled < out.length; i--) {
+        long word = words[i];
+        while (word != 0 && filled < out.length) {
+          int bit = 63 - Long.numberOfLeadingZeros(word);
+          out[filled++] = high | (i << 6) | bit;
+          word &= ~(1L << bit);
+        }
+      }
+      return filled;
+    }
+
+    @Override
+    Container copy() {
+      return new BitmapContainer(words.clone(), cardinality);
+    }
+
+    private ArrayContainer toArray() {
+      char[] values = new char[cardinality];
+      int count = 0;
+      for (int i = 0; i < BITMAP_WORDS; i++) {
+        long word = words[i];
+        while (word != 0) {
+          values[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+          word &= word - 1;
+        }
+      }
+      return new ArrayContainer(values, count);
+    }
+  }
+}
@@ -0,0 +1,264 @@
+package com.example.jobscraper.service.facet;
+
+import com.example.jobscraper.dto.FacetCount;
+import com.example.jobscraper.dto.FacetQuery;
+import com.example.jobscraper.dto.FacetResult;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory postings of job ids per tag, location, company and function, kept as compressed
+ * bitmaps. Loaded from the database once the application is ready and updated as jobs are
+ * written, so facet queries are answered with bitmap operations alone. Jobs indexed while a
+ * rebuild is loading are replayed into the new postings before they replace the old ones.
+ */
+@Slf4j
+@Component
+public class FacetIndex {
+
+  public enum Facet {
+    TAG,
+    LOCATION,
+    COMPANY,
+    FUNCTION;
+
+    public static Facet of(String name) {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT));
+    }
+
+    public String key() {
+      return name().toLowerCase(Locale.ROOT);
+    }
+  }
+
+  private static final String JOBS_SQL =
+      "SELECT j.id, j.location, c.title, j.labor_function"
+          + " FROM jobs j LEFT JOIN companies c ON c.id = j.company_id";
+  private static final String JOB_TAGS_SQL =
+      "SELECT jt.job_id, t.name FROM job_tags jt JOIN tags t ON t.id = jt.tag_id";
+  private static final int LOAD_FETCH_SIZE = 5_000;
+  private static final int DEFAULT_FACET_LIMIT = 20;
+  private static final int MAX_LIMIT = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final Object rebuildMonitor = new Object();
+  private Postings postings = new Postings();
+  private List<Job> indexedDuringRebuild;
+
+  public FacetIndex(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Transactional(readOnly = true)
+  public void rebuild() {
+    synchronized (rebuildMonitor) {
+      recordIndexed(new ArrayList<>());
+      Postings loaded;
+      try {
+        loaded = load();
+      } catch (RuntimeException e) {
+        recordIndexed(null);
+        throw e;
+      }
+
+      lock.writeLock().lock();
+      try {
+        indexedDuringRebuild.forEach(loaded::index);
+        indexedDuringRebuild = null;
+        postings = loaded;
+      } finally {
+        lock.writeLock().unlock();
+      }
+      log.info("Facet index loaded with {} jobs", loaded.all.cardinality());
+    }
+  }
+
+  /** Indexes jobs that have just been committed, replacing earlier postings of updated jobs. */
+  public void index(Collection<Job> jobs) {
+    lock.writeLock().lock();
+    try {
+      for (Job job : jobs) {
+        if (job.getId() == null) {
+          continue;
+        }
+        postings.index(job);
+        if (indexedDuringRebuild != null) {
+          indexedDuringRebuild.add(job);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  private Postings load() {
+    Postings loaded = new Postings();
+    stream(
+        JOBS_SQL,
+        rs -> {
+          int id = Math.toIntExact(rs.getLong(1));
+          loaded.all.add(id);
+          loaded.add(Facet.LOCATION, rs.getString(2), id);
+          loaded.add(Facet.COMPANY, rs.getString(3), id);
+          loaded.add(Facet.FUNCTION, rs.getString(4), id);
+        });
+    stream(
+        JOB_TAGS_SQL, rs -> loaded.add(Facet.TAG, rs.getString(2), Math.toIntExact(rs.getLong(1))));
+    return loaded;
+  }
+
+  private void recordIndexed(List<Job> jobs) {
+    lock.writeLock().lock();
+    try {
+      indexedDuringRebuild = jobs;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public FacetResult query(FacetQuery query) {
+    List<Facet> facets = facetsOf(query.facet());
+    int facetLimit = clamp(query.limit(), DEFAULT_FACET_LIMIT);
+    int idLimit = clamp(query.ids(), 0);
+
+    lock.readLock().lock();
+    try {
+      CompressedBitmap matches = match(query);
+      Map<String, List<FacetCount>> counts = new LinkedHashMap<>();
+      facets.forEach(facet -> counts.put(facet.key(), count(matches, facet, facetLimit)));
+      List<Long> ids =
+          Arrays.stream(matches.highest(idLimit))
+              .asLongStream()
+              .boxed()
+              .collect(Collectors.toList());
+      return new FacetResult(matches.cardinality(), ids, counts);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private CompressedBitmap match(FacetQuery query) {
+    List<CompressedBitmap> required = new ArrayList<>();
+    listOf(query.tag()).forEach(tag -> required.add(postings.get(Facet.TAG, tag)));
+    addIfPresent(required, Facet.LOCATION, query.location());
+    addIfPresent(required, Facet.COMPANY, query.company());
+    addIfPresent(required, Facet.FUNCTION, query.function());
+    if (!listOf(query.anyTag()).isEmpty()) {
+      required.add(
+          query.anyTag().stream()
+              .map(tag -> postings.get(Facet.TAG, tag))
+              .reduce(new CompressedBitmap(), CompressedBitmap::or));
+    }
+
+    required.sort(Comparator.comparingInt(CompressedBitmap::cardinality));
+    CompressedBitmap matches = required.isEmpty() ? postings.all : required.get(0);
+    for (int i = 1; i < required.size(); i++) {
+      matches = matches.and(required.get(i));
+    }
+    for (String tag : listOf(query.notTag())) {
+      matches = matches.andNot(postings.get(Facet.TAG, tag));
+    }
+    return matches;
+  }
+
+  private void addIfPresent(List<CompressedBitmap> required, Facet facet, String value) {
+    if (value != null) {
+      required.add(postings.get(facet, value));
+    }
+  }
+
+  private List<FacetCount> count(CompressedBitmap matches, Facet facet, int limit) {
+    return postings.values.get(facet).entrySet().stream()
+        .map(entry -> new FacetCount(entry.getKey(), matches.andCardinality(entry.getValue())))
+        .filter(count -> count.count() > 0)
+        .sorted(
+            Comparator.comparingInt(FacetCount::count)
+                .reversed()
+                .thenComparing(FacetCount::value))
+        .limit(limit)
+        .collect(Collectors.toList());
+  }
+
+  private void stream(String sql, RowCallbackHandler handler) {
+    jdbcTemplate.query(
+        connection -> {
+          var statement = connection.prepareStatement(sql);
+          statement.setFetchSize(LOAD_FETCH_SIZE);
+          return statement;
+        },
+        handler);
+  }
+
+  private static List<String> listOf(List<String> values) {
+    return Optional.ofNullable(values).orElse(List.of());
+  }
+
+  private static List<Facet> facetsOf(List<String> names) {
+    try {
+      return listOf(names).stream()
+          .map(Facet::of)
+          .distinct()
+          .collect(Collectors.toList());
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown facet in " + names, e);
+    }
+  }
+
+  private static int clamp(Integer value, int defaultValue) {
+    return Math.min(Math.max(Optional.ofNullable(value).orElse(defaultValue), 0), MAX_LIMIT);
+  }
+
+  private static final class Postings {
+    private static final CompressedBitmap EMPTY = new CompressedBitmap();
+
+    private final CompressedBitmap all = new CompressedBitmap();
+    private final Map<Facet, Map<String, CompressedBitmap>> values = new EnumMap<>(Facet.class);
+
+    private Postings() {
+      for (Facet facet : Facet.values()) {
+        values.put(facet, new HashMap<>());
+      }
+    }
+
+    private void add(Facet facet, String value, int id) {
+      if (value != null) {
+        values.get(facet).computeIfAbsent(value, v -> new CompressedBitmap()).add(id);
+      }
+    }
+
+    private void index(Job job) {
+      int id = Math.toIntExact(job.getId());
+      if (all.contains(id)) {
+        remove(id);
+      }
+      all.add(id);
+      add(Facet.LOCATION, job.getLocation(), id);
+      add(Facet.COMPANY, job.getCompany() == null ? null : job.getCompany().getTitle(), id);
+      add(Facet.FUNCTION, job.getLaborFunction(), id);
+      job.getTags().stream().map(Tag::getName).forEach(tag -> add(Facet.TAG, tag, id));
+    }
+
+    private CompressedBitmap get(Facet facet, String value) {
+      return values.get(facet).getOrDefault(value, EMPTY);
+    }
+
+    private void remove(int id) {
+      all.remove(id);
+      values.values().forEach(byValue -> byValue.values().forEach(bitmap -> bitmap.remove(id)));
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.example.jobscraper.service.feed;
+
+import com.example.jobscraper.dto.JobView;
+
+/** A published job with the event id it is streamed under. */
+record FeedEvent(long id, JobView job) {}
@@ -0,0 +1,48 @@
+package com.example.jobscraper.service.feed;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Stamps published jobs with {@code jobs.feed_event_id}. Job ids are handed out in blocks and by
+ * concurrent imports, so they do not follow commit order; event ids are taken from a sequence by
+ * the single feed publisher after the jobs are committed, so a client that resumes after an event
+ * id is caught up with exactly the jobs published after it.
+ */
+@Component
+@RequiredArgsConstructor
+public class FeedEventIds {
+
+  private static final String ASSIGN_SQL =
+      "UPDATE jobs SET feed_event_id = nextval('jobs_feed_event_id_seq')"
+          + " WHERE id = ANY(?) AND feed_event_id IS NULL RETURNING feed_event_id, id";
+  private static final String AFTER_SQL =
+      "SELECT feed_event_id, id FROM jobs WHERE feed_event_id > ? ORDER BY feed_event_id LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  /** Stamps the jobs that have no event id yet, returning them in event id order. */
+  public List<Entry> assign(Collection<Long> jobIds) {
+    return jdbcTemplate
+        .query(
+            ASSIGN_SQL,
+            ps -> ps.setArray(1, ps.getConnection().createArrayOf("bigint", jobIds.toArray())),
+            (rs, rowNum) -> new Entry(rs.getLong(1), rs.getLong(2)))
+        .stream()
+        .sorted(Comparator.comparingLong(Entry::eventId))
+        .toList();
+  }
+
+  /** Up to {@code limit} jobs stamped after {@code eventId}, in event id order. */
+  public List<Entry> after(long eventId, int limit) {
+    return jdbcTemplate.query(
+        AFTER_SQL, (rs, rowNum) -> new Entry(rs.getLong(1), rs.getLong(2)), eventId, limit);
+  }
+
+  public record Entry(long eventId, long jobId) {}
+}
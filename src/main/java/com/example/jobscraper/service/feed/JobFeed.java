@@ -0,0 +1,305 @@
+package com.example.jobscraper.service.feed;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.dto.JobView;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.service.JobQueryService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes newly saved jobs to {@code GET /api/jobs/stream} subscribers as server-sent events. Each
+ * saved batch is stamped with {@link FeedEventIds event ids} and loaded once on a publisher thread,
+ * then appended to a {@link JobRing}; every subscriber keeps its own position in the ring and is
+ * drained by a small pool of sender threads. A subscriber that falls a full ring behind, or
+ * resumes after an event the ring no longer holds, catches up from the database by event id and
+ * then returns to the ring, so a slow client costs queries rather than memory.
+ */
+@Slf4j
+@Component
+public class JobFeed {
+
+  private static final int SEND_BATCH_SIZE = 256;
+  private static final int REPLAY_PAGE_SIZE = 500;
+
+  private final JobQueryService jobQueryService;
+  private final FeedEventIds eventIds;
+  private final ScraperProperties.Feed config;
+  private final JobRing ring;
+  private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+  private final ExecutorService publisher;
+  private final ExecutorService senders;
+  private final ScheduledExecutorService heartbeat;
+  private final Counter replays;
+
+  public JobFeed(
+      JobQueryService jobQueryService,
+      FeedEventIds eventIds,
+      ScraperProperties properties,
+      MeterRegistry meterRegistry) {
+    this.jobQueryService = jobQueryService;
+    this.eventIds = eventIds;
+    this.config = properties.getFeed();
+    this.ring = new JobRing(config.getBufferSize());
+    this.publisher = Executors.newSingleThreadExecutor(namedThreadFactory("job-feed-publisher-"));
+    this.senders =
+        Executors.newFixedThreadPool(
+            config.getSenderThreads(), namedThreadFactory("job-feed-sender-"));
+    this.heartbeat =
+        Executors.newSingleThreadScheduledExecutor(namedThreadFactory("job-feed-heartbeat-"));
+    long interval = config.getHeartbeatInterval().toMillis();
+    heartbeat.scheduleAtFixedRate(this::heartbeat, interval, interval, TimeUnit.MILLISECONDS);
+    this.replays = meterRegistry.counter("scraper.feed.replays");
+    Gauge.builder("scraper.feed.subscribers", subscriptions, Set::size).register(meterRegistry);
+  }
+
+  /** Queues committed jobs for publishing; jobs without an id were not stored and are skipped. */
+  public void publish(Collection<Job> jobs) {
+    List<Long> ids =
+        jobs.stream().map(Job::getId).filter(Objects::nonNull).collect(Collectors.toList());
+    if (ids.isEmpty()) {
+      return;
+    }
+    try {
+      publisher.execute(() -> append(ids));
+    } catch (RejectedExecutionException e) {
+      log.debug("Job feed is shut down, dropping {} jobs", ids.size());
+    }
+  }
+
+  /**
+   * Opens a subscription that starts after event {@code lastEventId}, or with the next saved job
+   * when it is null.
+   *
+   * @throws RejectedExecutionException when {@code scraper.feed.max-subscribers} are connected
+   */
+  public SseEmitter subscribe(Long lastEventId) {
+    return subscribe(lastEventId, new SseEmitter(config.getTimeout().toMillis()));
+  }
+
+  SseEmitter subscribe(Long lastEventId, SseEmitter emitter) {
+    if (subscriptions.size() >= config.getMaxSubscribers()) {
+      throw new RejectedExecutionException("Too many feed subscribers");
+    }
+    Subscription subscription;
+    synchronized (ring) {
+      long position = lastEventId == null ? ring.next() : ring.positionAfter(lastEventId);
+      subscription =
+          new Subscription(emitter, position < 0 ? ring.next() : position, lastEventId);
+      subscription.replay = position < 0;
+    }
+    emitter.onCompletion(subscription::close);
+    emitter.onError(error -> subscription.close());
+    emitter.onTimeout(emitter::complete);
+    subscriptions.add(subscription);
+    wake(subscription);
+    return emitter;
+  }
+
+  /** Ends open streams first, so they do not hold up the web server's graceful shutdown. */
+  @EventListener(ContextClosedEvent.class)
+  public void disconnectAll() {
+    subscriptions.forEach(subscription -> subscription.emitter.complete());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    heartbeat.shutdownNow();
+    publisher.shutdownNow();
+    senders.shutdownNow();
+  }
+
+  /**
+   * Runs on the publisher thread only, so event ids are committed in the order they are appended
+   * to the ring and a database catch-up never skips an event the ring has not delivered yet.
+   */
+  private void append(List<Long> ids) {
+    List<FeedEvent> events;
+    try {
+      events = load(eventIds.assign(ids));
+    } catch (Exception e) {
+      log.warn("Publishing {} saved jobs to the feed failed", ids.size(), e);
+      return;
+    }
+    synchronized (ring) {
+      events.forEach(ring::append);
+    }
+    subscriptions.forEach(this::wake);
+  }
+
+  /** The jobs behind {@code entries}, in entry order; jobs deleted in the meantime are skipped. */
+  private List<FeedEvent> load(List<FeedEventIds.Entry> entries) {
+    if (entries.isEmpty()) {
+      return List.of();
+    }
+    Map<Long, JobView> jobs =
+        jobQueryService
+            .getJobsById(entries.stream().map(FeedEventIds.Entry::jobId).toList())
+            .stream()
+            .collect(Collectors.toMap(JobView::id, job -> job));
+    List<FeedEvent> events = new ArrayList<>(entries.size());
+    for (FeedEventIds.Entry entry : entries) {
+      JobView job = jobs.get(entry.jobId());
+      if (job != null) {
+        events.add(new FeedEvent(entry.eventId(), job));
+      }
+    }
+    return events;
+  }
+
+  private void heartbeat() {
+    for (Subscription subscription : subscriptions) {
+      subscription.heartbeatDue.set(true);
+      wake(subscription);
+    }
+  }
+
+  private void wake(Subscription subscription) {
+    if (subscription.scheduled.compareAndSet(false, true)) {
+      try {
+        senders.execute(subscription::drain);
+      } catch (RejectedExecutionException e) {
+        subscription.scheduled.set(false);
+      }
+    }
+  }
+
+  private static ThreadFactory namedThreadFactory(String prefix) {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  /**
+   * One connected client. Only one sender drains it at a time, guarded by {@link #scheduled}, so
+   * its fields need no further locking.
+   */
+  private final class Subscription {
+
+    private final SseEmitter emitter;
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+    private volatile boolean open = true;
+    private long position;
+    private Long lastSentId;
+    private boolean replay;
+    private long replayedThrough = -1;
+
+    Subscription(SseEmitter emitter, long position, Long lastSentId) {
+      this.emitter = emitter;
+      this.position = position;
+      this.lastSentId = lastSentId;
+    }
+
+    void drain() {
+      try {
+        if (heartbeatDue.getAndSet(false)) {
+          emitter.send(SseEmitter.event().comment("keep-alive"));
+        }
+        List<FeedEvent> batch;
+        do {
+          if (replay) {
+            replayFromDatabase();
+          }
+          batch = nextBatch();
+          if (batch == null) {
+            emitter.complete();
+            close();
+            return;
+          }
+          for (FeedEvent event : batch) {
+            if (event.id() > replayedThrough) {
+              send(event);
+            }
+          }
+        } while (open && (replay || !batch.isEmpty()));
+      } catch (IOException | IllegalStateException e) {
+        close();
+      } catch (Exception e) {
+        log.warn("Feed subscription failed", e);
+        emitter.completeWithError(e);
+        close();
+      } finally {
+        scheduled.set(false);
+      }
+      if (open && hasPending()) {
+        wake(this);
+      }
+    }
+
+    void close() {
+      open = false;
+      subscriptions.remove(this);
+    }
+
+    /**
+     * The next jobs from the ring, or null when the ring has lapped a subscriber that has no event
+     * id to catch up from.
+     */
+    private List<FeedEvent> nextBatch() {
+      synchronized (ring) {
+        if (ring.lapped(position)) {
+          if (lastSentId == null) {
+            return null;
+          }
+          position = ring.next();
+          replay = true;
+          return List.of();
+        }
+        List<FeedEvent> batch = ring.read(position, SEND_BATCH_SIZE);
+        position += batch.size();
+        return batch;
+      }
+    }
+
+    /** Sends events after {@link #lastSentId} from the database, in event id order. */
+    private void replayFromDatabase() throws IOException {
+      replays.increment();
+      List<FeedEventIds.Entry> page;
+      do {
+        page = eventIds.after(lastSentId, REPLAY_PAGE_SIZE);
+        for (FeedEvent event : load(page)) {
+          send(event);
+        }
+        if (!page.isEmpty()) {
+          lastSentId = Math.max(lastSentId, page.get(page.size() - 1).eventId());
+        }
+      } while (open && page.size() == REPLAY_PAGE_SIZE);
+      replayedThrough = lastSentId;
+      replay = false;
+    }
+
+    private void send(FeedEvent event) throws IOException {
+      emitter.send(
+          SseEmitter.event()
+              .id(Long.toString(event.id()))
+              .name("job")
+              .data(event.job(), MediaType.APPLICATION_JSON));
+      lastSentId = event.id();
+    }
+
+    private boolean hasPending() {
+      synchronized (ring) {
+        return replay || position < ring.next();
+      }
+    }
+  }
+}
@@ -0,0 +1,65 @@
+package com.example.jobscraper.service.feed;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity ring of published jobs. Every job gets the next sequence number; once the ring
+ * is full each append overwrites the oldest job. Events must be appended in event id order. Not
+ * thread-safe.
+ */
+class JobRing {
+
+  private final FeedEvent[] events;
+  private long next;
+
+  JobRing(int capacity) {
+    this.events = new FeedEvent[capacity];
+  }
+
+  void append(FeedEvent event) {
+    events[slot(next++)] = event;
+  }
+
+  /** Sequence number the next appended job will get. */
+  long next() {
+    return next;
+  }
+
+  /** Whether the job at {@code sequence} has already been overwritten. */
+  boolean lapped(long sequence) {
+    return sequence < oldest();
+  }
+
+  /**
+   * Sequence of the first retained event after {@code eventId}, or -1 when events after it may
+   * already have been overwritten.
+   */
+  long positionAfter(long eventId) {
+    if (next == oldest() || events[slot(oldest())].id() > eventId) {
+      return -1;
+    }
+    long sequence = next;
+    while (sequence > oldest() && events[slot(sequence - 1)].id() > eventId) {
+      sequence--;
+    }
+    return sequence;
+  }
+
+  /** Up to {@code max} jobs starting at {@code from}, which must not be lapped. */
+  List<FeedEvent> read(long from, int max) {
+    List<FeedEvent> read = new ArrayList<>((int) Math.min(max, next - from));
+    for (long sequence = from; sequence < next && read.size() < max; sequence++) {
+      read.add(events[slot(sequence)]);
+    }
+    return read;
+  }
+
+  private long oldest() {
+    return Math.max(0, next - events.length);
+  }
+
+  private int slot(long sequence) {
+    return (int) (sequence % events.length);
+  }
+}
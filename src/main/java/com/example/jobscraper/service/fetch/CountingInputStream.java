@@ -0,0 +1,44 @@
+package com.example.jobscraper.service.fetch;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+class CountingInputStream extends FilterInputStream {
+  private final LongConsumer onClose;
+  private long count;
+  private boolean closed;
+
+  CountingInputStream(InputStream in, LongConsumer onClose) {
+    super(in);
+    this.onClose = onClose;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int value = super.read();
+    if (value >= 0) {
+      count++;
+    }
+    return value;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    int read = super.read(buffer, offset, length);
+    if (read > 0) {
+      count += read;
+    }
+    return read;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      onClose.accept(count);
+    }
+    super.close();
+  }
+}
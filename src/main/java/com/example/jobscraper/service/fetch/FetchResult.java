@@ -0,0 +1,15 @@
+package com.example.jobscraper.service.fetch;
+
+import org.jsoup.nodes.Document;
+
+/** Outcome of a conditional fetch; {@code document} is {@code null} when the page is unchanged. */
+public record FetchResult(Document document, PageFingerprint fingerprint) {
+
+  public static FetchResult unchanged(PageFingerprint fingerprint) {
+    return new FetchResult(null, fingerprint);
+  }
+
+  public boolean isUnchanged() {
+    return document == null;
+  }
+}
@@ -0,0 +1,213 @@
+package com.example.jobscraper.service.fetch;
+
+import com.example.jobscraper.service.fingerprint.ContentHash;
+import com.example.jobscraper.service.metrics.ScrapeMetrics;
+import com.example.jobscraper.service.metrics.ScrapeMetrics.Stage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jsoup.HttpStatusException;
+import org.jsoup.nodes.Document;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+@Component
+public class HttpPageFetcher implements PageFetcher {
+
+  private static final String USER_AGENT =
+      "Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36";
+  private static final Duration TIMEOUT = Duration.ofSeconds(30);
+  private static final int HTTP_NOT_MODIFIED = 304;
+
+  private final HttpClient client;
+  private final MeterRegistry meterRegistry;
+  private final Counter wireBytes;
+  private final Counter decodedBytes;
+  private final Timer fetchTimer;
+  private final Timer parseTimer;
+  private final ScrapeMetrics scrapeMetrics;
+
+  public HttpPageFetcher(MeterRegistry meterRegistry, ScrapeMetrics scrapeMetrics) {
+    this.client =
+        HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .connectTimeout(TIMEOUT)
+            .build();
+    this.meterRegistry = meterRegistry;
+    this.wireBytes = meterRegistry.counter("scraper.http.bytes", "encoding", "wire");
+    this.decodedBytes = meterRegistry.counter("scraper.http.bytes", "encoding", "decoded");
+    this.fetchTimer = scrapeMetrics.timer(Stage.FETCH);
+    this.parseTimer = scrapeMetrics.timer(Stage.PARSE);
+    this.scrapeMetrics = scrapeMetrics;
+  }
+
+  @Override
+  public Document fetch(String url, PageParser parser) throws IOException {
+    HttpResponse<InputStream> response = send(request(url, null));
+    try (InputStream body = decode(response)) {
+      checkStatus(response, url);
+      return parse(parser, body, response);
+    }
+  }
+
+  @Override
+  public FetchResult fetchIfChanged(String url, PageParser parser, PageFingerprint previous)
+      throws IOException {
+    HttpResponse<InputStream> response = send(request(url, previous));
+    try (InputStream body = decode(response)) {
+      if (previous != null && response.statusCode() == HTTP_NOT_MODIFIED) {
+        scrapeMetrics.recordUnchangedPage("not-modified");
+        return FetchResult.unchanged(previous);
+      }
+      checkStatus(response, url);
+      Timer.Sample parseSample = Timer.start();
+      try {
+        return previous == null || previous.contentHash() == null
+            ? parseHashing(parser, body, response)
+            : parseIfChanged(parser, body, response, previous);
+      } finally {
+        parseSample.stop(parseTimer);
+      }
+    }
+  }
+
+  /**
+   * Parses the body as it streams in, hashing it on the way; whatever the parser leaves unread is
+   * drained so the hash covers the whole body.
+   */
+  private FetchResult parseHashing(
+      PageParser parser, InputStream body, HttpResponse<InputStream> response) throws IOException {
+    MessageDigest digest = ContentHash.newDigest();
+    InputStream hashed =
+        new FilterInputStream(new DigestInputStream(body, digest)) {
+          @Override
+          public void close() {}
+        };
+    Document document = parser.parse(hashed, charset(response), response.uri().toString());
+    hashed.transferTo(OutputStream.nullOutputStream());
+    return new FetchResult(document, fingerprint(response, ContentHash.of(digest)));
+  }
+
+  /** Buffers the body to compare its hash with {@code previous}, parsing it only if it differs. */
+  private FetchResult parseIfChanged(
+      PageParser parser,
+      InputStream body,
+      HttpResponse<InputStream> response,
+      PageFingerprint previous)
+      throws IOException {
+    byte[] content = body.readAllBytes();
+    PageFingerprint fingerprint = fingerprint(response, ContentHash.of(content));
+    if (fingerprint.contentHash().equals(previous.contentHash())) {
+      scrapeMetrics.recordUnchangedPage("same-hash");
+      return FetchResult.unchanged(fingerprint);
+    }
+    Document document =
+        parser.parse(
+            new ByteArrayInputStream(content), charset(response), response.uri().toString());
+    return new FetchResult(document, fingerprint);
+  }
+
+  private static PageFingerprint fingerprint(
+      HttpResponse<InputStream> response, String contentHash) {
+    return new PageFingerprint(
+        response.headers().firstValue("ETag").orElse(null),
+        response.headers().firstValue("Last-Modified").orElse(null),
+        contentHash);
+  }
+
+  private HttpRequest request(String url, PageFingerprint previous) {
+    HttpRequest.Builder request =
+        HttpRequest.newBuilder(URI.create(url))
+            .timeout(TIMEOUT)
+            .header("User-Agent", USER_AGENT)
+            .header("Accept", "text/html,application/xhtml+xml")
+            .header("Accept-Encoding", "gzip, deflate")
+            .GET();
+    if (previous != null && previous.etag() != null) {
+      request.header("If-None-Match", previous.etag());
+    }
+    if (previous != null && previous.lastModified() != null) {
+      request.header("If-Modified-Since", previous.lastModified());
+    }
+    return request.build();
+  }
+
+  private Document parse(PageParser parser, InputStream body, HttpResponse<InputStream> response)
+      throws IOException {
+    Timer.Sample parseSample = Timer.start();
+    try {
+      return parser.parse(body, charset(response), response.uri().toString());
+    } finally {
+      parseSample.stop(parseTimer);
+    }
+  }
+
+  private static void checkStatus(HttpResponse<InputStream> response, String url)
+      throws HttpStatusException {
+    if (response.statusCode() >= 400) {
+      throw new HttpStatusException("HTTP error fetching URL", response.statusCode(), url);
+    }
+  }
+
+  private HttpResponse<InputStream> send(HttpRequest request) throws IOException {
+    Timer.Sample fetchSample = Timer.start();
+    HttpResponse<InputStream> response;
+    try {
+      response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while fetching " + request.uri());
+    }
+    fetchSample.stop(fetchTimer);
+    meterRegistry
+        .counter(
+            "scraper.http.requests",
+            "version",
+            response.version().name(),
+            "status",
+            String.valueOf(response.statusCode()))
+        .increment();
+    return response;
+  }
+
+  private InputStream decode(HttpResponse<InputStream> response) throws IOException {
+    InputStream wire = new CountingInputStream(response.body(), wireBytes::increment);
+    String encoding =
+        response.headers().firstValue("Content-Encoding").orElse("").toLowerCase(Locale.ROOT);
+    InputStream decoded =
+        switch (encoding) {
+          case "gzip", "x-gzip" -> new GZIPInputStream(wire);
+          case "deflate" -> new InflaterInputStream(wire);
+          default -> wire;
+        };
+    return new CountingInputStream(decoded, decodedBytes::increment);
+  }
+
+  private String charset(HttpResponse<InputStream> response) {
+    return response
+        .headers()
+        .firstValue("Content-Type")
+        .map(type -> type.toLowerCase(Locale.ROOT))
+        .filter(type -> type.contains("charset="))
+        .map(type -> type.substring(type.indexOf("charset=") + 8).split(";")[0].trim())
+        .map(charset -> charset.replace("\"", ""))
+        .orElse(null);
+  }
+}
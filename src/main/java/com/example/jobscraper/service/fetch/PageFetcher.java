@@ -0,0 +1,23 @@
+package com.example.jobscraper.service.fetch;
+
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+
+public interface PageFetcher {
+  Document fetch(String url, PageParser parser) throws IOException;
+
+  default Document fetch(String url) throws IOException {
+    return fetch(url, PageParser.DOM);
+  }
+
+  /**
+   * Fetches {@code url} unless it is unchanged since {@code previous} was recorded, either
+   * because the server answers 304 Not Modified or because the body hashes the same. Unchanged
+   * pages are not parsed. {@code previous} may be {@code null}.
+   */
+  default FetchResult fetchIfChanged(String url, PageParser parser, PageFingerprint previous)
+      throws IOException {
+    return new FetchResult(fetch(url, parser), null);
+  }
+}
@@ -0,0 +1,4 @@
+package com.example.jobscraper.service.fetch;
+
+/** Cache validators and body hash recorded from an earlier fetch of a page. */
+public record PageFingerprint(String etag, String lastModified, String contentHash) {}
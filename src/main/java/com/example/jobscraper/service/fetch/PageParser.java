@@ -0,0 +1,14 @@
+package com.example.jobscraper.service.fetch;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+@FunctionalInterface
+public interface PageParser {
+  PageParser DOM = Jsoup::parse;
+
+  Document parse(InputStream body, String charset, String baseUri) throws IOException;
+}
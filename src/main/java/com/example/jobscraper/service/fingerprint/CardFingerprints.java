@@ -0,0 +1,65 @@
+package com.example.jobscraper.service.fingerprint;
+
+import com.example.jobscraper.service.fingerprint.FingerprintStore.Card;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Job card hashes for one scrape. {@link #changed} drops cards whose content hashes the same as
+ * last time; the hashes of the remaining cards are only stored by {@link #confirm} once their
+ * jobs have been saved or found already stored, so a card whose job never made it to the
+ * database is extracted again next time.
+ */
+public class CardFingerprints {
+
+  private final FingerprintStore store;
+  private final boolean enabled;
+  private final Map<String, Card> pending = new ConcurrentHashMap<>();
+
+  public CardFingerprints(FingerprintStore store, boolean enabled) {
+    this.store = store;
+    this.enabled = enabled;
+  }
+
+  public <T> List<T> changed(
+      String pageUrl, List<T> cards, Function<T, String> urlOf, Function<T, String> contentOf) {
+    if (!enabled || cards.isEmpty()) {
+      return cards;
+    }
+    Map<String, String> hashes = new HashMap<>();
+    cards.forEach(card -> hashes.put(urlOf.apply(card), ContentHash.of(contentOf.apply(card))));
+    Map<String, String> stored = store.findCardHashes(hashes.keySet());
+
+    List<T> changed =
+        cards.stream()
+            .filter(card -> !hashes.get(urlOf.apply(card)).equals(stored.get(urlOf.apply(card))))
+            .collect(Collectors.toList());
+    changed.forEach(
+        card -> {
+          String url = urlOf.apply(card);
+          pending.put(url, new Card(url, hashes.get(url), pageUrl));
+        });
+    return changed;
+  }
+
+  public void confirm(Collection<String> urls) {
+    if (!enabled) {
+      return;
+    }
+    List<Card> confirmed = new ArrayList<>();
+    for (String url : urls) {
+      Card card = url == null ? null : pending.remove(url);
+      if (card != null) {
+        confirmed.add(card);
+      }
+    }
+    store.saveCards(confirmed);
+  }
+}
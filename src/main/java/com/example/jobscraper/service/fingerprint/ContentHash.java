@@ -0,0 +1,33 @@
+package com.example.jobscraper.service.fingerprint;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/** SHA-256 content hashes, hex encoded, used to tell whether a page or job card changed. */
+public final class ContentHash {
+
+  private ContentHash() {}
+
+  public static String of(byte[] content) {
+    return HexFormat.of().formatHex(newDigest().digest(content));
+  }
+
+  /** The hash of everything fed to {@code digest}, which must come from {@link #newDigest()}. */
+  public static String of(MessageDigest digest) {
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  public static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  public static String of(String content) {
+    return of(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
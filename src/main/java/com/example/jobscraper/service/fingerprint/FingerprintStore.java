@@ -0,0 +1,101 @@
+package com.example.jobscraper.service.fingerprint;
+
+import com.example.jobscraper.service.crawl.PageHistory;
+import com.example.jobscraper.service.crawl.PageSnapshot;
+import com.example.jobscraper.service.fetch.PageFingerprint;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/** Page validators, page links and job card hashes kept between crawls. */
+@Component
+public class FingerprintStore implements PageHistory {
+
+  private static final String FIND_PAGE_SQL =
+      "SELECT etag, last_modified, content_hash, links FROM page_fingerprints WHERE url = ?";
+  private static final String SAVE_PAGE_SQL =
+      "INSERT INTO page_fingerprints (url, etag, last_modified, content_hash, links, checked_at)"
+          + " VALUES (?, ?, ?, ?, ?, CURRENT_TIMESTAMP)"
+          + " ON CONFLICT (url) DO UPDATE SET etag = EXCLUDED.etag,"
+          + " last_modified = EXCLUDED.last_modified, content_hash = EXCLUDED.content_hash,"
+          + " links = EXCLUDED.links, checked_at = EXCLUDED.checked_at";
+  private static final String FIND_CARDS_SQL =
+      "SELECT job_page_url, content_hash FROM card_fingerprints WHERE job_page_url = ANY(?)";
+  private static final String SAVE_CARD_SQL =
+      "INSERT INTO card_fingerprints (job_page_url, content_hash, page_url, checked_at)"
+          + " VALUES (?, ?, ?, CURRENT_TIMESTAMP)"
+          + " ON CONFLICT (job_page_url) DO UPDATE SET content_hash = EXCLUDED.content_hash,"
+          + " page_url = EXCLUDED.page_url, checked_at = EXCLUDED.checked_at";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public FingerprintStore(JdbcTemplate jdbcTemplate) {
+    this.jdbcTemplate = jdbcTemplate;
+  }
+
+  @Override
+  public Optional<PageSnapshot> find(String url) {
+    return jdbcTemplate
+        .query(
+            FIND_PAGE_SQL,
+            (rs, rowNum) ->
+                new PageSnapshot(
+                    new PageFingerprint(
+                        rs.getString("etag"),
+                        rs.getString("last_modified"),
+                        rs.getString("content_hash")),
+                    Arrays.asList((String[]) rs.getArray("links").getArray())),
+            url)
+        .stream()
+        .findFirst();
+  }
+
+  @Override
+  public void save(String url, PageSnapshot snapshot) {
+    PageFingerprint fingerprint = snapshot.fingerprint();
+    jdbcTemplate.update(
+        SAVE_PAGE_SQL,
+        ps -> {
+          Array links = ps.getConnection().createArrayOf("text", snapshot.links().toArray());
+          ps.setString(1, url);
+          ps.setString(2, fingerprint.etag());
+          ps.setString(3, fingerprint.lastModified());
+          ps.setString(4, fingerprint.contentHash());
+          ps.setArray(5, links);
+        });
+  }
+
+  public Map<String, String> findCardHashes(Collection<String> urls) {
+    if (urls.isEmpty()) {
+      return Map.of();
+    }
+    Map<String, String> hashes = new HashMap<>();
+    jdbcTemplate.query(
+        FIND_CARDS_SQL,
+        ps -> ps.setArray(1, ps.getConnection().createArrayOf("varchar", urls.toArray())),
+        rs -> {
+          hashes.put(rs.getString(1), rs.getString(2));
+        });
+    return hashes;
+  }
+
+  public void saveCards(Collection<Card> cards) {
+    if (cards.isEmpty()) {
+      return;
+    }
+    List<Object[]> rows = new ArrayList<>(cards.size());
+    cards.forEach(card -> rows.add(new Object[] {card.url(), card.contentHash(), card.pageUrl()}));
+    jdbcTemplate.batchUpdate(SAVE_CARD_SQL, rows);
+  }
+
+  /** A job card's hash and the listing page it was found on. */
+  public record Card(String url, String contentHash, String pageUrl) {}
+}
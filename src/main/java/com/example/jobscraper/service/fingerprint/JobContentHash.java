@@ -0,0 +1,32 @@
+package com.example.jobscraper.service.fingerprint;
+
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Hash of the fields a stored job is refreshed from. The posted date is left out because it is the
+ * time the job was scraped, not part of the posting.
+ */
+public final class JobContentHash {
+
+  private static final String SEPARATOR = "\u001f";
+
+  private JobContentHash() {}
+
+  public static String of(Job job) {
+    String tags =
+        job.getTags().stream().map(Tag::getName).sorted().collect(Collectors.joining(SEPARATOR));
+    return ContentHash.of(
+        String.join(
+            SEPARATOR,
+            Objects.toString(job.getPositionName(), ""),
+            Objects.toString(job.getLaborFunction(), ""),
+            Objects.toString(job.getLocation(), ""),
+            Objects.toString(job.getDescription(), ""),
+            job.getCompany() == null ? "" : Objects.toString(job.getCompany().getTitle(), ""),
+            tags));
+  }
+}
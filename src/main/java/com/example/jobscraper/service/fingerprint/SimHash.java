@@ -0,0 +1,111 @@
+package com.example.jobscraper.service.fingerprint;
+
+import com.example.jobscraper.entity.Job;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * 64-bit SimHash of a job's title, company and description. Postings that differ in a few words
+ * get hashes a few bits apart, so near-duplicates can be found by Hamming distance. Each field
+ * carries a fixed share of the weight, so a different title is not outvoted by a shared
+ * boilerplate description.
+ */
+public final class SimHash {
+
+  private static final Pattern MARKUP = Pattern.compile("<[^>]*>");
+  private static final double TITLE_SHARE = 0.4;
+  private static final double COMPANY_SHARE = 0.2;
+  private static final double DESCRIPTION_SHARE = 0.4;
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private SimHash() {}
+
+  public static long of(Job job) {
+    return of(
+        job.getPositionName(),
+        job.getCompany() == null ? null : job.getCompany().getTitle(),
+        job.getDescription());
+  }
+
+  public static long of(String title, String company, String description) {
+    double[] weights = new double[Long.SIZE];
+    add(weights, 't', tokens(title), TITLE_SHARE);
+    add(weights, 'c', tokens(company), COMPANY_SHARE);
+    add(
+        weights,
+        'd',
+        shingles(tokens(description == null ? null : MARKUP.matcher(description).replaceAll(" "))),
+        DESCRIPTION_SHARE);
+    long hash = 0;
+    for (int bit = 0; bit < Long.SIZE; bit++) {
+      if (weights[bit] > 0) {
+        hash |= 1L << bit;
+      }
+    }
+    return hash;
+  }
+
+  public static int distance(long left, long right) {
+    return Long.bitCount(left ^ right);
+  }
+
+  private static void add(double[] weights, char field, List<String> features, double share) {
+    if (features.isEmpty()) {
+      return;
+    }
+    double weight = share / features.size();
+    for (String feature : features) {
+      long hash = hash(field, feature);
+      for (int bit = 0; bit < Long.SIZE; bit++) {
+        weights[bit] += (hash >>> bit & 1) == 1 ? weight : -weight;
+      }
+    }
+  }
+
+  private static List<String> tokens(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null) {
+      return tokens;
+    }
+    StringBuilder token = new StringBuilder();
+    for (int i = 0; i <= text.length(); i++) {
+      char c = i < text.length() ? text.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        token.append(Character.toLowerCase(c));
+      } else if (token.length() > 0) {
+        tokens.add(token.toString());
+        token.setLength(0);
+      }
+    }
+    return tokens;
+  }
+
+  /** Adjacent word pairs, so word order counts; a single word is its own shingle. */
+  private static List<String> shingles(List<String> tokens) {
+    if (tokens.size() < 2) {
+      return tokens;
+    }
+    List<String> shingles = new ArrayList<>(tokens.size() - 1);
+    for (int i = 1; i < tokens.size(); i++) {
+      shingles.add(tokens.get(i - 1) + ' ' + tokens.get(i));
+    }
+    return shingles;
+  }
+
+  /** FNV-1a followed by a 64-bit finalizer, so every output bit depends on every input char. */
+  private static long hash(char field, String feature) {
+    long hash = (FNV_OFFSET_BASIS ^ field) * FNV_PRIME;
+    for (int i = 0; i < feature.length(); i++) {
+      hash ^= feature.charAt(i);
+      hash *= FNV_PRIME;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    return hash ^ (hash >>> 33);
+  }
+}
@@ -0,0 +1,186 @@
+package com.example.jobscraper.service.ingest;
+
+import com.example.jobscraper.dto.CompanyView;
+import com.example.jobscraper.dto.ImportRecord;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * RFC 4180 CSV with a header row. Header names are matched ignoring case, underscores and spaces,
+ * so {@code position_name} and {@code positionName} both work; unknown columns are ignored and
+ * {@code tags} holds tag names separated by {@code |}. Quoted fields may span lines.
+ */
+class CsvImportReader implements ImportReader {
+
+  private enum Column {
+    POSITION_NAME,
+    JOB_PAGE_URL,
+    LABOR_FUNCTION,
+    LOCATION,
+    POSTED_DATE_UNIX,
+    DESCRIPTION,
+    STATUS,
+    COMPANY,
+    COMPANY_WEBSITE_URL,
+    COMPANY_LOGO_URL,
+    TAGS;
+
+    static Column of(String header) {
+      String key = header.replaceAll("[_\\s]", "").toUpperCase(Locale.ROOT);
+      if (key.equals("COMPANYTITLE")) {
+        return COMPANY;
+      }
+      for (Column column : values()) {
+        if (column.name().replace("_", "").equals(key)) {
+          return column;
+        }
+      }
+      return null;
+    }
+  }
+
+  private final Reader in;
+  private final int[] indexes = new int[Column.values().length];
+  private final StringBuilder field = new StringBuilder();
+  private long line = 1;
+  private int peeked = -2;
+
+  CsvImportReader(Reader in) throws IOException {
+    this.in = in;
+    Arrays.fill(indexes, -1);
+    List<String> header = readRecord();
+    if (header != null) {
+      for (int i = 0; i < header.size(); i++) {
+        Column column = Column.of(header.get(i).strip().replace("\uFEFF", ""));
+        if (column != null && indexes[column.ordinal()] < 0) {
+          indexes[column.ordinal()] = i;
+        }
+      }
+    }
+  }
+
+  @Override
+  public Row next() throws IOException {
+    while (true) {
+      long start = line;
+      List<String> fields = readRecord();
+      if (fields == null) {
+        return null;
+      }
+      if (fields.size() == 1 && fields.get(0).isEmpty()) {
+        continue;
+      }
+      try {
+        return Row.parsed(start, toRecord(fields));
+      } catch (IllegalArgumentException e) {
+        return Row.rejected(start, e.getMessage());
+      }
+    }
+  }
+
+  private ImportRecord toRecord(List<String> fields) {
+    String postedDate = get(fields, Column.POSTED_DATE_UNIX);
+    Long postedDateUnix;
+    try {
+      postedDateUnix = postedDate == null ? null : Long.valueOf(postedDate.strip());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Posted date is not a number: " + postedDate);
+    }
+    String companyTitle = get(fields, Column.COMPANY);
+    CompanyView company =
+        companyTitle == null
+            ? null
+            : new CompanyView(
+                null,
+                companyTitle,
+                get(fields, Column.COMPANY_WEBSITE_URL),
+                get(fields, Column.COMPANY_LOGO_URL));
+    String tags = get(fields, Column.TAGS);
+    return new ImportRecord(
+        get(fields, Column.POSITION_NAME),
+        get(fields, Column.JOB_PAGE_URL),
+        get(fields, Column.LABOR_FUNCTION),
+        get(fields, Column.LOCATION),
+        postedDateUnix,
+        get(fields, Column.DESCRIPTION),
+        get(fields, Column.STATUS),
+        company,
+        tags == null ? null : Arrays.asList(tags.split("\\|")));
+  }
+
+  private String get(List<String> fields, Column column) {
+    int index = indexes[column.ordinal()];
+    if (index < 0 || index >= fields.size()) {
+      return null;
+    }
+    String value = fields.get(index);
+    return value.isEmpty() ? null : value;
+  }
+
+  /** The fields of the next record, or null at the end of the input. */
+  private List<String> readRecord() throws IOException {
+    int c = read();
+    if (c == -1) {
+      return null;
+    }
+    List<String> fields = new ArrayList<>(indexes.length);
+    field.setLength(0);
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c == -1) {
+          fields.add(field.toString());
+          return fields;
+        }
+        if (c == '"') {
+          if (peek() == '"') {
+            read();
+            field.append('"');
+          } else {
+            quoted = false;
+          }
+        } else {
+          if (c == '\n') {
+            line++;
+          }
+          field.append((char) c);
+        }
+      } else if (c == '"' && field.length() == 0) {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else if (c == '\n' || c == -1) {
+        if (c == '\n') {
+          line++;
+        }
+        fields.add(field.toString());
+        return fields;
+      } else if (c != '\r') {
+        field.append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  private int read() throws IOException {
+    if (peeked != -2) {
+      int c = peeked;
+      peeked = -2;
+      return c;
+    }
+    return in.read();
+  }
+
+  private int peek() throws IOException {
+    if (peeked == -2) {
+      peeked = in.read();
+    }
+    return peeked;
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.jobscraper.service.ingest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+public enum ImportFormat {
+  NDJSON,
+  CSV;
+
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  /** CSV for {@code text/csv}, NDJSON for anything else. */
+  public static ImportFormat of(String contentType) {
+    return contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith("text/csv")
+        ? CSV
+        : NDJSON;
+  }
+
+  public ImportReader open(InputStream input, ObjectMapper objectMapper) throws IOException {
+    BufferedReader reader =
+        new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), READ_BUFFER_SIZE);
+    return this == CSV
+        ? new CsvImportReader(reader)
+        : new NdjsonImportReader(reader, objectMapper);
+  }
+}
@@ -0,0 +1,14 @@
+package com.example.jobscraper.service.ingest;
+
+import com.example.jobscraper.dto.ImportProgress;
+import com.example.jobscraper.dto.ImportReject;
+
+import java.io.IOException;
+
+public interface ImportListener {
+  ImportListener NONE = new ImportListener() {};
+
+  default void onReject(ImportReject reject) throws IOException {}
+
+  default void onProgress(ImportProgress progress) throws IOException {}
+}
@@ -0,0 +1,24 @@
+package com.example.jobscraper.service.ingest;
+
+import com.example.jobscraper.dto.ImportRecord;
+
+import java.io.IOException;
+
+/** Reads import rows one at a time as the input arrives. */
+public interface ImportReader {
+
+  /** The next row, or null at the end of the input. */
+  Row next() throws IOException;
+
+  /** A parsed record, or the reason the row starting on {@code line} could not be parsed. */
+  record Row(long line, ImportRecord record, String error) {
+
+    static Row parsed(long line, ImportRecord record) {
+      return new Row(line, record, null);
+    }
+
+    static Row rejected(long line, String error) {
+      return new Row(line, null, error);
+    }
+  }
+}
@@ -0,0 +1,320 @@
+package com.example.jobscraper.service.ingest;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.dto.CompanyView;
+import com.example.jobscraper.dto.ImportProgress;
+import com.example.jobscraper.dto.ImportRecord;
+import com.example.jobscraper.dto.ImportReject;
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+import com.example.jobscraper.service.JobScrapingService;
+import com.example.jobscraper.service.dedup.NearDuplicates;
+import com.example.jobscraper.service.dedup.UrlCanonicalizer;
+import com.example.jobscraper.service.fingerprint.JobContentHash;
+import com.example.jobscraper.service.fingerprint.SimHash;
+import com.example.jobscraper.service.persistence.JobCopyWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Imports jobs from an NDJSON or CSV stream. Rows are validated as they are read, and every
+ * {@code scraper.ingest.batch-size} accepted rows are merged by {@link JobCopyWriter} in their own
+ * transaction, so a failed import keeps the batches committed before it. A batch is merged on a
+ * single merge thread while the next one is read; imports running at the same time take turns on
+ * it rather than contending for the same rows. New jobs are checked for near-duplicates as
+ * scraped jobs are, right before their batch is merged, so they also see the batches committed
+ * before them. Invalid rows are reported and skipped; past {@code max-rejects} of them the import
+ * stops.
+ */
+@Slf4j
+@Service
+public class JobImportService {
+
+  private static final int MAX_NAME_LENGTH = 255;
+  private static final int MAX_URL_LENGTH = 500;
+
+  private final JobCopyWriter jobCopyWriter;
+  private final JobScrapingService jobScrapingService;
+  private final TransactionTemplate transactionTemplate;
+  private final ObjectMapper objectMapper;
+  private final ScraperProperties properties;
+  private final ExecutorService merger;
+
+  public JobImportService(
+      JobCopyWriter jobCopyWriter,
+      JobScrapingService jobScrapingService,
+      TransactionTemplate transactionTemplate,
+      ObjectMapper objectMapper,
+      ScraperProperties properties) {
+    this.jobCopyWriter = jobCopyWriter;
+    this.jobScrapingService = jobScrapingService;
+    this.transactionTemplate = transactionTemplate;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.merger =
+        Executors.newSingleThreadExecutor(
+            runnable -> {
+              Thread thread = new Thread(runnable, "job-import-merge");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Runs the import, reporting to {@code listener}, and returns the final counts. */
+  public ImportProgress importJobs(InputStream input, ImportFormat format, ImportListener listener)
+      throws IOException {
+    ScraperProperties.Ingest config = properties.getIngest();
+    Counts counts = new Counts(System.nanoTime());
+    InFlight inFlight = new InFlight(counts, listener, jobScrapingService.newNearDuplicates());
+    List<Job> batch = new ArrayList<>(config.getBatchSize());
+    String error = null;
+    try {
+      ImportReader reader = format.open(input, objectMapper);
+      ImportReader.Row row;
+      while ((row = reader.next()) != null) {
+        counts.rows++;
+        String reason = row.error();
+        Job job = null;
+        if (reason == null) {
+          try {
+            job = toJob(row.record());
+          } catch (IllegalArgumentException e) {
+            reason = e.getMessage();
+          }
+        }
+        if (job != null) {
+          batch.add(job);
+          if (batch.size() >= config.getBatchSize()) {
+            inFlight.start(batch);
+            batch = new ArrayList<>(config.getBatchSize());
+          }
+        } else if (++counts.rejected > config.getMaxRejects()) {
+          error = "Stopped after more than " + config.getMaxRejects() + " rejected rows";
+          break;
+        } else {
+          listener.onReject(new ImportReject(row.line(), reason));
+        }
+      }
+      inFlight.start(batch);
+      inFlight.finish();
+    } catch (IOException | RuntimeException e) {
+      log.warn("Import failed after {} rows", counts.rows, e);
+      error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+      inFlight.settle();
+    }
+    jobScrapingService.recordImportFinished();
+    ImportProgress summary = counts.progress(error == null ? "completed" : "failed", error);
+    log.info(
+        "Import {}: {} rows, {} inserted, {} updated, {} duplicates, {} rejected in {} ms",
+        summary.type(),
+        summary.rows(),
+        summary.inserted(),
+        summary.updated(),
+        summary.duplicates(),
+        summary.rejected(),
+        summary.elapsedMillis());
+    listener.onProgress(summary);
+    return summary;
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    merger.shutdownNow();
+  }
+
+  private Merged merge(List<Job> batch, NearDuplicates nearDuplicates) {
+    List<Job> staged = jobScrapingService.dropNearDuplicateImports(batch, nearDuplicates);
+    JobCopyWriter.Merged merged =
+        transactionTemplate.execute(status -> jobCopyWriter.merge(staged));
+    jobScrapingService.recordImported(merged.inserted(), merged.updated());
+    return new Merged(batch.size() - staged.size(), merged);
+  }
+
+  private static Job toJob(ImportRecord record) {
+    Job job = new Job();
+    job.setPositionName(required(record.positionName(), "position name", MAX_NAME_LENGTH));
+    String url = required(record.jobPageUrl(), "job page URL", MAX_URL_LENGTH);
+    job.setJobPageUrl(limit(UrlCanonicalizer.canonicalize(url), "job page URL", MAX_URL_LENGTH));
+    job.setLaborFunction(optional(record.laborFunction(), "labor function", MAX_NAME_LENGTH));
+    job.setLocation(optional(record.location(), "location", MAX_NAME_LENGTH));
+    job.setPostedDateUnix(record.postedDateUnix());
+    job.setDescription(record.description());
+    job.setStatus(status(record.status()));
+    job.setCompany(company(record.company()));
+    job.setTags(tags(record.tags()));
+    job.setContentHash(JobContentHash.of(job));
+    job.setSimhash(SimHash.of(job));
+    return job;
+  }
+
+  private static ProcessingStatus status(String status) {
+    if (status == null || status.isBlank()) {
+      return ProcessingStatus.COMPLETED;
+    }
+    try {
+      return ProcessingStatus.valueOf(status.strip().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown status: " + status);
+    }
+  }
+
+  private static Company company(CompanyView view) {
+    String title = view == null ? null : optional(view.title(), "company", MAX_NAME_LENGTH);
+    if (title == null) {
+      return null;
+    }
+    Company company = new Company();
+    company.setTitle(title);
+    company.setWebsiteUrl(optional(view.websiteUrl(), "company website URL", MAX_URL_LENGTH));
+    company.setLogoUrl(optional(view.logoUrl(), "company logo URL", MAX_URL_LENGTH));
+    return company;
+  }
+
+  private static Set<Tag> tags(List<String> names) {
+    Set<Tag> tags = new LinkedHashSet<>();
+    if (names != null) {
+      for (String name : names) {
+        String tag = optional(name, "tag", MAX_NAME_LENGTH);
+        if (tag != null) {
+          tags.add(new Tag(tag));
+        }
+      }
+    }
+    return tags;
+  }
+
+  private static String required(String value, String field, int maxLength) {
+    String stripped = optional(value, field, maxLength);
+    if (stripped == null) {
+      throw new IllegalArgumentException("Missing " + field);
+    }
+    return stripped;
+  }
+
+  private static String optional(String value, String field, int maxLength) {
+    if (value == null || value.isBlank()) {
+      return null;
+    }
+    return limit(value.strip(), field, maxLength);
+  }
+
+  private static String limit(String value, String field, int maxLength) {
+    if (value.length() > maxLength) {
+      throw new IllegalArgumentException(
+          "The " + field + " is longer than " + maxLength + " characters");
+    }
+    return value;
+  }
+
+  /** The batch being merged while the next one is read. */
+  private final class InFlight {
+    private final Counts counts;
+    private final ImportListener listener;
+    private final NearDuplicates nearDuplicates;
+    private Future<Merged> merge;
+    private int size;
+
+    InFlight(Counts counts, ImportListener listener, NearDuplicates nearDuplicates) {
+      this.counts = counts;
+      this.listener = listener;
+      this.nearDuplicates = nearDuplicates;
+    }
+
+    /** Waits for the previous batch, then starts merging {@code batch}. */
+    void start(List<Job> batch) throws IOException {
+      finish();
+      if (!batch.isEmpty()) {
+        size = batch.size();
+        merge = merger.submit(() -> merge(batch, nearDuplicates));
+      }
+    }
+
+    /** Waits for the batch to commit and reports progress. */
+    void finish() throws IOException {
+      if (merge != null) {
+        counts.add(size, await());
+        listener.onProgress(counts.progress("progress", null));
+      }
+    }
+
+    /** Waits for the batch without reporting, after the import has already failed. */
+    void settle() {
+      if (merge != null) {
+        try {
+          counts.add(size, await());
+        } catch (RuntimeException e) {
+          log.warn("Merging the last import batch failed", e);
+        }
+      }
+    }
+
+    private Merged await() {
+      Future<Merged> current = merge;
+      merge = null;
+      try {
+        return current.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while merging an import batch", e);
+      } catch (ExecutionException e) {
+        throw e.getCause() instanceof RuntimeException cause
+            ? cause
+            : new IllegalStateException(e.getCause());
+      }
+    }
+  }
+
+  /** A merged batch, with the number of its rows skipped as near-duplicates. */
+  private record Merged(int duplicates, JobCopyWriter.Merged written) {}
+
+  private static final class Counts {
+    private final long startedAt;
+    private long rows;
+    private long accepted;
+    private long inserted;
+    private long updated;
+    private long duplicates;
+    private long rejected;
+
+    Counts(long startedAt) {
+      this.startedAt = startedAt;
+    }
+
+    void add(int accepted, Merged merged) {
+      this.accepted += accepted;
+      inserted += merged.written().inserted().size();
+      updated += merged.written().updated().size();
+      duplicates += merged.duplicates();
+    }
+
+    ImportProgress progress(String type, String error) {
+      return new ImportProgress(
+          type,
+          rows,
+          inserted,
+          updated,
+          accepted - inserted - updated - duplicates,
+          duplicates,
+          rejected,
+          (System.nanoTime() - startedAt) / 1_000_000,
+          error);
+    }
+  }
+}
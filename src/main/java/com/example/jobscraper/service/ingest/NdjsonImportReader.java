@@ -0,0 +1,39 @@
+package com.example.jobscraper.service.ingest;
+
+import com.example.jobscraper.dto.ImportRecord;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/** One JSON object per line; blank lines are skipped. */
+class NdjsonImportReader implements ImportReader {
+
+  private final BufferedReader in;
+  private final ObjectReader recordReader;
+  private long line;
+
+  NdjsonImportReader(BufferedReader in, ObjectMapper objectMapper) {
+    this.in = in;
+    this.recordReader = objectMapper.readerFor(ImportRecord.class);
+  }
+
+  @Override
+  public Row next() throws IOException {
+    String text;
+    while ((text = in.readLine()) != null) {
+      line++;
+      if (text.isBlank()) {
+        continue;
+      }
+      try {
+        return Row.parsed(line, recordReader.readValue(text));
+      } catch (JsonProcessingException e) {
+        return Row.rejected(line, "Invalid JSON: " + e.getOriginalMessage());
+      }
+    }
+    return null;
+  }
+}
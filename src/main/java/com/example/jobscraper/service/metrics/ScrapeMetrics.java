@@ -0,0 +1,88 @@
+package com.example.jobscraper.service.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the scrape pipeline: a {@code scraper.stage.duration} timer per {@link Stage}, a
+ * {@code scraper.selection} counter tagged with the selector that produced a page's job elements,
+ * a {@code scraper.page.elements} histogram, a {@code scraper.fallback.runs} counter, counters
+ * for pages and job cards skipped because they had not changed and a counter of near-duplicate
+ * jobs skipped or linked.
+ */
+@Component
+public class ScrapeMetrics {
+
+  public enum Stage {
+    FETCH,
+    PARSE,
+    SELECT,
+    EXTRACT,
+    DEDUP,
+    PERSIST
+  }
+
+  private final MeterRegistry registry;
+  private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+  private final DistributionSummary elementsPerPage;
+  private final Counter fallbackRuns;
+  private final Counter unchangedCards;
+
+  public ScrapeMetrics(MeterRegistry registry) {
+    this.registry = registry;
+    for (Stage stage : Stage.values()) {
+      stageTimers.put(
+          stage,
+          Timer.builder("scraper.stage.duration")
+              .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+              .publishPercentileHistogram()
+              .register(registry));
+    }
+    this.elementsPerPage =
+        DistributionSummary.builder("scraper.page.elements")
+            .baseUnit("elements")
+            .publishPercentileHistogram()
+            .register(registry);
+    this.fallbackRuns = registry.counter("scraper.fallback.runs");
+    this.unchangedCards = registry.counter("scraper.cards.unchanged");
+  }
+
+  public Timer timer(Stage stage) {
+    return stageTimers.get(stage);
+  }
+
+  public <T> T time(Stage stage, Supplier<T> work) {
+    return timer(stage).record(work);
+  }
+
+  public void recordSelection(String selector, int elements) {
+    registry.counter("scraper.selection", "selector", selector).increment();
+    elementsPerPage.record(elements);
+  }
+
+  public void recordFallbackRun() {
+    fallbackRuns.increment();
+  }
+
+  public void recordUnchangedPage(String reason) {
+    registry.counter("scraper.pages.unchanged", "reason", reason).increment();
+  }
+
+  public void recordUnchangedCards(int count) {
+    unchangedCards.increment(count);
+  }
+
+  public void recordNearDuplicates(String action, int count) {
+    if (count > 0) {
+      registry.counter("scraper.jobs.duplicates", "action", action).increment(count);
+    }
+  }
+}
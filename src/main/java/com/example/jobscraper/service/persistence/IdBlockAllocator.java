@@ -0,0 +1,37 @@
+package com.example.jobscraper.service.persistence;
+
+import com.example.jobscraper.config.ScraperProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+@RequiredArgsConstructor
+public class IdBlockAllocator {
+
+  private static final String NEXT_IDS_SQL =
+      "SELECT nextval(CAST(? AS regclass)) FROM generate_series(1, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ScraperProperties properties;
+  private final Map<String, Deque<Long>> pools = new HashMap<>();
+
+  public synchronized long[] allocate(String sequence, int count) {
+    Deque<Long> pool = pools.computeIfAbsent(sequence, name -> new ArrayDeque<>());
+    if (pool.size() < count) {
+      int blockSize = Math.max(count - pool.size(), properties.getPersistence().getIdBlockSize());
+      pool.addAll(jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, sequence, blockSize));
+    }
+
+    long[] ids = new long[count];
+    for (int i = 0; i < count; i++) {
+      ids[i] = pool.poll();
+    }
+    return ids;
+  }
+}
@@ -0,0 +1,316 @@
+package com.example.jobscraper.service.persistence;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.service.cache.IdentityCache;
+import com.example.jobscraper.service.cache.NameIdCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Savepoint;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobBulkWriter {
+
+  private static final String COMPANY_SEQUENCE = "companies_id_seq";
+  private static final String TAG_SEQUENCE = "tags_id_seq";
+  private static final String JOB_SEQUENCE = "jobs_id_seq";
+
+  private static final String FIND_COMPANIES_SQL =
+      "SELECT id, title FROM companies WHERE title IN (:names)";
+  private static final String FIND_TAGS_SQL = "SELECT id, name FROM tags WHERE name IN (:names)";
+
+  private static final String INSERT_COMPANY_SQL =
+      "INSERT INTO companies (id, title, website_url, logo_url) VALUES (?, ?, ?, ?)"
+          + " ON CONFLICT (title) DO NOTHING";
+  private static final String INSERT_TAG_SQL =
+      "INSERT INTO tags (id, name) VALUES (?, ?) ON CONFLICT (name) DO NOTHING";
+  private static final String INSERT_JOB_SQL =
+      "INSERT INTO jobs (id, position_name, job_page_url, labor_function, location,"
+          + " posted_date_unix, description, status, company_id, content_hash, simhash,"
+          + " duplicate_of) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)"
+          + " ON CONFLICT (job_page_url) DO NOTHING";
+  private static final String UPDATE_JOB_SQL =
+      "UPDATE jobs SET position_name = ?, labor_function = ?, location = ?, description = ?,"
+          + " status = ?, company_id = ?, content_hash = ?, simhash = ?,"
+          + " last_seen_at = CURRENT_TIMESTAMP"
+          + " WHERE id = ? AND content_hash IS DISTINCT FROM ?";
+  private static final String DELETE_JOB_TAGS_SQL = "DELETE FROM job_tags WHERE job_id IN (:ids)";
+  private static final String INSERT_JOB_TAG_SQL =
+      "INSERT INTO job_tags (job_id, tag_id) VALUES (?, ?) ON CONFLICT DO NOTHING";
+
+  private final NamedParameterJdbcTemplate jdbcTemplate;
+  private final IdBlockAllocator idAllocator;
+  private final ScraperProperties properties;
+  private final IdentityCache identityCache;
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public List<Job> saveAll(List<Job> jobs) {
+    if (jobs.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return jdbcTemplate.getJdbcTemplate().execute(inSavepoint(() -> write(jobs, this::insertJobs)));
+  }
+
+  /**
+   * Rewrites stored jobs whose content hash changed. Each job must carry the id of its stored row;
+   * rows that already hold the job's hash are left alone and dropped from the result.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public List<Job> updateAll(List<Job> jobs) {
+    if (jobs.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return jdbcTemplate.getJdbcTemplate().execute(inSavepoint(() -> write(jobs, this::updateJobs)));
+  }
+
+  private List<Job> write(List<Job> jobs, RowWriter rowWriter) {
+    Map<String, Long> companyIds = resolveCompanies(jobs);
+    Map<String, Long> tagIds = resolveTags(jobs);
+    List<WrittenJob> written = rowWriter.write(jobs, companyIds);
+    insertJobTags(written, tagIds);
+
+    companyIds.forEach(identityCache.getCompanies()::putAfterCommit);
+    tagIds.forEach(identityCache.getTags()::putAfterCommit);
+
+    written.forEach(row -> assignIds(row, companyIds, tagIds));
+    log.debug("Bulk wrote {} of {} jobs", written.size(), jobs.size());
+    return written.stream().map(WrittenJob::job).collect(Collectors.toList());
+  }
+
+  private static <T> ConnectionCallback<T> inSavepoint(Supplier<T> work) {
+    return connection -> {
+      Savepoint savepoint = connection.setSavepoint();
+      try {
+        T result = work.get();
+        connection.releaseSavepoint(savepoint);
+        return result;
+      } catch (RuntimeException e) {
+        connection.rollback(savepoint);
+        throw e;
+      }
+    };
+  }
+
+  private Map<String, Long> resolveCompanies(List<Job> jobs) {
+    Map<String, Company> companies =
+        jobs.stream()
+            .map(Job::getCompany)
+            .collect(
+                Collectors.toMap(
+                    Company::getTitle,
+                    Function.identity(),
+                    (first, second) -> first,
+                    LinkedHashMap::new));
+
+    return resolveIds(
+        FIND_COMPANIES_SQL,
+        COMPANY_SEQUENCE,
+        INSERT_COMPANY_SQL,
+        companies,
+        identityCache.getCompanies(),
+        (company, id) ->
+            new Object[] {id, company.getTitle(), company.getWebsiteUrl(), company.getLogoUrl()});
+  }
+
+  private Map<String, Long> resolveTags(List<Job> jobs) {
+    Map<String, Tag> tags =
+        jobs.stream()
+            .flatMap(job -> job.getTags().stream())
+            .collect(
+                Collectors.toMap(
+                    Tag::getName,
+                    Function.identity(),
+                    (first, second) -> first,
+                    LinkedHashMap::new));
+
+    return resolveIds(
+        FIND_TAGS_SQL,
+        TAG_SEQUENCE,
+        INSERT_TAG_SQL,
+        tags,
+        identityCache.getTags(),
+        (tag, id) -> new Object[] {id, tag.getName()});
+  }
+
+  private <T> Map<String, Long> resolveIds(
+      String findSql,
+      String sequence,
+      String insertSql,
+      Map<String, T> byName,
+      NameIdCache cache,
+      InsertRowFactory<T> insertRow) {
+    Map<String, Long> ids = new HashMap<>();
+    List<String> uncached = new ArrayList<>();
+    for (String name : byName.keySet()) {
+      cache.get(name).ifPresentOrElse(id -> ids.put(name, id), () -> uncached.add(name));
+    }
+    if (uncached.isEmpty()) {
+      return ids;
+    }
+
+    ids.putAll(findIds(findSql, uncached));
+    List<String> missing =
+        uncached.stream().filter(name -> !ids.containsKey(name)).collect(Collectors.toList());
+    if (missing.isEmpty()) {
+      return ids;
+    }
+
+    long[] newIds = idAllocator.allocate(sequence, missing.size());
+    List<Object[]> rows = new ArrayList<>(missing.size());
+    for (int i = 0; i < missing.size(); i++) {
+      rows.add(insertRow.toRow(byName.get(missing.get(i)), newIds[i]));
+    }
+
+    int[] counts = batchUpdate(insertSql, rows);
+    List<String> lostRaces = new ArrayList<>();
+    for (int i = 0; i < missing.size(); i++) {
+      if (counts[i] > 0) {
+        ids.put(missing.get(i), newIds[i]);
+      } else {
+        lostRaces.add(missing.get(i));
+      }
+    }
+
+    if (!lostRaces.isEmpty()) {
+      ids.putAll(findIds(findSql, lostRaces));
+    }
+    return ids;
+  }
+
+  private Map<String, Long> findIds(String sql, Collection<String> names) {
+    Map<String, Long> ids = new HashMap<>();
+    jdbcTemplate.query(
+        sql,
+        Map.of("names", names),
+        rs -> {
+          ids.put(rs.getString(2), rs.getLong(1));
+        });
+    return ids;
+  }
+
+  private List<WrittenJob> insertJobs(List<Job> jobs, Map<String, Long> companyIds) {
+    long[] jobIds = idAllocator.allocate(JOB_SEQUENCE, jobs.size());
+    List<Object[]> rows = new ArrayList<>(jobs.size());
+    for (int i = 0; i < jobs.size(); i++) {
+      Job job = jobs.get(i);
+      rows.add(
+          new Object[] {
+            jobIds[i],
+            job.getPositionName(),
+            job.getJobPageUrl(),
+            job.getLaborFunction(),
+            job.getLocation(),
+            job.getPostedDateUnix(),
+            job.getDescription(),
+            job.getStatus().name(),
+            companyIds.get(job.getCompany().getTitle()),
+            job.getContentHash(),
+            job.getSimhash(),
+            job.getDuplicateOf()
+          });
+    }
+
+    int[] counts = batchUpdate(INSERT_JOB_SQL, rows);
+    List<WrittenJob> inserted = new ArrayList<>(jobs.size());
+    for (int i = 0; i < jobs.size(); i++) {
+      if (counts[i] > 0) {
+        inserted.add(new WrittenJob(jobs.get(i), jobIds[i]));
+      }
+    }
+    return inserted;
+  }
+
+  private List<WrittenJob> updateJobs(List<Job> jobs, Map<String, Long> companyIds) {
+    List<Object[]> rows = new ArrayList<>(jobs.size());
+    for (Job job : jobs) {
+      rows.add(
+          new Object[] {
+            job.getPositionName(),
+            job.getLaborFunction(),
+            job.getLocation(),
+            job.getDescription(),
+            job.getStatus().name(),
+            companyIds.get(job.getCompany().getTitle()),
+            job.getContentHash(),
+            job.getSimhash(),
+            job.getId(),
+            job.getContentHash()
+          });
+    }
+
+    int[] counts = batchUpdate(UPDATE_JOB_SQL, rows);
+    List<WrittenJob> updated = new ArrayList<>(jobs.size());
+    for (int i = 0; i < jobs.size(); i++) {
+      if (counts[i] > 0) {
+        updated.add(new WrittenJob(jobs.get(i), jobs.get(i).getId()));
+      }
+    }
+    if (!updated.isEmpty()) {
+      jdbcTemplate.update(
+          DELETE_JOB_TAGS_SQL,
+          Map.of("ids", updated.stream().map(WrittenJob::id).collect(Collectors.toList())));
+    }
+    return updated;
+  }
+
+  private void insertJobTags(List<WrittenJob> jobs, Map<String, Long> tagIds) {
+    List<Object[]> rows =
+        jobs.stream()
+            .flatMap(
+                row ->
+                    row.job().getTags().stream()
+                        .map(tag -> new Object[] {row.id(), tagIds.get(tag.getName())}))
+            .collect(Collectors.toList());
+    batchUpdate(INSERT_JOB_TAG_SQL, rows);
+  }
+
+  private int[] batchUpdate(String sql, List<Object[]> rows) {
+    int[][] batches =
+        jdbcTemplate
+            .getJdbcTemplate()
+            .batchUpdate(
+                sql,
+                rows,
+                properties.getPersistence().getBatchSize(),
+                (ps, row) -> {
+                  for (int i = 0; i < row.length; i++) {
+                    ps.setObject(i + 1, row[i]);
+                  }
+                });
+    return Arrays.stream(batches).flatMapToInt(Arrays::stream).toArray();
+  }
+
+  private void assignIds(WrittenJob row, Map<String, Long> companyIds, Map<String, Long> tagIds) {
+    Job job = row.job();
+    job.setId(row.id());
+    job.getCompany().setId(companyIds.get(job.getCompany().getTitle()));
+    job.getTags().forEach(tag -> tag.setId(tagIds.get(tag.getName())));
+    job.setTags(new HashSet<>(job.getTags()));
+  }
+
+  private record WrittenJob(Job job, long id) {}
+
+  @FunctionalInterface
+  private interface RowWriter {
+    List<WrittenJob> write(List<Job> jobs, Map<String, Long> companyIds);
+  }
+
+  @FunctionalInterface
+  private interface InsertRowFactory<T> {
+    Object[] toRow(T value, long id);
+  }
+}
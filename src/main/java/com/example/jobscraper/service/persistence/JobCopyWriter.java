@@ -0,0 +1,224 @@
+package com.example.jobscraper.service.persistence;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import lombok.RequiredArgsConstructor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes imported jobs with {@code COPY} into session-local staging tables, then merges them into
+ * companies, tags, jobs and job_tags with one set-based statement each. Jobs are matched on {@code
+ * job_page_url}; a stored job is only rewritten when its content hash differs, and otherwise has
+ * its {@code last_seen_at} refreshed at most once per {@code scraper.freshness.touch-interval}.
+ * When a batch holds the same URL twice the later row wins. Existing companies and tags are kept
+ * as they are.
+ * Updates and inserts are separate so rows that already exist do not use up sequence values.
+ */
+@Component
+@RequiredArgsConstructor
+public class JobCopyWriter {
+
+  private static final String[] CREATE_STAGING_SQL = {
+    "CREATE TEMP TABLE IF NOT EXISTS import_jobs (line_no INT, position_name TEXT,"
+        + " job_page_url TEXT, labor_function TEXT, location TEXT, posted_date_unix BIGINT,"
+        + " description TEXT, status TEXT, company_title TEXT, company_website_url TEXT,"
+        + " company_logo_url TEXT, content_hash TEXT, simhash BIGINT, duplicate_of BIGINT)"
+        + " ON COMMIT DELETE ROWS",
+    "CREATE TEMP TABLE IF NOT EXISTS import_job_tags (line_no INT, name TEXT)"
+        + " ON COMMIT DELETE ROWS",
+    "CREATE TEMP TABLE IF NOT EXISTS import_merged (job_id BIGINT, line_no INT, inserted BOOLEAN)"
+        + " ON COMMIT DELETE ROWS"
+  };
+  private static final String COPY_JOBS_SQL =
+      "COPY import_jobs (line_no, position_name, job_page_url, labor_function, location,"
+          + " posted_date_unix, description, status, company_title, company_website_url,"
+          + " company_logo_url, content_hash, simhash, duplicate_of) FROM STDIN";
+  private static final String COPY_TAGS_SQL = "COPY import_job_tags (line_no, name) FROM STDIN";
+
+  private static final String MERGE_COMPANIES_SQL =
+      "INSERT INTO companies (title, website_url, logo_url)"
+          + " SELECT DISTINCT ON (company_title) company_title, company_website_url,"
+          + " company_logo_url FROM import_jobs WHERE company_title IS NOT NULL"
+          + " ORDER BY company_title, line_no DESC"
+          + " ON CONFLICT (title) DO NOTHING";
+  private static final String MERGE_TAGS_SQL =
+      "INSERT INTO tags (name) SELECT DISTINCT name FROM import_job_tags ORDER BY name"
+          + " ON CONFLICT (name) DO NOTHING";
+  private static final String TOUCH_UNCHANGED_SQL =
+      "UPDATE jobs j SET last_seen_at = CURRENT_TIMESTAMP FROM import_jobs s"
+          + " WHERE j.job_page_url = s.job_page_url AND j.content_hash = s.content_hash"
+          + " AND j.last_seen_at < ?";
+  private static final String MERGE_JOBS_SQL =
+      "WITH latest AS (SELECT DISTINCT ON (s.job_page_url) s.*, c.id AS company_id"
+          + " FROM import_jobs s LEFT JOIN companies c ON c.title = s.company_title"
+          + " ORDER BY s.job_page_url, s.line_no DESC),"
+          + " updated AS (UPDATE jobs j SET position_name = s.position_name,"
+          + " labor_function = s.labor_function, location = s.location,"
+          + " description = s.description, status = s.status, company_id = s.company_id,"
+          + " content_hash = s.content_hash, simhash = s.simhash,"
+          + " last_seen_at = CURRENT_TIMESTAMP FROM latest s"
+          + " WHERE j.job_page_url = s.job_page_url"
+          + " AND j.content_hash IS DISTINCT FROM s.content_hash RETURNING j.id, s.line_no),"
+          + " inserted AS (INSERT INTO jobs (position_name, job_page_url, labor_function,"
+          + " location, posted_date_unix, description, status, company_id, content_hash, simhash,"
+          + " duplicate_of) SELECT position_name, job_page_url, labor_function, location,"
+          + " posted_date_unix, description, status, company_id, content_hash, simhash,"
+          + " duplicate_of FROM latest s"
+          + " WHERE NOT EXISTS (SELECT 1 FROM jobs j WHERE j.job_page_url = s.job_page_url)"
+          + " ON CONFLICT (job_page_url) DO NOTHING RETURNING id, job_page_url)"
+          + " INSERT INTO import_merged (job_id, line_no, inserted)"
+          + " SELECT id, line_no, FALSE FROM updated"
+          + " UNION ALL SELECT i.id, s.line_no, TRUE FROM inserted i"
+          + " JOIN latest s ON s.job_page_url = i.job_page_url";
+  private static final String FIND_MERGED_SQL =
+      "SELECT job_id, line_no, inserted FROM import_merged";
+  private static final String DELETE_REPLACED_TAGS_SQL =
+      "DELETE FROM job_tags WHERE job_id IN (SELECT job_id FROM import_merged WHERE NOT inserted)";
+  private static final String MERGE_JOB_TAGS_SQL =
+      "INSERT INTO job_tags (job_id, tag_id) SELECT DISTINCT m.job_id, t.id FROM import_merged m"
+          + " JOIN import_job_tags it ON it.line_no = m.line_no JOIN tags t ON t.name = it.name"
+          + " ON CONFLICT DO NOTHING";
+
+  private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ScraperProperties properties;
+
+  /**
+   * Merges {@code jobs} and gives the inserted and rewritten ones their ids. Jobs whose stored
+   * row already holds the same content hash are in neither list.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public Merged merge(List<Job> jobs) {
+    if (jobs.isEmpty()) {
+      return new Merged(List.of(), List.of());
+    }
+    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> stage(connection, jobs));
+    jdbcTemplate.update(MERGE_COMPANIES_SQL);
+    jdbcTemplate.update(MERGE_TAGS_SQL);
+    jdbcTemplate.update(
+        TOUCH_UNCHANGED_SQL,
+        OffsetDateTime.now().minus(properties.getFreshness().getTouchInterval()));
+    jdbcTemplate.update(MERGE_JOBS_SQL);
+
+    List<Job> inserted = new ArrayList<>();
+    List<Job> updated = new ArrayList<>();
+    jdbcTemplate.query(
+        FIND_MERGED_SQL,
+        rs -> {
+          Job job = jobs.get(rs.getInt(2));
+          job.setId(rs.getLong(1));
+          (rs.getBoolean(3) ? inserted : updated).add(job);
+        });
+    if (!updated.isEmpty()) {
+      jdbcTemplate.update(DELETE_REPLACED_TAGS_SQL);
+    }
+    jdbcTemplate.update(MERGE_JOB_TAGS_SQL);
+    return new Merged(inserted, updated);
+  }
+
+  private Void stage(Connection connection, List<Job> jobs) throws SQLException {
+    try (Statement statement = connection.createStatement()) {
+      for (String sql : CREATE_STAGING_SQL) {
+        statement.execute(sql);
+      }
+    }
+    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+    try {
+      copy(pgConnection, COPY_JOBS_SQL, jobs, JobCopyWriter::writeJob);
+      copy(pgConnection, COPY_TAGS_SQL, jobs, JobCopyWriter::writeTags);
+    } catch (UncheckedIOException e) {
+      throw new SQLException("COPY into staging failed", e.getCause());
+    }
+    return null;
+  }
+
+  private static void copy(
+      PGConnection connection, String sql, List<Job> jobs, RowWriter rowWriter)
+      throws SQLException {
+    try (Writer out =
+        new BufferedWriter(
+            new OutputStreamWriter(
+                new PGCopyOutputStream(connection, sql, COPY_BUFFER_SIZE),
+                StandardCharsets.UTF_8),
+            COPY_BUFFER_SIZE)) {
+      for (int i = 0; i < jobs.size(); i++) {
+        rowWriter.write(out, i, jobs.get(i));
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static void writeJob(Writer out, int lineNo, Job job) throws IOException {
+    out.write(Integer.toString(lineNo));
+    field(out, job.getPositionName());
+    field(out, job.getJobPageUrl());
+    field(out, job.getLaborFunction());
+    field(out, job.getLocation());
+    field(out, job.getPostedDateUnix() == null ? null : job.getPostedDateUnix().toString());
+    field(out, job.getDescription());
+    field(out, job.getStatus() == null ? null : job.getStatus().name());
+    field(out, job.getCompany() == null ? null : job.getCompany().getTitle());
+    field(out, job.getCompany() == null ? null : job.getCompany().getWebsiteUrl());
+    field(out, job.getCompany() == null ? null : job.getCompany().getLogoUrl());
+    field(out, job.getContentHash());
+    field(out, job.getSimhash() == null ? null : job.getSimhash().toString());
+    field(out, job.getDuplicateOf() == null ? null : job.getDuplicateOf().toString());
+    out.write('\n');
+  }
+
+  private static void writeTags(Writer out, int lineNo, Job job) throws IOException {
+    for (Tag tag : job.getTags()) {
+      out.write(Integer.toString(lineNo));
+      field(out, tag.getName());
+      out.write('\n');
+    }
+  }
+
+  /** Writes a tab and {@code value} in COPY text format; NUL characters are dropped. */
+  private static void field(Writer out, String value) throws IOException {
+    out.write('\t');
+    if (value == null) {
+      out.write("\\N");
+      return;
+    }
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '\\' -> out.write("\\\\");
+        case '\t' -> out.write("\\t");
+        case '\n' -> out.write("\\n");
+        case '\r' -> out.write("\\r");
+        case '\0' -> {}
+        default -> out.write(c);
+      }
+    }
+  }
+
+  public record Merged(List<Job> inserted, List<Job> updated) {}
+
+  private interface RowWriter {
+    void write(Writer out, int lineNo, Job job) throws IOException;
+  }
+}
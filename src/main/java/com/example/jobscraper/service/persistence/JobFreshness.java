@@ -0,0 +1,93 @@
+package com.example.jobscraper.service.persistence;
+
+import com.example.jobscraper.config.ScraperProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+/**
+ * Keeps {@code jobs.last_seen_at} current for jobs a crawl saw but did not rewrite, and deletes
+ * jobs that have not been seen for {@code scraper.freshness.expire-after}. A row is only touched
+ * once its last-seen time is older than {@code touch-interval}, so repeat crawls of unchanged jobs
+ * rarely write.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobFreshness {
+
+  private static final String TOUCH_SQL =
+      "UPDATE jobs SET last_seen_at = CURRENT_TIMESTAMP"
+          + " WHERE job_page_url = ANY(?) AND last_seen_at < ?";
+  private static final String TOUCH_IDS_SQL =
+      "UPDATE jobs SET last_seen_at = CURRENT_TIMESTAMP WHERE id = ANY(?) AND last_seen_at < ?";
+  private static final String TOUCH_PAGE_SQL =
+      "UPDATE jobs SET last_seen_at = CURRENT_TIMESTAMP"
+          + " WHERE job_page_url IN (SELECT job_page_url FROM card_fingerprints WHERE page_url = ?)"
+          + " AND last_seen_at < ?";
+  private static final String EXPIRE_TAGS_SQL =
+      "DELETE FROM job_tags WHERE job_id IN (SELECT id FROM jobs WHERE last_seen_at < ?)";
+  private static final String EXPIRE_CARDS_SQL =
+      "DELETE FROM card_fingerprints"
+          + " WHERE job_page_url IN (SELECT job_page_url FROM jobs WHERE last_seen_at < ?)";
+  private static final String EXPIRE_JOBS_SQL = "DELETE FROM jobs WHERE last_seen_at < ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ScraperProperties properties;
+
+  public void touch(Collection<String> urls) {
+    if (urls.isEmpty()) {
+      return;
+    }
+    OffsetDateTime staleBefore = staleBefore();
+    jdbcTemplate.update(
+        TOUCH_SQL,
+        ps -> {
+          ps.setArray(1, ps.getConnection().createArrayOf("varchar", urls.toArray()));
+          ps.setObject(2, staleBefore);
+        });
+  }
+
+  public void touchJobs(Collection<Long> ids) {
+    if (ids.isEmpty()) {
+      return;
+    }
+    OffsetDateTime staleBefore = staleBefore();
+    jdbcTemplate.update(
+        TOUCH_IDS_SQL,
+        ps -> {
+          ps.setArray(1, ps.getConnection().createArrayOf("bigint", ids.toArray()));
+          ps.setObject(2, staleBefore);
+        });
+  }
+
+  /** Touches the jobs whose cards were last found on {@code pageUrl}. */
+  public void touchPage(String pageUrl) {
+    jdbcTemplate.update(TOUCH_PAGE_SQL, pageUrl, staleBefore());
+  }
+
+  /** Deletes jobs not seen within {@code expire-after}; does nothing while it is zero. */
+  @Transactional
+  public int expireStale() {
+    Duration expireAfter = properties.getFreshness().getExpireAfter();
+    if (expireAfter.isZero() || expireAfter.isNegative()) {
+      return 0;
+    }
+    OffsetDateTime cutoff = OffsetDateTime.now().minus(expireAfter);
+    jdbcTemplate.update(EXPIRE_TAGS_SQL, cutoff);
+    jdbcTemplate.update(EXPIRE_CARDS_SQL, cutoff);
+    int expired = jdbcTemplate.update(EXPIRE_JOBS_SQL, cutoff);
+    log.info("Expired {} jobs not seen since {}", expired, cutoff);
+    return expired;
+  }
+
+  private OffsetDateTime staleBefore() {
+    return OffsetDateTime.now().minus(properties.getFreshness().getTouchInterval());
+  }
+}
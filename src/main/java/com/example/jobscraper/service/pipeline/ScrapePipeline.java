@@ -0,0 +1,224 @@
+package com.example.jobscraper.service.pipeline;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.service.task.ScrapeProgress;
+import com.example.jobscraper.service.task.ScrapeStage;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Element;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs the stages of one scrape concurrently: candidates offered by the crawl are extracted into
+ * jobs, filtered against known URLs in batches, and written in batches that are committed when
+ * they reach {@code writer-batch-size} or {@code flush-interval} has passed. Each stage has its
+ * own worker threads and the stages are joined by bounded {@link StageQueue}s, so a slow writer
+ * eventually blocks {@link #offer} and with it the crawl threads that fetch pages.
+ */
+@Slf4j
+public class ScrapePipeline {
+
+  private final ScraperProperties.Pipeline settings;
+  private final int maxJobs;
+  private final Function<Candidate, Optional<Job>> extractor;
+  private final UnaryOperator<List<Job>> deduplicator;
+  private final UnaryOperator<List<Job>> writer;
+  private final ScrapeProgress progress;
+
+  private final StageQueue<Candidate> candidates;
+  private final StageQueue<Job> extracted;
+  private final StageQueue<Job> accepted;
+  private final Set<String> offeredUrls = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger acceptedCount = new AtomicInteger();
+  private final List<Job> saved = Collections.synchronizedList(new ArrayList<>());
+  private final ExecutorService executor;
+  private final List<CompletableFuture<Void>> workers = new ArrayList<>();
+  private volatile Throwable failure;
+
+  public ScrapePipeline(
+      ScraperProperties.Pipeline settings,
+      int maxJobs,
+      Function<Candidate, Optional<Job>> extractor,
+      UnaryOperator<List<Job>> deduplicator,
+      UnaryOperator<List<Job>> writer,
+      ScrapeProgress progress) {
+    this.settings = settings;
+    this.maxJobs = maxJobs;
+    this.extractor = extractor;
+    this.deduplicator = deduplicator;
+    this.writer = writer;
+    this.progress = progress;
+    this.candidates = new StageQueue<>(settings.getQueueCapacity(), 1);
+    this.extracted = new StageQueue<>(settings.getQueueCapacity(), settings.getExtractThreads());
+    this.accepted = new StageQueue<>(settings.getQueueCapacity(), settings.getDedupThreads());
+    int threads =
+        settings.getExtractThreads() + settings.getDedupThreads() + settings.getWriterThreads();
+    this.executor = Executors.newFixedThreadPool(threads, namedThreadFactory());
+
+    startWorkers(settings.getExtractThreads(), this::extract);
+    startWorkers(settings.getDedupThreads(), this::dedup);
+    startWorkers(settings.getWriterThreads(), this::write);
+  }
+
+  /**
+   * Hands a candidate to the extract stage, blocking while the stage is full. Candidates with a
+   * URL seen earlier in this scrape are dropped. Returns {@code false} once no more candidates
+   * are wanted.
+   */
+  public boolean offer(Candidate candidate) throws InterruptedException {
+    if (isSaturated()) {
+      return false;
+    }
+    return !offeredUrls.add(candidate.url()) || candidates.put(candidate);
+  }
+
+  /** Whether {@code maxJobs} new jobs have already passed deduplication. */
+  public boolean isSaturated() {
+    return acceptedCount.get() >= maxJobs;
+  }
+
+  /** Signals that no more candidates will be offered; the stages drain and stop. */
+  public void finishInput() {
+    candidates.producerDone();
+  }
+
+  /** Waits for every stage to drain and returns the jobs the writer saved. */
+  public List<Job> await() throws InterruptedException {
+    try {
+      CompletableFuture.allOf(workers.toArray(new CompletableFuture<?>[0])).get();
+    } catch (ExecutionException e) {
+      fail(e.getCause());
+    } finally {
+      executor.shutdown();
+    }
+    if (failure != null) {
+      throw new IllegalStateException("Scrape pipeline failed", failure);
+    }
+    synchronized (saved) {
+      return new ArrayList<>(saved);
+    }
+  }
+
+  public void abort() {
+    candidates.abort();
+    extracted.abort();
+    accepted.abort();
+    executor.shutdownNow();
+  }
+
+  private void extract() throws InterruptedException {
+    try {
+      for (Candidate candidate = candidates.take();
+          candidate != null;
+          candidate = candidates.take()) {
+        Optional<Job> job = extractor.apply(candidate);
+        if (job.isPresent() && !extracted.put(job.get())) {
+          return;
+        }
+      }
+    } finally {
+      if (extracted.producerDone()) {
+        progress.onStage(ScrapeStage.PERSIST);
+      }
+    }
+  }
+
+  private void dedup() throws InterruptedException {
+    try {
+      for (List<Job> batch = nextDedupBatch(); !batch.isEmpty(); batch = nextDedupBatch()) {
+        for (Job job : withinQuota(deduplicator.apply(batch))) {
+          if (!accepted.put(job)) {
+            return;
+          }
+        }
+      }
+    } finally {
+      accepted.producerDone();
+    }
+  }
+
+  private void write() throws InterruptedException {
+    for (List<Job> batch = nextWriteBatch(); !batch.isEmpty(); batch = nextWriteBatch()) {
+      saved.addAll(writer.apply(batch));
+    }
+  }
+
+  private List<Job> nextDedupBatch() throws InterruptedException {
+    return extracted.takeBatch(settings.getDedupBatchSize(), settings.getFlushInterval());
+  }
+
+  private List<Job> nextWriteBatch() throws InterruptedException {
+    return accepted.takeBatch(settings.getWriterBatchSize(), settings.getFlushInterval());
+  }
+
+  private List<Job> withinQuota(List<Job> jobs) {
+    while (true) {
+      int current = acceptedCount.get();
+      int granted = Math.min(jobs.size(), maxJobs - current);
+      if (granted <= 0) {
+        return List.of();
+      }
+      if (acceptedCount.compareAndSet(current, current + granted)) {
+        return jobs.subList(0, granted);
+      }
+    }
+  }
+
+  private void startWorkers(int count, StageWorker worker) {
+    for (int i = 0; i < count; i++) {
+      workers.add(CompletableFuture.runAsync(() -> run(worker), executor));
+    }
+  }
+
+  private void run(StageWorker worker) {
+    try {
+      worker.run();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      fail(e);
+    } catch (RuntimeException e) {
+      fail(e);
+    }
+  }
+
+  private synchronized void fail(Throwable cause) {
+    if (failure == null) {
+      failure = cause;
+      log.error("Scrape pipeline stage failed", cause);
+    }
+    candidates.abort();
+    extracted.abort();
+    accepted.abort();
+  }
+
+  private static ThreadFactory namedThreadFactory() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "scrape-pipeline-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+
+  @FunctionalInterface
+  private interface StageWorker {
+    void run() throws InterruptedException;
+  }
+
+  /** A job element selected from a crawled page, keyed by the URL it will be stored under. */
+  public record Candidate(String url, Element element) {}
+}
@@ -0,0 +1,93 @@
+package com.example.jobscraper.service.pipeline;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded hand-off between two pipeline stages. Producers block while it is full, which is what
+ * slows an upstream stage down to the pace of a downstream one. Consumers see the end of the
+ * stream once every producer has called {@link #producerDone()} and the queue is drained.
+ */
+class StageQueue<T> {
+  private static final long POLL_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+  private final BlockingQueue<T> queue;
+  private final AtomicInteger producers;
+  private volatile boolean aborted;
+
+  StageQueue(int capacity, int producers) {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.producers = new AtomicInteger(producers);
+  }
+
+  /** Blocks until there is room; returns {@code false} if the pipeline was aborted. */
+  boolean put(T item) throws InterruptedException {
+    while (!aborted) {
+      if (queue.offer(item, POLL_NANOS, TimeUnit.NANOSECONDS)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Returns {@code true} when this was the last producer. */
+  boolean producerDone() {
+    return producers.decrementAndGet() == 0;
+  }
+
+  /** Returns the next item, or {@code null} once the stream has ended or was aborted. */
+  T take() throws InterruptedException {
+    while (!aborted) {
+      T item = queue.poll(POLL_NANOS, TimeUnit.NANOSECONDS);
+      if (item != null) {
+        return item;
+      }
+      if (isDrained()) {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Waits for one item, then keeps collecting until the batch holds {@code maxSize} items,
+   * {@code maxWait} has passed since the first one, or the stream ends. An empty batch means the
+   * stream has ended.
+   */
+  List<T> takeBatch(int maxSize, Duration maxWait) throws InterruptedException {
+    T first = take();
+    if (first == null) {
+      return List.of();
+    }
+    List<T> batch = new ArrayList<>(maxSize);
+    batch.add(first);
+    long deadline = System.nanoTime() + maxWait.toNanos();
+    while (batch.size() < maxSize && !aborted) {
+      long remaining = deadline - System.nanoTime();
+      if (remaining <= 0) {
+        break;
+      }
+      T next = queue.poll(Math.min(remaining, POLL_NANOS), TimeUnit.NANOSECONDS);
+      if (next != null) {
+        batch.add(next);
+      } else if (isDrained()) {
+        break;
+      }
+    }
+    return batch;
+  }
+
+  void abort() {
+    aborted = true;
+    queue.clear();
+  }
+
+  private boolean isDrained() {
+    return producers.get() == 0 && queue.isEmpty();
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.jobscraper.service.task;
+
+public interface ScrapeProgress {
+  ScrapeProgress NONE = new ScrapeProgress() {};
+
+  default void onStage(ScrapeStage stage) {}
+
+  default void onElementsFound(int count) {}
+
+  default void onJobsExtracted(int count) {}
+
+  default void onJobsSaved(int count) {}
+
+  default void onPageFetched(String url) {}
+
+  default boolean isCancelled() {
+    return false;
+  }
+}
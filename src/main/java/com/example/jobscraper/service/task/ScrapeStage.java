@@ -0,0 +1,10 @@
+package com.example.jobscraper.service.task;
+
+public enum ScrapeStage {
+  QUEUED,
+  CRAWL,
+  EXTRACT,
+  PERSIST,
+  FALLBACK,
+  DONE
+}
@@ -0,0 +1,78 @@
+package com.example.jobscraper.service.task;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Getter
+public class ScrapeTask implements ScrapeProgress {
+  private final String id = UUID.randomUUID().toString();
+  private final String jobFunction;
+  private final Instant submittedAt = Instant.now();
+  private volatile ScrapeTaskStatus status = ScrapeTaskStatus.QUEUED;
+  private volatile ScrapeStage stage = ScrapeStage.QUEUED;
+  private volatile Instant startedAt;
+  private volatile Instant finishedAt;
+  private volatile String error;
+  private volatile boolean cancelled;
+  private final AtomicInteger pagesFetched = new AtomicInteger();
+  private final AtomicInteger elementsFound = new AtomicInteger();
+  private final AtomicInteger jobsExtracted = new AtomicInteger();
+  private final AtomicInteger jobsSaved = new AtomicInteger();
+
+  public ScrapeTask(String jobFunction) {
+    this.jobFunction = jobFunction;
+  }
+
+  void start() {
+    startedAt = Instant.now();
+    status = ScrapeTaskStatus.RUNNING;
+  }
+
+  void complete() {
+    stage = ScrapeStage.DONE;
+    status = cancelled ? ScrapeTaskStatus.CANCELLED : ScrapeTaskStatus.COMPLETED;
+    finishedAt = Instant.now();
+  }
+
+  void fail(Throwable cause) {
+    error = cause.getMessage();
+    status = ScrapeTaskStatus.FAILED;
+    finishedAt = Instant.now();
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isFinished() {
+    return finishedAt != null;
+  }
+
+  @Override
+  public void onStage(ScrapeStage stage) {
+    this.stage = stage;
+  }
+
+  @Override
+  public void onPageFetched(String url) {
+    pagesFetched.incrementAndGet();
+  }
+
+  @Override
+  public void onElementsFound(int count) {
+    elementsFound.addAndGet(count);
+  }
+
+  @Override
+  public void onJobsExtracted(int count) {
+    jobsExtracted.addAndGet(count);
+  }
+
+  @Override
+  public void onJobsSaved(int count) {
+    jobsSaved.addAndGet(count);
+  }
+}
@@ -0,0 +1,120 @@
+package com.example.jobscraper.service.task;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.service.JobScrapingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+public class ScrapeTaskService {
+
+  private final JobScrapingService jobScrapingService;
+  private final ThreadPoolExecutor executor;
+  private final Map<String, ScrapeTask> tasks;
+
+  public ScrapeTaskService(
+      JobScrapingService jobScrapingService,
+      ScraperProperties properties,
+      MeterRegistry meterRegistry) {
+    ScraperProperties.Tasks config = properties.getTasks();
+    this.jobScrapingService = jobScrapingService;
+    this.executor =
+        new ThreadPoolExecutor(
+            config.getPoolSize(),
+            config.getPoolSize(),
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(config.getQueueCapacity()),
+            namedThreadFactory());
+    this.tasks = retainingMap(config.getRetainedTasks());
+    Gauge.builder("scraper.tasks.queued", this, ScrapeTaskService::getQueueDepth)
+        .register(meterRegistry);
+    Gauge.builder("scraper.tasks.active", this, ScrapeTaskService::getActiveCount)
+        .register(meterRegistry);
+  }
+
+  public ScrapeTask submit(String jobFunction) {
+    ScrapeTask task = new ScrapeTask(jobFunction);
+    executor.execute(() -> run(task));
+    synchronized (tasks) {
+      tasks.put(task.getId(), task);
+    }
+    return task;
+  }
+
+  public Optional<ScrapeTask> find(String taskId) {
+    synchronized (tasks) {
+      return Optional.ofNullable(tasks.get(taskId));
+    }
+  }
+
+  public Optional<ScrapeTask> cancel(String taskId) {
+    Optional<ScrapeTask> task = find(taskId);
+    task.ifPresent(ScrapeTask::cancel);
+    return task;
+  }
+
+  public int getQueueDepth() {
+    return executor.getQueue().size();
+  }
+
+  public int getActiveCount() {
+    return executor.getActiveCount();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdownNow();
+  }
+
+  private void run(ScrapeTask task) {
+    task.start();
+    if (task.isCancelled()) {
+      task.complete();
+      return;
+    }
+    try {
+      jobScrapingService.scrapeJobsByFunction(task.getJobFunction(), task);
+      task.complete();
+    } catch (Exception e) {
+      log.error("Scrape task {} failed", task.getId(), e);
+      task.fail(e);
+    }
+  }
+
+  /**
+   * Keeps at most {@code retainedTasks} tasks by dropping the oldest finished ones. Unfinished
+   * tasks are never dropped, and there are at most pool size plus queue capacity of them.
+   */
+  static Map<String, ScrapeTask> retainingMap(int retainedTasks) {
+    return new LinkedHashMap<>() {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, ScrapeTask> eldest) {
+        Iterator<ScrapeTask> oldestFirst = values().iterator();
+        while (size() > retainedTasks && oldestFirst.hasNext()) {
+          if (oldestFirst.next().isFinished()) {
+            oldestFirst.remove();
+          }
+        }
+        return false;
+      }
+    };
+  }
+
+  private static ThreadFactory namedThreadFactory() {
+    AtomicInteger counter = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, "scrape-task-" + counter.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,9 @@
+package com.example.jobscraper.service.task;
+
+public enum ScrapeTaskStatus {
+  QUEUED,
+  RUNNING,
+  COMPLETED,
+  CANCELLED,
+  FAILED
+}
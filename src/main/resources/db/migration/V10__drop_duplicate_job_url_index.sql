@@ -0,0 +1,3 @@
+-- job_page_url is already unique through jobs_job_page_url_key; the second unique index only
+-- doubled the index work of every job insert.
+DROP INDEX IF EXISTS idx_jobs_job_page_url;
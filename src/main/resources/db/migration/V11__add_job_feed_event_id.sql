@@ -0,0 +1,11 @@
+CREATE SEQUENCE jobs_feed_event_id_seq;
+
+ALTER TABLE jobs
+    ADD COLUMN feed_event_id BIGINT;
+
+-- Jobs streamed so far used their own id as event id, so clients resuming from one still line up.
+UPDATE jobs SET feed_event_id = id;
+
+SELECT setval('jobs_feed_event_id_seq', COALESCE(MAX(id), 0) + 1, false) FROM jobs;
+
+CREATE UNIQUE INDEX idx_jobs_feed_event_id ON jobs (feed_event_id) WHERE feed_event_id IS NOT NULL;
@@ -0,0 +1 @@
+CREATE INDEX idx_jobs_posted_date_id ON jobs (COALESCE(posted_date_unix, 0) DESC, id DESC);
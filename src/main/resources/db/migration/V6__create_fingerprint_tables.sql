@@ -0,0 +1,16 @@
+CREATE TABLE page_fingerprints
+(
+    url           VARCHAR(2000) PRIMARY KEY,
+    etag          VARCHAR(500),
+    last_modified VARCHAR(100),
+    content_hash  CHAR(64)                 NOT NULL,
+    links         TEXT[]                   NOT NULL DEFAULT '{}',
+    checked_at    TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE card_fingerprints
+(
+    job_page_url VARCHAR(500) PRIMARY KEY,
+    content_hash CHAR(64)                 NOT NULL,
+    checked_at   TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
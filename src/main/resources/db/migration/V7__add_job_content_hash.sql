@@ -0,0 +1,10 @@
+ALTER TABLE jobs
+    ADD COLUMN content_hash CHAR(64),
+    ADD COLUMN last_seen_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX idx_jobs_last_seen_at ON jobs (last_seen_at);
+
+ALTER TABLE card_fingerprints
+    ADD COLUMN page_url VARCHAR(2000);
+
+CREATE INDEX idx_card_fingerprints_page_url ON card_fingerprints (page_url);
@@ -0,0 +1,5 @@
+ALTER TABLE jobs
+    ADD COLUMN simhash BIGINT,
+    ADD COLUMN duplicate_of BIGINT REFERENCES jobs (id) ON DELETE SET NULL;
+
+CREATE INDEX idx_jobs_duplicate_of ON jobs (duplicate_of) WHERE duplicate_of IS NOT NULL;
@@ -0,0 +1,65 @@
+package com.example.jobscraper.service.cache;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameIdCacheTest {
+
+  @AfterEach
+  void clearSynchronization() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+  }
+
+  @Test
+  void evictsTheLeastRecentlyUsedName() {
+    NameIdCache cache = new NameIdCache(2);
+    cache.put("Acme", 1L);
+    cache.put("Globex", 2L);
+    cache.get("Acme");
+    cache.put("Initech", 3L);
+
+    assertThat(cache.get("Acme")).contains(1L);
+    assertThat(cache.get("Globex")).isEmpty();
+    assertThat(cache.get("Initech")).contains(3L);
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.hits()).isEqualTo(3);
+    assertThat(cache.misses()).isEqualTo(1);
+  }
+
+  @Test
+  void putsOnlyAfterCommit() {
+    NameIdCache cache = new NameIdCache(10);
+    TransactionSynchronizationManager.initSynchronization();
+    cache.putAfterCommit("Acme", 1L);
+
+    assertThat(cache.get("Acme")).isEmpty();
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(TransactionSynchronization::afterCommit);
+    assertThat(cache.get("Acme")).contains(1L);
+  }
+
+  @Test
+  void dropsPutsOfARolledBackTransaction() {
+    NameIdCache cache = new NameIdCache(10);
+    TransactionSynchronizationManager.initSynchronization();
+    cache.putAfterCommit("Acme", 1L);
+
+    TransactionSynchronizationManager.getSynchronizations()
+        .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    assertThat(cache.get("Acme")).isEmpty();
+  }
+
+  @Test
+  void putsImmediatelyOutsideATransaction() {
+    NameIdCache cache = new NameIdCache(10);
+    cache.putAfterCommit("Acme", 1L);
+
+    assertThat(cache.get("Acme")).contains(1L);
+  }
+}
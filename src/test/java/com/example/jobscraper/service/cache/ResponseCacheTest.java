@@ -0,0 +1,80 @@
+package com.example.jobscraper.service.cache;
+
+import com.example.jobscraper.config.ScraperProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+
+  private final DataVersion dataVersion = new DataVersion();
+
+  @Test
+  void evictsTheLeastRecentlyUsedEntryPastMaxEntries() {
+    ResponseCache cache = cache(2, 1_000);
+    cache.put("a", 0, new byte[10]);
+    cache.put("b", 0, new byte[10]);
+    cache.get("a", 0);
+    cache.put("c", 0, new byte[10]);
+
+    assertThat(cache.get("a", 0)).isPresent();
+    assertThat(cache.get("b", 0)).isEmpty();
+    assertThat(cache.get("c", 0)).isPresent();
+    assertThat(cache.size()).isEqualTo(20);
+  }
+
+  @Test
+  void evictsUntilTheBytesFit() {
+    ResponseCache cache = cache(100, 1_000);
+    cache.put("a", 0, new byte[200]);
+    cache.put("b", 0, new byte[200]);
+    cache.put("c", 0, new byte[200]);
+    cache.put("d", 0, new byte[200]);
+    cache.put("e", 0, new byte[250]);
+
+    assertThat(cache.get("a", 0)).isEmpty();
+    assertThat(cache.get("b", 0)).isPresent();
+    assertThat(cache.get("e", 0)).isPresent();
+    assertThat(cache.size()).isEqualTo(850);
+  }
+
+  @Test
+  void accountsForReplacedEntries() {
+    ResponseCache cache = cache(100, 1_000);
+    cache.put("a", 0, new byte[100]);
+    cache.put("a", 1, new byte[40]);
+
+    assertThat(cache.size()).isEqualTo(40);
+    assertThat(cache.get("a", 0)).isEmpty();
+    assertThat(cache.get("a", 1)).hasValueSatisfying(body -> assertThat(body).hasSize(40));
+  }
+
+  @Test
+  void neverCachesResponsesLargerThanAQuarterOfTheLimit() {
+    ResponseCache cache = cache(100, 1_000);
+    cache.put("a", 0, new byte[100]);
+    cache.put("big", 0, new byte[251]);
+
+    assertThat(cache.get("big", 0)).isEmpty();
+    assertThat(cache.get("a", 0)).isPresent();
+    assertThat(cache.size()).isEqualTo(100);
+  }
+
+  @Test
+  void tagsDependOnKeyAndVersion() {
+    ResponseCache cache = cache(100, 1_000);
+
+    assertThat(cache.etag("a", 1)).isEqualTo(cache.etag("a", 1));
+    assertThat(cache.etag("a", 1)).isNotEqualTo(cache.etag("a", 2));
+    assertThat(cache.etag("a", 1)).isNotEqualTo(cache.etag("b", 1));
+  }
+
+  private ResponseCache cache(int maxEntries, long maxBytes) {
+    ScraperProperties properties = new ScraperProperties();
+    properties.getCache().setResponseMaxEntries(maxEntries);
+    properties.getCache().setResponseMaxSize(DataSize.ofBytes(maxBytes));
+    return new ResponseCache(properties, dataVersion, new SimpleMeterRegistry());
+  }
+}
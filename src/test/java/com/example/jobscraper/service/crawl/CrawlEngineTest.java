@@ -0,0 +1,161 @@
+package com.example.jobscraper.service.crawl;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.service.fetch.HttpPageFetcher;
+import com.example.jobscraper.service.fetch.PageParser;
+import com.example.jobscraper.service.metrics.ScrapeMetrics;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CrawlEngineTest {
+
+  private static final Map<String, String> PAGES =
+      Map.of(
+          "/jobs",
+          "<a rel='next' href='/jobs?page=2'>next</a>"
+              + "<a href='/job/1'>Job 1</a><a href='/job/2'>Job 2</a>"
+              + "<a href='https://elsewhere.example/job/9'>External</a>",
+          "/jobs?page=2",
+          "<a href='/jobs?page=3'>next</a><a href='/job/2#apply'>Job 2</a><a href='/job/3'>Job 3</a>",
+          "/jobs?page=3",
+          "<a href='/jobs?page=4'>next</a>",
+          "/job/1",
+          "<h1>Job 1</h1>",
+          "/job/2",
+          "<h1>Job 2</h1>",
+          "/job/3",
+          "<h1>Job 3</h1>");
+
+  private HttpServer server;
+  private final Set<String> requested = ConcurrentHashMap.newKeySet();
+
+  @BeforeEach
+  void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/",
+        exchange -> {
+          String path = exchange.getRequestURI().toString();
+          requested.add(path);
+          String body = PAGES.get(path);
+          byte[] bytes =
+              ("<html><body>" + (body == null ? "" : body) + "</body></html>")
+                  .getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+          exchange.sendResponseHeaders(body == null ? 404 : 200, bytes.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+          }
+        });
+    server.start();
+  }
+
+  @AfterEach
+  void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  void followsPaginationAndDetailLinksUpToMaxDepth() throws InterruptedException {
+    CrawlEngine engine = new CrawlEngine(fetcher(), settings(2, 100));
+    Set<String> visited = ConcurrentHashMap.newKeySet();
+
+    CrawlStats stats =
+        engine
+            .start(
+                baseUrl() + "/jobs",
+                page -> {
+                  visited.add(page.url().substring(baseUrl().length()));
+                  return true;
+                })
+            .await();
+
+    assertThat(visited)
+        .containsExactlyInAnyOrder(
+            "/jobs", "/jobs?page=2", "/jobs?page=3", "/job/1", "/job/2", "/job/3");
+    assertThat(requested).doesNotContain("/jobs?page=4");
+    assertThat(stats.pagesFetched()).isEqualTo(6);
+    assertThat(stats.cancelled()).isFalse();
+  }
+
+  @Test
+  void stopsWhenVisitorDeclinesMorePages() throws InterruptedException {
+    CrawlEngine engine = new CrawlEngine(fetcher(), settings(5, 100));
+
+    CrawlStats stats = engine.start(baseUrl() + "/jobs", page -> false).await();
+
+    assertThat(stats.cancelled()).isTrue();
+    assertThat(stats.pagesFetched()).isEqualTo(1);
+  }
+
+  @Test
+  void respectsMaxPages() throws InterruptedException {
+    CrawlEngine engine = new CrawlEngine(fetcher(), settings(5, 3));
+
+    CrawlStats stats = engine.start(baseUrl() + "/jobs", page -> true).await();
+
+    assertThat(stats.pagesFetched()).isEqualTo(3);
+  }
+
+  @Test
+  void replaysLinksOfUnchangedPagesWithoutVisitingThem() throws InterruptedException {
+    Map<String, PageSnapshot> snapshots = new ConcurrentHashMap<>();
+    PageHistory history =
+        new PageHistory() {
+          @Override
+          public Optional<PageSnapshot> find(String url) {
+            return Optional.ofNullable(snapshots.get(url));
+          }
+
+          @Override
+          public void save(String url, PageSnapshot snapshot) {
+            snapshots.put(url, snapshot);
+          }
+        };
+    CrawlEngine engine = new CrawlEngine(fetcher(), PageParser.DOM, settings(2, 100), history);
+    engine.start(baseUrl() + "/jobs", page -> true).await();
+    requested.clear();
+    Set<String> visited = ConcurrentHashMap.newKeySet();
+
+    CrawlStats stats = engine.start(baseUrl() + "/jobs", page -> visited.add(page.url())).await();
+
+    assertThat(visited).isEmpty();
+    assertThat(stats.pagesUnchanged()).isEqualTo(6);
+    assertThat(requested).contains("/jobs?page=3", "/job/3");
+  }
+
+  private HttpPageFetcher fetcher() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    return new HttpPageFetcher(registry, new ScrapeMetrics(registry));
+  }
+
+  private ScraperProperties.Crawl settings(int maxDepth, int maxPages) {
+    ScraperProperties.Crawl settings = new ScraperProperties.Crawl();
+    settings.setConcurrency(4);
+    settings.setRequestsPerSecond(1000);
+    settings.setBurst(100);
+    settings.setMaxDepth(maxDepth);
+    settings.setMaxPages(maxPages);
+    settings.setFollowSelectors(List.of("a[rel=next]", "a[href*='page=']", "a[href*='/job/']"));
+    return settings;
+  }
+
+  private String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+}
@@ -0,0 +1,53 @@
+package com.example.jobscraper.service.dedup;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTest {
+
+  private static final int INSERTIONS = 100_000;
+
+  @Test
+  void neverForgetsAnInsertedValue() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+    IntStream.range(0, INSERTIONS).parallel().forEach(i -> filter.put(url(i)));
+
+    assertThat(IntStream.range(0, INSERTIONS).allMatch(i -> filter.mightContain(url(i))))
+        .isTrue();
+  }
+
+  @Test
+  void sizesBitsAndHashesForTheFalsePositiveRate() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+
+    // m = -n ln p / (ln 2)^2 = 958,506 bits, rounded up to whole words; k = m / n ln 2
+    assertThat(filter.bitCount()).isEqualTo(958_528);
+    assertThat(filter.hashCount()).isEqualTo(7);
+  }
+
+  @Test
+  void keepsFalsePositivesNearTheConfiguredRate() {
+    BloomFilter filter = new BloomFilter(INSERTIONS, 0.01);
+    IntStream.range(0, INSERTIONS).forEach(i -> filter.put(url(i)));
+
+    long falsePositives =
+        IntStream.range(INSERTIONS, 2 * INSERTIONS)
+            .filter(i -> filter.mightContain(url(i)))
+            .count();
+    assertThat(falsePositives / (double) INSERTIONS).isLessThan(0.015);
+  }
+
+  @Test
+  void neverMatchesWhileEmpty() {
+    BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+    assertThat(filter.mightContain(url(1))).isFalse();
+  }
+
+  private static String url(int i) {
+    return "https://jobs.example.com/job/" + i;
+  }
+}
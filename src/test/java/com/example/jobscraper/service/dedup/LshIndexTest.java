@@ -0,0 +1,62 @@
+package com.example.jobscraper.service.dedup;
+
+import com.example.jobscraper.service.fingerprint.SimHash;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LshIndexTest {
+
+  private static final int ENTRIES = 20_000;
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 3, 7})
+  void findsTheSameDistanceAsAFullScan(int maxDistance) {
+    Random random = new Random(maxDistance);
+    long[] hashes = new long[ENTRIES];
+    int[] keys = new int[ENTRIES];
+    LshIndex index = new LshIndex(maxDistance);
+    for (int i = 0; i < ENTRIES; i++) {
+      hashes[i] = random.nextLong();
+      keys[i] = random.nextInt(3);
+      index.add(i, hashes[i], keys[i]);
+    }
+
+    for (int probe = 0; probe < 2_000; probe++) {
+      int target = random.nextInt(ENTRIES);
+      long hash = flipBits(hashes[target], random.nextInt(maxDistance + 3), random);
+      int key = random.nextInt(3);
+
+      long found = index.findNear(hash, key);
+      int expected = nearestDistance(hashes, keys, hash, key);
+      if (expected > maxDistance) {
+        assertThat(found).isEqualTo(-1);
+      } else {
+        assertThat(found).isNotEqualTo(-1);
+        assertThat(keys[(int) found]).isEqualTo(key);
+        assertThat(SimHash.distance(hashes[(int) found], hash)).isEqualTo(expected);
+      }
+    }
+  }
+
+  private static long flipBits(long hash, int bits, Random random) {
+    long flipped = hash;
+    while (SimHash.distance(flipped, hash) < bits) {
+      flipped ^= 1L << random.nextInt(Long.SIZE);
+    }
+    return flipped;
+  }
+
+  private static int nearestDistance(long[] hashes, int[] keys, long hash, int key) {
+    int nearest = Integer.MAX_VALUE;
+    for (int i = 0; i < hashes.length; i++) {
+      if (keys[i] == key) {
+        nearest = Math.min(nearest, SimHash.distance(hashes[i], hash));
+      }
+    }
+    return nearest;
+  }
+}
@@ -0,0 +1,60 @@
+package com.example.jobscraper.service.dedup;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.entity.Job;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NearDuplicateIndexTest {
+
+  private final CountingLoads jdbcTemplate = new CountingLoads();
+  private final NearDuplicateIndex index =
+      new NearDuplicateIndex(jdbcTemplate, new ScraperProperties());
+
+  @Test
+  void rebuildsOnlyAfterBeingMarkedDirty() {
+    index.rebuildIfDirty();
+    assertThat(jdbcTemplate.loads).isZero();
+
+    index.markDirty();
+    index.rebuildIfDirty();
+    index.rebuildIfDirty();
+    assertThat(jdbcTemplate.loads).isEqualTo(1);
+  }
+
+  @Test
+  void keepsJobsInsertedWhileARebuildIsLoading() {
+    jdbcTemplate.onLoad = () -> index.index(List.of(job(7L, 0x5f3a_9c01_77e2_4b10L)));
+
+    index.rebuild();
+
+    assertThat(index.findNear(job(null, 0x5f3a_9c01_77e2_4b11L))).hasValue(7L);
+  }
+
+  private static Job job(Long id, long simhash) {
+    Job job = new Job();
+    job.setId(id);
+    job.setSimhash(simhash);
+    job.setLocation("Remote");
+    return job;
+  }
+
+  /** An empty database that counts index loads and can write a job while one runs. */
+  private static final class CountingLoads extends JdbcTemplate {
+    private int loads;
+    private Runnable onLoad = () -> {};
+
+    @Override
+    public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+      loads++;
+      onLoad.run();
+      onLoad = () -> {};
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.example.jobscraper.service.dedup;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UrlCanonicalizerTest {
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = '|',
+      value = {
+        "HTTPS://Jobs.Example.com:443/jobs/123/ | https://jobs.example.com/jobs/123",
+        "https://jobs.example.com//jobs///123#apply | https://jobs.example.com/jobs/123",
+        "https://jobs.example.com/jobs/123?utm_source=x&b=2&gclid=y&a=1"
+            + " | https://jobs.example.com/jobs/123?a=1&b=2",
+        "http://jobs.example.com:8080/jobs/123?ref=feed | http://jobs.example.com:8080/jobs/123",
+        "https://jobs.example.com/ | https://jobs.example.com",
+        "' /jobs/123 ' | /jobs/123",
+        "not a url | not a url"
+      })
+  void canonicalizesJobUrls(String url, String expected) {
+    assertThat(UrlCanonicalizer.canonicalize(url)).isEqualTo(expected);
+  }
+}
@@ -0,0 +1,95 @@
+package com.example.jobscraper.service.export;
+
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CopySqlExporterTest {
+
+  private final StringWriter out = new StringWriter();
+  private final CopySqlExporter exporter = new CopySqlExporter(out);
+
+  @Test
+  void escapesCopyTextSpecialCharacters() {
+    Tag tag = new Tag("back\\slash\ttab\nnewline\rreturn");
+    tag.setId(3L);
+
+    exporter.writeTag(tag);
+
+    assertThat(out.toString()).isEqualTo("3\tback\\\\slash\\ttab\\nnewline\\rreturn\n");
+  }
+
+  @Test
+  void writesNullsAsBackslashN() {
+    Company company = new Company();
+    company.setId(5L);
+    company.setTitle("Acme");
+
+    exporter.writeCompany(company);
+
+    assertThat(out.toString()).isEqualTo("5\tAcme\t\\N\t\\N\n");
+  }
+
+  @Test
+  void keepsTheLiteralTextBackslashNDistinctFromNull() {
+    Tag tag = new Tag("\\N");
+    tag.setId(1L);
+
+    exporter.writeTag(tag);
+
+    assertThat(out.toString()).isEqualTo("1\t\\\\N\n");
+  }
+
+  @Test
+  void writesJobsWithTheirFingerprintsAndDuplicateLink() {
+    Company company = new Company();
+    company.setId(5L);
+    Job job = new Job();
+    job.setId(9L);
+    job.setPositionName("Engineer");
+    job.setStatus(ProcessingStatus.COMPLETED);
+    job.setCompany(company);
+    job.setContentHash("ab12");
+    job.setLastSeenAt(OffsetDateTime.of(2026, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC));
+    job.setSimhash(-42L);
+    job.setDuplicateOf(7L);
+
+    exporter.writeJob(job);
+
+    assertThat(out.toString())
+        .isEqualTo(
+            "9\tEngineer\t\\N\t\\N\t\\N\t\\N\t\\N\tCOMPLETED\t5\tab12\t2026-01-02T03:04:05Z"
+                + "\t-42\t7\n");
+  }
+
+  @Test
+  void wrapsSectionsInCopyBlocks() {
+    exporter.beginSection(SqlDumpSection.TAGS);
+    exporter.endSection(SqlDumpSection.TAGS);
+
+    assertThat(out.toString()).isEqualTo("COPY tags (id, name) FROM stdin;\n\\.\n\n");
+  }
+
+  @Test
+  void resetsEverySerialSequenceBeforeCommitting() {
+    exporter.writeFooter();
+
+    assertThat(out.toString())
+        .isEqualTo(
+            "SELECT setval(pg_get_serial_sequence('companies', 'id'),"
+                + " COALESCE(MAX(id), 0) + 1, false) FROM companies;\n"
+                + "SELECT setval(pg_get_serial_sequence('tags', 'id'),"
+                + " COALESCE(MAX(id), 0) + 1, false) FROM tags;\n"
+                + "SELECT setval(pg_get_serial_sequence('jobs', 'id'),"
+                + " COALESCE(MAX(id), 0) + 1, false) FROM jobs;\n"
+                + "\nCOMMIT;\n");
+  }
+}
@@ -0,0 +1,37 @@
+package com.example.jobscraper.service.export;
+
+import com.example.jobscraper.repository.projection.JobDuplicateRow;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlExporterTest {
+
+  @Test
+  void linksDuplicatesByUrlSinceIdsAreNotKept() {
+    StringWriter out = new StringWriter();
+
+    new SqlExporter(out).writeDuplicateLink(row("https://x/o'b", "https://x/a"));
+
+    assertThat(out.toString())
+        .isEqualTo(
+            "UPDATE jobs SET duplicate_of = (SELECT id FROM jobs WHERE job_page_url ="
+                + " 'https://x/a') WHERE job_page_url = 'https://x/o''b';\n");
+  }
+
+  private static JobDuplicateRow row(String jobPageUrl, String duplicateOfUrl) {
+    return new JobDuplicateRow() {
+      @Override
+      public String getJobPageUrl() {
+        return jobPageUrl;
+      }
+
+      @Override
+      public String getDuplicateOfUrl() {
+        return duplicateOfUrl;
+      }
+    };
+  }
+}
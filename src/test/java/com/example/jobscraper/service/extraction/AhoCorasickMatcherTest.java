@@ -0,0 +1,39 @@
+package com.example.jobscraper.service.extraction;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AhoCorasickMatcherTest {
+
+  @Test
+  void reportsEveryOverlappingKeywordInOnePass() {
+    AhoCorasickMatcher<String> matcher =
+        new AhoCorasickMatcher<>(
+            List.of(
+                Map.entry("he", "he"),
+                Map.entry("she", "she"),
+                Map.entry("hers", "hers"),
+                Map.entry("his", "his")));
+    List<String> matches = new ArrayList<>();
+
+    matcher.match("ushers", (start, end, value) -> matches.add(value + "@" + start));
+
+    assertThat(matches).containsExactly("she@1", "he@2", "hers@2");
+  }
+
+  @Test
+  void matchesCaseInsensitivelyIncludingNonAsciiLetters() {
+    AhoCorasickMatcher<String> matcher =
+        new AhoCorasickMatcher<>(List.of(Map.entry("Zürich", "city"), Map.entry("c++", "lang")));
+    List<String> matches = new ArrayList<>();
+
+    matcher.match("ZÜRICH team, C++ and zürich", (start, end, value) -> matches.add(value));
+
+    assertThat(matches).containsExactly("city", "lang", "city");
+  }
+}
@@ -0,0 +1,104 @@
+package com.example.jobscraper.service.extraction;
+
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobBuilderTest {
+
+  private static final String JOB_FUNCTION = "Software Engineering";
+  private static final JobTextAnalyzer ANALYZER =
+      new JobTextAnalyzer(
+          JobDictionary.load(new ClassPathResource("dictionary/job-keywords.txt")));
+
+  @ParameterizedTest
+  @CsvSource(
+      delimiter = ';',
+      value = {
+        "0; Senior Software Engineer; New York; DigitalOcean (TechStars)",
+        "1; Backend Developer; Denver; Backend (TechStars)",
+        "2; Full-Stack Engineer; San Francisco; Full-Stack (TechStars)",
+        "5; Software Engineering Position; Remote; Engineering (TechStars)",
+        "6; junior frontend developer; Seattle; View (TechStars)",
+        "9; Site Reliability Engineer; Los Angeles; Site (TechStars)"
+      })
+  void buildsJobsFromCardFixture(int index, String title, String location, String company)
+      throws IOException {
+    Job job = build(cards("techstars-cards.html").get(index));
+
+    assertThat(job.getPositionName()).isEqualTo(title);
+    assertThat(job.getLocation()).isEqualTo(location);
+    assertThat(job.getCompany().getTitle()).isEqualTo(company);
+  }
+
+  @Test
+  void splitsGluedInlineTextOnCaseChanges() throws IOException {
+    List<Element> rows = cards("testid-board.html");
+
+    assertThat(build(rows.get(1)).getPositionName()).isEqualTo("Machine Learning Engineer");
+    assertThat(build(rows.get(1)).getLocation()).isEqualTo("Zurich");
+    assertThat(build(rows.get(6)).getLocation()).isEqualTo("Los Angeles");
+    assertThat(tagNames(build(rows.get(6)))).contains("Senior", "Remote");
+  }
+
+  @Test
+  void tagsSenioritySkillsAndRemoteWork() {
+    Job job =
+        build(
+            Jsoup.parse(
+                    "<p>Sr. Backend Engineer in Berlin (Kotlin, PostgreSQL, K8s), remote-first</p>")
+                .selectFirst("p"));
+
+    assertThat(job.getPositionName()).isEqualTo("Sr. Backend Engineer");
+    assertThat(job.getLocation()).isEqualTo("Berlin");
+    assertThat(tagNames(job))
+        .containsExactlyInAnyOrder(
+            JOB_FUNCTION,
+            "TechStars",
+            "Startup",
+            "Senior",
+            "Kotlin",
+            "PostgreSQL",
+            "Kubernetes",
+            "Remote");
+  }
+
+  @Test
+  void ignoresKeywordsInsideLongerWords() {
+    Job job =
+        build(Jsoup.parse("<p>Javalin Laboratory for Seniority research</p>").body());
+
+    assertThat(job.getLocation()).isEqualTo("Remote");
+    assertThat(tagNames(job)).containsExactlyInAnyOrder(JOB_FUNCTION, "TechStars", "Startup");
+  }
+
+  private static Job build(Element element) {
+    return new JobBuilder(element, "https://jobs.example.com/job/1", JOB_FUNCTION, ANALYZER)
+        .build();
+  }
+
+  private static Set<String> tagNames(Job job) {
+    return job.getTags().stream().map(Tag::getName).collect(Collectors.toSet());
+  }
+
+  private static List<Element> cards(String fixture) throws IOException {
+    try (InputStream in = JobBuilderTest.class.getResourceAsStream("/fixtures/" + fixture)) {
+      Document document = Jsoup.parse(in, "UTF-8", "https://jobs.example.com/jobs");
+      return new JobElementExtractor(200).extractJobElements(document);
+    }
+  }
+}
@@ -0,0 +1,38 @@
+package com.example.jobscraper.service.extraction;
+
+import com.example.jobscraper.service.extraction.JobElementExtractor.Selection;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobElementExtractorTest {
+
+  private final JobElementExtractor extractor = new JobElementExtractor(200);
+
+  @ParameterizedTest
+  @CsvSource({
+    "techstars-cards.html, group-0",
+    "testid-board.html, group-1",
+    "link-list.html, group-2",
+    "unstructured.html, text-content"
+  })
+  void reportsWhichSelectorFoundTheElements(String fixture, String selector) throws IOException {
+    Selection selection = extractor.select(parse(fixture));
+
+    assertThat(selection.selector()).isEqualTo(selector);
+    assertThat(selection.elements()).isNotEmpty();
+  }
+
+  private static Document parse(String fixture) throws IOException {
+    try (InputStream in =
+        JobElementExtractorTest.class.getResourceAsStream("/fixtures/" + fixture)) {
+      return Jsoup.parse(in, "UTF-8", "https://jobs.example.com/jobs");
+    }
+  }
+}
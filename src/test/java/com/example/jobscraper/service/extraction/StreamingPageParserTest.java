@@ -0,0 +1,97 @@
+package com.example.jobscraper.service.extraction;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.service.fetch.PageParser;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StreamingPageParserTest {
+
+  private static final String BASE_URI = "https://jobs.example.com/jobs";
+  private static final List<String> FOLLOW_SELECTORS =
+      new ScraperProperties.Crawl().getFollowSelectors();
+
+  private static final String LISTING =
+      "<html><head><title>Jobs</title><script>var x = 1;</script></head><body>"
+          + "<header><nav><a href='/about'>About</a></nav></header>"
+          + "<ul class='results'>"
+          + "<li class='job-card'><h3>Senior Software Engineer</h3><span>Acme</span>"
+          + "<a href='/job/1'>View</a></li>"
+          + "<li class='job-card'><h3>Backend Developer</h3><span>Globex</span>"
+          + "<a href='/job/2'>View</a></li>"
+          + "<li class='job-card'><h3>Platform Engineer</h3><span>Initech</span>"
+          + "<a href='/job/3'>View</a></li>"
+          + "</ul>"
+          + "<aside><a href='/job/99'>Featured job</a></aside>"
+          + "<div class='pagination'><a href='/jobs?page=2'>2</a></div>"
+          + "<footer><p>Copyright</p></footer>"
+          + "</body></html>";
+
+  @Test
+  void keepsTheSameJobCardsAsTheFullDocument() throws IOException {
+    JobElementExtractor extractor = new JobElementExtractor(200);
+
+    Document full = parse(PageParser.DOM, LISTING);
+    Document pruned = parse(new StreamingPageParser(200, FOLLOW_SELECTORS), LISTING);
+
+    assertThat(texts(extractor.extractJobElements(pruned)))
+        .containsExactlyElementsOf(texts(extractor.extractJobElements(full)));
+    assertThat(pruned.select("footer, header, script")).isEmpty();
+  }
+
+  @Test
+  void keepsCrawlLinksOutsideOfJobCards() throws IOException {
+    Document pruned = parse(new StreamingPageParser(200, FOLLOW_SELECTORS), LISTING);
+
+    assertThat(
+            pruned.select(String.join(", ", FOLLOW_SELECTORS)).stream()
+                .map(link -> link.absUrl("href"))
+                .collect(Collectors.toList()))
+        .contains(
+            "https://jobs.example.com/job/1",
+            "https://jobs.example.com/job/99",
+            "https://jobs.example.com/jobs?page=2")
+        .doesNotContain("https://jobs.example.com/about");
+  }
+
+  @Test
+  void stopsOnceTheJobLimitIsReached() throws IOException {
+    Document pruned = parse(new StreamingPageParser(2, FOLLOW_SELECTORS), LISTING);
+
+    assertThat(new JobElementExtractor(2).extractJobElements(pruned)).hasSize(2);
+    assertThat(pruned.select("a[href*='page=']")).isEmpty();
+  }
+
+  @Test
+  void fallsBackToTextContentLikeTheFullDocument() throws IOException {
+    String page =
+        "<html><body><div><p>We are hiring a Senior Software Engineer in Boston</p>"
+            + "<p>Lunch menu</p></div></body></html>";
+    JobElementExtractor extractor = new JobElementExtractor(200);
+
+    Document full = parse(PageParser.DOM, page);
+    Document pruned = parse(new StreamingPageParser(200, FOLLOW_SELECTORS), page);
+
+    assertThat(texts(extractor.extractJobElements(pruned)))
+        .containsExactlyElementsOf(texts(extractor.extractJobElements(full)))
+        .containsExactly("We are hiring a Senior Software Engineer in Boston");
+  }
+
+  private static Document parse(PageParser parser, String html) throws IOException {
+    return parser.parse(
+        new ByteArrayInputStream(html.getBytes(StandardCharsets.UTF_8)), "UTF-8", BASE_URI);
+  }
+
+  private static List<String> texts(List<Element> elements) {
+    return elements.stream().map(Element::text).collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.jobscraper.service.facet;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressedBitmapTest {
+
+  private static final int RANGE = 300_000;
+
+  @ParameterizedTest
+  @ValueSource(ints = {50, 3_000, 20_000, 120_000})
+  void setOperationsMatchABitSet(int count) {
+    Random random = new Random(count);
+    BitSet expectedLeft = new BitSet();
+    BitSet expectedRight = new BitSet();
+    CompressedBitmap left = fill(random, count, expectedLeft);
+    CompressedBitmap right = fill(random, count / 2, expectedRight);
+
+    assertMatches(left, expectedLeft);
+    assertMatches(left.and(right), op(expectedLeft, expectedRight, BitSet::and));
+    assertMatches(left.or(right), op(expectedLeft, expectedRight, BitSet::or));
+    assertMatches(left.andNot(right), op(expectedLeft, expectedRight, BitSet::andNot));
+    assertThat(left.andCardinality(right))
+        .isEqualTo(op(expectedLeft, expectedRight, BitSet::and).cardinality());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {100, 10_000})
+  void removesValuesAndShrinksContainers(int count) {
+    Random random = new Random(count);
+    BitSet expected = new BitSet();
+    CompressedBitmap bitmap = fill(random, count, expected);
+
+    for (int i = 0; i < count * 2; i++) {
+      int value = random.nextInt(RANGE);
+      bitmap.remove(value);
+      expected.clear(value);
+    }
+
+    assertMatches(bitmap, expected);
+  }
+
+  private static CompressedBitmap fill(Random random, int count, BitSet expected) {
+    CompressedBitmap bitmap = new CompressedBitmap();
+    for (int i = 0; i < count; i++) {
+      int value = random.nextInt(RANGE);
+      bitmap.add(value);
+      expected.set(value);
+    }
+    return bitmap;
+  }
+
+  private static void assertMatches(CompressedBitmap bitmap, BitSet expected) {
+    assertThat(bitmap.cardinality()).isEqualTo(expected.cardinality());
+    int[] descending =
+        expected.stream().map(value -> -value).sorted().map(value -> -value).toArray();
+    assertThat(bitmap.highest(Integer.MAX_VALUE)).containsExactly(descending);
+    for (int value = 0; value < RANGE; value += 7) {
+      assertThat(bitmap.contains(value)).isEqualTo(expected.get(value));
+    }
+  }
+
+  private static BitSet op(BitSet left, BitSet right, BitSetOperation operation) {
+    BitSet result = (BitSet) left.clone();
+    operation.apply(result, right);
+    return result;
+  }
+
+  @FunctionalInterface
+  private interface BitSetOperation {
+    void apply(BitSet target, BitSet other);
+  }
+}
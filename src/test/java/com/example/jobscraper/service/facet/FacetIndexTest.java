@@ -0,0 +1,49 @@
+package com.example.jobscraper.service.facet;
+
+import com.example.jobscraper.dto.FacetQuery;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTest {
+
+  @Test
+  void keepsJobsIndexedWhileARebuildIsLoading() {
+    WritingDuringLoad jdbcTemplate = new WritingDuringLoad();
+    FacetIndex index = new FacetIndex(jdbcTemplate);
+    jdbcTemplate.onLoad = () -> index.index(List.of(job(7, "Remote", "java")));
+
+    index.rebuild();
+
+    FacetQuery query =
+        new FacetQuery(List.of("java"), null, null, "Remote", null, null, null, null, 10);
+    assertThat(index.query(query).jobIds()).containsExactly(7L);
+  }
+
+  private static Job job(long id, String location, String tag) {
+    Job job = new Job();
+    job.setId(id);
+    job.setLocation(location);
+    job.setTags(Set.of(new Tag(tag)));
+    return job;
+  }
+
+  /** An empty database that sees a job committed while the first load query runs. */
+  private static final class WritingDuringLoad extends JdbcTemplate {
+    private Runnable onLoad = () -> {};
+
+    @Override
+    public void query(PreparedStatementCreator creator, RowCallbackHandler handler) {
+      onLoad.run();
+      onLoad = () -> {};
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.example.jobscraper.service.feed;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.dto.JobView;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.service.JobQueryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobFeedTest {
+
+  private final InMemoryEventIds eventIds = new InMemoryEventIds();
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private JobFeed feed;
+
+  @AfterEach
+  void shutdown() {
+    feed.shutdown();
+  }
+
+  @Test
+  void resumesFromTheRingAfterAnEventWithAHigherJobId() throws Exception {
+    feed = feed(8);
+    RecordingEmitter live = subscribe(null);
+    publish(live, 500);
+    publish(live, 120);
+
+    RecordingEmitter resumed = subscribe(live.events.get(0).id);
+
+    assertThat(resumed.take(1)).containsExactly(new Sent(2, 120));
+    assertThat(meterRegistry.counter("scraper.feed.replays").count()).isZero();
+  }
+
+  @Test
+  void resumesFromTheDatabaseAfterAnEventWithAHigherJobId() throws Exception {
+    feed = feed(2);
+    RecordingEmitter live = subscribe(null);
+    for (long jobId : new long[] {500, 120, 300, 90, 410}) {
+      publish(live, jobId);
+    }
+
+    RecordingEmitter resumed = subscribe(live.events.get(0).id);
+
+    assertThat(resumed.take(4))
+        .containsExactly(new Sent(2, 120), new Sent(3, 300), new Sent(4, 90), new Sent(5, 410));
+    assertThat(meterRegistry.counter("scraper.feed.replays").count()).isEqualTo(1);
+  }
+
+  private JobFeed feed(int bufferSize) {
+    ScraperProperties properties = new ScraperProperties();
+    properties.getFeed().setBufferSize(bufferSize);
+    return new JobFeed(new StoredJobs(), eventIds, properties, meterRegistry);
+  }
+
+  private RecordingEmitter subscribe(Long lastEventId) {
+    RecordingEmitter emitter = new RecordingEmitter();
+    feed.subscribe(lastEventId, emitter);
+    return emitter;
+  }
+
+  /** Publishes one saved job and waits until a live subscriber has received it. */
+  private void publish(RecordingEmitter live, long jobId) throws InterruptedException {
+    Job job = new Job();
+    job.setId(jobId);
+    feed.publish(List.of(job));
+    assertThat(live.take(1)).extracting(Sent::jobId).containsExactly(jobId);
+  }
+
+  private record Sent(long id, long jobId) {}
+
+  /** Hands out event ids in publish order, like {@code jobs_feed_event_id_seq}. */
+  private static final class InMemoryEventIds extends FeedEventIds {
+    private final List<Entry> entries = new ArrayList<>();
+
+    InMemoryEventIds() {
+      super(null);
+    }
+
+    @Override
+    public synchronized List<Entry> assign(Collection<Long> jobIds) {
+      List<Entry> assigned = new ArrayList<>();
+      for (long jobId : jobIds) {
+        assigned.add(new Entry(entries.size() + 1, jobId));
+      }
+      entries.addAll(assigned);
+      return assigned;
+    }
+
+    @Override
+    public synchronized List<Entry> after(long eventId, int limit) {
+      return entries.stream().filter(entry -> entry.eventId() > eventId).limit(limit).toList();
+    }
+  }
+
+  private static final class StoredJobs extends JobQueryService {
+
+    StoredJobs() {
+      super(null);
+    }
+
+    @Override
+    public List<JobView> getJobsById(Collection<Long> ids) {
+      return ids.stream().map(StoredJobs::view).toList();
+    }
+
+    private static JobView view(long id) {
+      return new JobView(id, "Job " + id, null, null, null, null, null, null, List.of(), null);
+    }
+  }
+
+  /** Collects the job events sent to a subscriber, skipping keep-alive comments. */
+  private static final class RecordingEmitter extends SseEmitter {
+    private static final Pattern EVENT_ID = Pattern.compile("^id:(\\d+)$", Pattern.MULTILINE);
+
+    private final BlockingQueue<Sent> received = new LinkedBlockingQueue<>();
+    private final List<Sent> events = new ArrayList<>();
+
+    @Override
+    public void send(SseEventBuilder builder) {
+      StringBuilder text = new StringBuilder();
+      JobView job = null;
+      for (DataWithMediaType data : builder.build()) {
+        if (data.getData() instanceof JobView view) {
+          job = view;
+        } else {
+          text.append(data.getData());
+        }
+      }
+      Matcher id = EVENT_ID.matcher(text);
+      if (job != null && id.find()) {
+        received.add(new Sent(Long.parseLong(id.group(1)), job.id()));
+      }
+    }
+
+    /** The next {@code count} events, failing after five seconds without one. */
+    List<Sent> take(int count) throws InterruptedException {
+      List<Sent> taken = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        Sent sent = received.poll(5, TimeUnit.SECONDS);
+        assertThat(sent).as("event %d of %d", i + 1, count).isNotNull();
+        taken.add(sent);
+      }
+      events.addAll(taken);
+      return taken;
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.example.jobscraper.service.feed;
+
+import com.example.jobscraper.dto.JobView;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobRingTest {
+
+  @Test
+  void readsJobsInPublishOrder() {
+    JobRing ring = new JobRing(8);
+    append(ring, 10, 11, 12);
+
+    assertThat(ids(ring.read(0, 10))).containsExactly(10L, 11L, 12L);
+    assertThat(ids(ring.read(1, 1))).containsExactly(11L);
+    assertThat(ring.read(3, 10)).isEmpty();
+  }
+
+  @Test
+  void overwritesTheOldestJobsOnceFull() {
+    JobRing ring = new JobRing(4);
+    append(ring, 1, 2, 3, 4, 5, 6);
+
+    assertThat(ring.next()).isEqualTo(6);
+    assertThat(ring.lapped(1)).isTrue();
+    assertThat(ring.lapped(2)).isFalse();
+    assertThat(ids(ring.read(2, 10))).containsExactly(3L, 4L, 5L, 6L);
+  }
+
+  @Test
+  void resumesAfterARetainedEvent() {
+    JobRing ring = new JobRing(4);
+    append(ring, 1, 2, 3, 4, 5, 6);
+
+    assertThat(ring.positionAfter(4)).isEqualTo(4);
+    assertThat(ids(ring.read(ring.positionAfter(4), 10))).containsExactly(5L, 6L);
+    assertThat(ring.positionAfter(6)).isEqualTo(ring.next());
+    assertThat(ring.positionAfter(2)).isEqualTo(-1);
+    assertThat(new JobRing(4).positionAfter(1)).isEqualTo(-1);
+  }
+
+  @Test
+  void resumesByEventIdWhenJobIdsAreOutOfOrder() {
+    JobRing ring = new JobRing(4);
+    ring.append(event(7, 500));
+    ring.append(event(8, 120));
+    ring.append(event(10, 130));
+
+    assertThat(jobIds(ring.read(ring.positionAfter(7), 10))).containsExactly(120L, 130L);
+    assertThat(jobIds(ring.read(ring.positionAfter(9), 10))).containsExactly(130L);
+    assertThat(ring.positionAfter(6)).isEqualTo(-1);
+  }
+
+  private static void append(JobRing ring, long... ids) {
+    for (long id : ids) {
+      ring.append(event(id, id));
+    }
+  }
+
+  private static FeedEvent event(long eventId, long jobId) {
+    return new FeedEvent(
+        eventId,
+        new JobView(jobId, "Job " + jobId, null, null, null, null, null, null, List.of(), null));
+  }
+
+  private static List<Long> ids(List<FeedEvent> events) {
+    return events.stream().map(FeedEvent::id).toList();
+  }
+
+  private static List<Long> jobIds(List<FeedEvent> events) {
+    return events.stream().map(event -> event.job().id()).toList();
+  }
+}
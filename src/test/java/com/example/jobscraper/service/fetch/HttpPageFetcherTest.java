@@ -0,0 +1,176 @@
+package com.example.jobscraper.service.fetch;
+
+import com.sun.net.httpserver.HttpServer;
+import com.example.jobscraper.service.fingerprint.ContentHash;
+import com.example.jobscraper.service.metrics.ScrapeMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.jsoup.HttpStatusException;
+import org.jsoup.nodes.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HttpPageFetcherTest {
+
+  private static final String PAGE =
+      "<html><body><a class='job-card' href='/job/1'>Senior Software Engineer</a></body></html>";
+
+  private static final String ETAG = "\"v1\"";
+  private static final byte[] LARGE_PAGE =
+      ("<html><body>" + "<p>filler</p>".repeat(100_000) + "</body></html>")
+          .getBytes(StandardCharsets.UTF_8);
+
+  private final CountDownLatch parsing = new CountDownLatch(1);
+  private final AtomicBoolean parsedBeforeBodyEnded = new AtomicBoolean();
+
+  private HttpServer server;
+  private SimpleMeterRegistry meterRegistry;
+  private HttpPageFetcher fetcher;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+    server.createContext(
+        "/gzip",
+        exchange -> {
+          byte[] body = gzip(PAGE.getBytes(StandardCharsets.UTF_8));
+          exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+          exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    server.createContext(
+        "/etag",
+        exchange -> {
+          if (ETAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+          }
+          byte[] body = PAGE.getBytes(StandardCharsets.UTF_8);
+          exchange.getResponseHeaders().add("ETag", ETAG);
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+          }
+        });
+    server.createContext(
+        "/large",
+        exchange -> {
+          exchange.getResponseHeaders().add("Content-Type", "text/html; charset=UTF-8");
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream out = exchange.getResponseBody()) {
+            int half = LARGE_PAGE.length / 2;
+            out.write(LARGE_PAGE, 0, half);
+            out.flush();
+            try {
+              parsedBeforeBodyEnded.set(parsing.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+              Thread.currentThread().interrupt();
+            }
+            out.write(LARGE_PAGE, half, LARGE_PAGE.length - half);
+          }
+        });
+    server.createContext(
+        "/missing",
+        exchange -> {
+          exchange.sendResponseHeaders(404, -1);
+          exchange.close();
+        });
+    server.start();
+
+    meterRegistry = new SimpleMeterRegistry();
+    fetcher = new HttpPageFetcher(meterRegistry, new ScrapeMetrics(meterRegistry));
+  }
+
+  @AfterEach
+  void tearDown() {
+    server.stop(0);
+  }
+
+  @Test
+  void decodesGzipResponsesAndCountsBytes() throws IOException {
+    Document document = fetcher.fetch(baseUrl() + "/gzip");
+
+    assertThat(document.select(".job-card").text()).isEqualTo("Senior Software Engineer");
+    assertThat(document.select(".job-card").first().absUrl("href")).isEqualTo(baseUrl() + "/job/1");
+    assertThat(meterRegistry.counter("scraper.http.bytes", "encoding", "decoded").count())
+        .isEqualTo(PAGE.getBytes(StandardCharsets.UTF_8).length);
+    assertThat(meterRegistry.counter("scraper.http.bytes", "encoding", "wire").count())
+        .isPositive();
+  }
+
+  @Test
+  void sendsValidatorsAndSkipsNotModifiedPages() throws IOException {
+    FetchResult first = fetcher.fetchIfChanged(baseUrl() + "/etag", PageParser.DOM, null);
+    FetchResult second =
+        fetcher.fetchIfChanged(baseUrl() + "/etag", PageParser.DOM, first.fingerprint());
+
+    assertThat(first.isUnchanged()).isFalse();
+    assertThat(first.fingerprint().etag()).isEqualTo(ETAG);
+    assertThat(second.isUnchanged()).isTrue();
+    assertThat(meterRegistry.counter("scraper.pages.unchanged", "reason", "not-modified").count())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void skipsPagesWhoseBodyHashesTheSame() throws IOException {
+    FetchResult first = fetcher.fetchIfChanged(baseUrl() + "/gzip", PageParser.DOM, null);
+    FetchResult second =
+        fetcher.fetchIfChanged(baseUrl() + "/gzip", PageParser.DOM, first.fingerprint());
+
+    assertThat(first.document().select(".job-card")).hasSize(1);
+    assertThat(second.isUnchanged()).isTrue();
+    assertThat(second.fingerprint().contentHash()).isEqualTo(first.fingerprint().contentHash());
+  }
+
+  @Test
+  void streamsPagesWithoutAStoredHashStraightToTheParser() throws IOException {
+    PageParser parser =
+        (body, charset, baseUri) -> {
+          parsing.countDown();
+          return PageParser.DOM.parse(body, charset, baseUri);
+        };
+
+    FetchResult first = fetcher.fetchIfChanged(baseUrl() + "/large", parser, null);
+    FetchResult second = fetcher.fetchIfChanged(baseUrl() + "/large", parser, first.fingerprint());
+
+    assertThat(parsedBeforeBodyEnded).isTrue();
+    assertThat(first.fingerprint().contentHash()).isEqualTo(ContentHash.of(LARGE_PAGE));
+    assertThat(first.document().select("p")).hasSize(100_000);
+    assertThat(second.isUnchanged()).isTrue();
+  }
+
+  @Test
+  void reportsHttpErrors() {
+    assertThatThrownBy(() -> fetcher.fetch(baseUrl() + "/missing"))
+        .isInstanceOf(HttpStatusException.class);
+  }
+
+  private String baseUrl() {
+    return "http://127.0.0.1:" + server.getAddress().getPort();
+  }
+
+  private static byte[] gzip(byte[] data) throws IOException {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+    try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+      out.write(data);
+    }
+    return buffer.toByteArray();
+  }
+}
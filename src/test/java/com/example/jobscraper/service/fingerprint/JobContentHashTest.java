@@ -0,0 +1,54 @@
+package com.example.jobscraper.service.fingerprint;
+
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobContentHashTest {
+
+  @Test
+  void ignoresThePostedDateAndTagOrder() {
+    Job first = job("Backend Engineer", List.of("Remote", "Senior"));
+    Job second = job("Backend Engineer", List.of("Senior", "Remote"));
+    second.setPostedDateUnix(first.getPostedDateUnix() + 86_400);
+
+    assertThat(JobContentHash.of(second)).isEqualTo(JobContentHash.of(first));
+  }
+
+  @Test
+  void changesWithThePosting() {
+    Job original = job("Backend Engineer", List.of("Remote"));
+
+    Job retitled = job("Senior Backend Engineer", List.of("Remote"));
+    Job retagged = job("Backend Engineer", List.of("Remote", "Senior"));
+    Job moved = job("Backend Engineer", List.of("Remote"));
+    moved.getCompany().setTitle("Other (TechStars)");
+
+    assertThat(List.of(retitled, retagged, moved))
+        .extracting(JobContentHash::of)
+        .doesNotContain(JobContentHash.of(original))
+        .doesNotHaveDuplicates();
+  }
+
+  private static Job job(String title, List<String> tags) {
+    Company company = new Company();
+    company.setTitle("Acme (TechStars)");
+
+    Job job = new Job();
+    job.setPositionName(title);
+    job.setJobPageUrl("https://jobs.techstars.com/job/1");
+    job.setLaborFunction("Software Engineering");
+    job.setLocation("Remote");
+    job.setDescription("<p>" + title + "</p>");
+    job.setPostedDateUnix(1_700_000_000L);
+    job.setCompany(company);
+    job.setTags(new LinkedHashSet<>(tags.stream().map(Tag::new).toList()));
+    return job;
+  }
+}
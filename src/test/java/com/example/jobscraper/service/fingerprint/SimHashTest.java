@@ -0,0 +1,43 @@
+package com.example.jobscraper.service.fingerprint;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SimHashTest {
+
+  private static final String DESCRIPTION =
+      "<p>We are looking for an engineer to build and run the services behind our payments"
+          + " platform. You will design APIs, review code, mentor teammates and own features from"
+          + " design to production. Experience with Java, PostgreSQL and Kubernetes is a plus.</p>";
+
+  @Test
+  void ignoresCaseMarkupAndPunctuation() {
+    assertThat(SimHash.of("Senior Backend Engineer", "Acme", DESCRIPTION))
+        .isEqualTo(
+            SimHash.of(
+                "senior backend engineer!", "ACME", DESCRIPTION.replaceAll("<[^>]*>", "\n")));
+  }
+
+  @Test
+  void keepsSmallEditsClose() {
+    long original = SimHash.of("Senior Backend Engineer", "Acme", DESCRIPTION);
+    long edited =
+        SimHash.of(
+            "Senior Backend Engineer",
+            "Acme",
+            DESCRIPTION.replace("is a plus", "is a big plus"));
+
+    assertThat(SimHash.distance(original, edited)).isLessThanOrEqualTo(3);
+  }
+
+  @Test
+  void separatesDifferentRolesWithTheSameDescription() {
+    long backend = SimHash.of("Senior Backend Engineer", "Acme", DESCRIPTION);
+    long designer = SimHash.of("Product Designer", "Acme", DESCRIPTION);
+    long otherCompany = SimHash.of("Sales Manager", "Globex", DESCRIPTION);
+
+    assertThat(SimHash.distance(backend, designer)).isGreaterThan(3);
+    assertThat(SimHash.distance(backend, otherCompany)).isGreaterThan(3);
+  }
+}
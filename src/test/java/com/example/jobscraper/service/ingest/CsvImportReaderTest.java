@@ -0,0 +1,75 @@
+package com.example.jobscraper.service.ingest;
+
+import com.example.jobscraper.dto.CompanyView;
+import com.example.jobscraper.dto.ImportRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvImportReaderTest {
+
+  @Test
+  void readsRecordsByHeaderName() throws IOException {
+    CsvImportReader reader =
+        new CsvImportReader(
+            new StringReader(
+                "jobPageUrl,Position_Name,company,tags,posted_date_unix,unknown\r\n"
+                    + "https://jobs.example.com/1,\"Engineer, Backend\",Acme,java|go,1700000000,"
+                    + "x\r\n"
+                    + "https://jobs.example.com/2,Designer,,,,\r\n"));
+
+    ImportReader.Row first = reader.next();
+    assertThat(first.line()).isEqualTo(2);
+    assertThat(first.record())
+        .isEqualTo(
+            new ImportRecord(
+                "Engineer, Backend",
+                "https://jobs.example.com/1",
+                null,
+                null,
+                1_700_000_000L,
+                null,
+                null,
+                new CompanyView(null, "Acme", null, null),
+                List.of("java", "go")));
+
+    ImportReader.Row second = reader.next();
+    assertThat(second.line()).isEqualTo(3);
+    assertThat(second.record().positionName()).isEqualTo("Designer");
+    assertThat(second.record().company()).isNull();
+    assertThat(second.record().tags()).isNull();
+    assertThat(reader.next()).isNull();
+  }
+
+  @Test
+  void quotedFieldsMaySpanLines() throws IOException {
+    CsvImportReader reader =
+        new CsvImportReader(
+            new StringReader(
+                "position_name,description,job_page_url\n"
+                    + "Engineer,\"Line one\nline \"\"two\"\"\",https://jobs.example.com/1\n"
+                    + "\n"
+                    + "Designer,,https://jobs.example.com/2\n"));
+
+    assertThat(reader.next().record().description()).isEqualTo("Line one\nline \"two\"");
+    ImportReader.Row next = reader.next();
+    assertThat(next.line()).isEqualTo(5);
+    assertThat(next.record().positionName()).isEqualTo("Designer");
+  }
+
+  @Test
+  void rejectsMalformedNumbers() throws IOException {
+    CsvImportReader reader =
+        new CsvImportReader(
+            new StringReader("position_name,posted_date_unix\nEngineer,yesterday\n"));
+
+    ImportReader.Row row = reader.next();
+    assertThat(row.record()).isNull();
+    assertThat(row.line()).isEqualTo(2);
+    assertThat(row.error()).contains("yesterday");
+  }
+}
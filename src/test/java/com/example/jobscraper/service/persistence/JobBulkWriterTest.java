@@ -0,0 +1,201 @@
+package com.example.jobscraper.service.persistence;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+import com.example.jobscraper.service.cache.IdentityCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobBulkWriterTest {
+
+  private static TestDatabase database;
+
+  private RacingAllocator idAllocator;
+  private IdentityCache identityCache;
+  private JobBulkWriter writer;
+
+  @BeforeAll
+  static void startDatabase() throws IOException {
+    database = TestDatabase.start();
+  }
+
+  @AfterAll
+  static void stopDatabase() throws IOException {
+    database.close();
+  }
+
+  @BeforeEach
+  void setUp() {
+    database.clear();
+    ScraperProperties properties = new ScraperProperties();
+    idAllocator = new RacingAllocator(properties);
+    identityCache = new IdentityCache(properties, new SimpleMeterRegistry());
+    writer =
+        new JobBulkWriter(
+            new NamedParameterJdbcTemplate(database.dataSource()),
+            idAllocator,
+            properties,
+            identityCache);
+  }
+
+  @Test
+  void insertsJobsWithTheirCompaniesAndTags() {
+    Job first = job("https://example.com/1", "h1", "java", "sql");
+    Job second = job("https://example.com/2", "h2", "java");
+
+    List<Job> saved = database.inTransaction(() -> writer.saveAll(List.of(first, second)));
+
+    assertThat(saved).containsExactly(first, second);
+    assertThat(first.getCompany().getId()).isEqualTo(companyId("Acme"));
+    assertThat(tagNames(first.getId())).containsExactly("java", "sql");
+    assertThat(tagNames(second.getId())).containsExactly("java");
+    assertThat(identityCache.getCompanies().get("Acme")).hasValue(companyId("Acme"));
+  }
+
+  @Test
+  void skipsJobsWhoseUrlIsAlreadyStored() {
+    database.inTransaction(() -> writer.saveAll(List.of(job("https://example.com/1", "h1"))));
+
+    Job repeated = job("https://example.com/1", "h1-new");
+    Job added = job("https://example.com/2", "h2");
+    List<Job> saved = database.inTransaction(() -> writer.saveAll(List.of(repeated, added)));
+
+    assertThat(saved).containsExactly(added);
+    assertThat(count("jobs")).isEqualTo(2);
+  }
+
+  @Test
+  void rewritesOnlyJobsWhoseHashChangedAndReplacesTheirTags() {
+    Job changed = job("https://example.com/1", "h1", "java", "sql");
+    Job unchanged = job("https://example.com/2", "h2", "java", "sql");
+    database.inTransaction(() -> writer.saveAll(List.of(changed, unchanged)));
+
+    Job rewrite = job("https://example.com/1", "h1-new", "kotlin");
+    rewrite.setId(changed.getId());
+    rewrite.setDescription("rewritten");
+    Job repeat = job("https://example.com/2", "h2", "kotlin");
+    repeat.setId(unchanged.getId());
+    List<Job> updated = database.inTransaction(() -> writer.updateAll(List.of(rewrite, repeat)));
+
+    assertThat(updated).containsExactly(rewrite);
+    assertThat(description(changed.getId())).isEqualTo("rewritten");
+    assertThat(tagNames(changed.getId())).containsExactly("kotlin");
+    assertThat(tagNames(unchanged.getId())).containsExactly("java", "sql");
+  }
+
+  @Test
+  void reselectsCompaniesAndTagsThatAConcurrentWriterInsertedFirst() {
+    idAllocator.beforeAllocating.put(
+        "companies_id_seq", "INSERT INTO companies (title) VALUES ('Acme')");
+    idAllocator.beforeAllocating.put("tags_id_seq", "INSERT INTO tags (name) VALUES ('java')");
+    Job job = job("https://example.com/1", "h1", "java");
+
+    List<Job> saved = database.inTransaction(() -> writer.saveAll(List.of(job)));
+
+    assertThat(saved).containsExactly(job);
+    assertThat(count("companies")).isEqualTo(1);
+    assertThat(count("tags")).isEqualTo(1);
+    assertThat(job.getCompany().getId()).isEqualTo(companyId("Acme"));
+    assertThat(tagNames(job.getId())).containsExactly("java");
+    assertThat(identityCache.getTags().get("java"))
+        .hasValue(
+            database
+                .jdbcTemplate()
+                .queryForObject("SELECT id FROM tags WHERE name = 'java'", Long.class));
+  }
+
+  private static long companyId(String title) {
+    return database
+        .jdbcTemplate()
+        .queryForObject("SELECT id FROM companies WHERE title = ?", Long.class, title);
+  }
+
+  private static String description(long jobId) {
+    return database
+        .jdbcTemplate()
+        .queryForObject("SELECT description FROM jobs WHERE id = ?", String.class, jobId);
+  }
+
+  private static int count(String table) {
+    return database.jdbcTemplate().queryForObject("SELECT count(*) FROM " + table, Integer.class);
+  }
+
+  private static List<String> tagNames(long jobId) {
+    return database
+        .jdbcTemplate()
+        .queryForList(
+            "SELECT t.name FROM job_tags jt JOIN tags t ON t.id = jt.tag_id"
+                + " WHERE jt.job_id = ? ORDER BY t.name",
+            String.class,
+            jobId);
+  }
+
+  /** A job whose 64-character content hash is derived from {@code contentHash}. */
+  private static Job job(String url, String contentHash, String... tags) {
+    Company company = new Company();
+    company.setTitle("Acme");
+    Job job = new Job();
+    job.setJobPageUrl(url);
+    job.setPositionName("Engineer");
+    job.setLocation("Remote");
+    job.setDescription("Description of " + url);
+    job.setStatus(ProcessingStatus.COMPLETED);
+    job.setContentHash("%-64s".formatted(contentHash).replace(' ', '0'));
+    job.setCompany(company);
+    job.setTags(
+        Arrays.stream(tags)
+            .map(
+                name -> {
+                  Tag tag = new Tag();
+                  tag.setName(name);
+                  return tag;
+                })
+            .collect(Collectors.toSet()));
+    return job;
+  }
+
+  /**
+   * Commits a statement on its own connection before ids are allocated from a sequence, which is
+   * after the writer looked for existing rows and before it inserts its own.
+   */
+  private static final class RacingAllocator extends IdBlockAllocator {
+    private final Map<String, String> beforeAllocating = new HashMap<>();
+
+    RacingAllocator(ScraperProperties properties) {
+      super(database.jdbcTemplate(), properties);
+    }
+
+    @Override
+    public synchronized long[] allocate(String sequence, int count) {
+      String sql = beforeAllocating.remove(sequence);
+      if (sql != null) {
+        try (Connection connection = database.dataSource().getConnection();
+            Statement statement = connection.createStatement()) {
+          statement.execute(sql);
+        } catch (SQLException e) {
+          throw new IllegalStateException(e);
+        }
+      }
+      return super.allocate(sequence, count);
+    }
+  }
+}
@@ -0,0 +1,179 @@
+package com.example.jobscraper.service.persistence;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.entity.Company;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.entity.Tag;
+import com.example.jobscraper.entity.enums.ProcessingStatus;
+import com.example.jobscraper.service.persistence.JobCopyWriter.Merged;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobCopyWriterTest {
+
+  private static TestDatabase database;
+  private static JobCopyWriter writer;
+
+  @BeforeAll
+  static void startDatabase() throws IOException {
+    database = TestDatabase.start();
+    writer = new JobCopyWriter(database.jdbcTemplate(), new ScraperProperties());
+  }
+
+  @AfterAll
+  static void stopDatabase() throws IOException {
+    database.close();
+  }
+
+  @BeforeEach
+  void clear() {
+    database.clear();
+  }
+
+  @Test
+  void stagesEscapedAndNullFieldsThroughCopy() {
+    Job job = job("https://example.com/1", "h1", "java");
+    job.setPositionName("Back\\end\tengineer");
+    job.setDescription("line one\nline two\r\nnul\0 dropped");
+    job.setLaborFunction(null);
+    job.setPostedDateUnix(null);
+    job.setSimhash(-42L);
+
+    Merged merged = merge(job);
+
+    assertThat(merged.inserted()).containsExactly(job);
+    Map<String, Object> row =
+        database.jdbcTemplate().queryForMap("SELECT * FROM jobs WHERE id = ?", job.getId());
+    assertThat(row)
+        .containsEntry("position_name", "Back\\end\tengineer")
+        .containsEntry("description", "line one\nline two\r\nnul dropped")
+        .containsEntry("labor_function", null)
+        .containsEntry("posted_date_unix", null)
+        .containsEntry("status", "COMPLETED")
+        .containsEntry("content_hash", job.getContentHash())
+        .containsEntry("simhash", -42L);
+    assertThat(tagNames(job.getId())).containsExactly("java");
+  }
+
+  @Test
+  void rewritesChangedJobsInsertsNewOnesAndTouchesTheRest() {
+    Job unchanged = job("https://example.com/1", "h1");
+    Job changed = job("https://example.com/2", "h2");
+    merge(unchanged, changed);
+    database
+        .jdbcTemplate()
+        .update("UPDATE jobs SET last_seen_at = ?", OffsetDateTime.now().minusDays(1));
+
+    Job sameContent = job("https://example.com/1", "h1");
+    sameContent.setDescription("not written, the hash says nothing changed");
+    Job newContent = job("https://example.com/2", "h2-new");
+    newContent.setDescription("rewritten");
+    Job added = job("https://example.com/3", "h3");
+    Merged merged = merge(sameContent, newContent, added);
+
+    assertThat(merged.updated()).containsExactly(newContent);
+    assertThat(merged.inserted()).containsExactly(added);
+    assertThat(newContent.getId()).isEqualTo(changed.getId());
+    assertThat(sameContent.getId()).isNull();
+    assertThat(descriptions())
+        .containsEntry("https://example.com/1", "Description of https://example.com/1")
+        .containsEntry("https://example.com/2", "rewritten")
+        .containsEntry("https://example.com/3", "Description of https://example.com/3");
+    assertThat(
+            database
+                .jdbcTemplate()
+                .queryForObject(
+                    "SELECT count(*) FROM jobs WHERE last_seen_at < now() - interval '1 hour'",
+                    Integer.class))
+        .isZero();
+  }
+
+  @Test
+  void keepsTheLaterRowForARepeatedUrl() {
+    Job first = job("https://example.com/1", "h1", "java");
+    first.setDescription("first");
+    Job second = job("https://example.com/1", "h2", "kotlin");
+    second.setDescription("second");
+
+    Merged merged = merge(first, second);
+
+    assertThat(merged.inserted()).containsExactly(second);
+    assertThat(first.getId()).isNull();
+    assertThat(descriptions()).containsExactly(Map.entry("https://example.com/1", "second"));
+    assertThat(tagNames(second.getId())).containsExactly("kotlin");
+  }
+
+  @Test
+  void replacesTheTagsOfRewrittenJobsOnly() {
+    Job rewritten = job("https://example.com/1", "h1", "java", "sql");
+    Job kept = job("https://example.com/2", "h2", "java", "sql");
+    merge(rewritten, kept);
+
+    Job rewrite = job("https://example.com/1", "h1-new", "kotlin");
+    Job repeat = job("https://example.com/2", "h2", "kotlin");
+    merge(rewrite, repeat);
+
+    assertThat(tagNames(rewritten.getId())).containsExactly("kotlin");
+    assertThat(tagNames(kept.getId())).containsExactly("java", "sql");
+  }
+
+  private static Merged merge(Job... jobs) {
+    return database.inTransaction(() -> writer.merge(List.of(jobs)));
+  }
+
+  private static Map<String, String> descriptions() {
+    return database.jdbcTemplate()
+        .queryForList("SELECT job_page_url, description FROM jobs")
+        .stream()
+        .collect(
+            Collectors.toMap(
+                row -> (String) row.get("job_page_url"), row -> (String) row.get("description")));
+  }
+
+  private static List<String> tagNames(long jobId) {
+    return database
+        .jdbcTemplate()
+        .queryForList(
+            "SELECT t.name FROM job_tags jt JOIN tags t ON t.id = jt.tag_id"
+                + " WHERE jt.job_id = ? ORDER BY t.name",
+            String.class,
+            jobId);
+  }
+
+  /** A job whose 64-character content hash is derived from {@code contentHash}. */
+  private static Job job(String url, String contentHash, String... tags) {
+    Company company = new Company();
+    company.setTitle("Acme");
+    Job job = new Job();
+    job.setJobPageUrl(url);
+    job.setPositionName("Engineer");
+    job.setLaborFunction("Engineering");
+    job.setLocation("Remote");
+    job.setPostedDateUnix(1_700_000_000L);
+    job.setDescription("Description of " + url);
+    job.setStatus(ProcessingStatus.COMPLETED);
+    job.setContentHash("%-64s".formatted(contentHash).replace(' ', '0'));
+    job.setCompany(company);
+    job.setTags(
+        Arrays.stream(tags)
+            .map(
+                name -> {
+                  Tag tag = new Tag();
+                  tag.setName(name);
+                  return tag;
+                })
+            .collect(Collectors.toSet()));
+    return job;
+  }
+}
@@ -0,0 +1,59 @@
+package com.example.jobscraper.service.persistence;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/** An embedded PostgreSQL with the application's migrations applied, for writer tests. */
+final class TestDatabase implements AutoCloseable {
+
+  private static final String SCHEMA = "app_job_scraper";
+
+  private final EmbeddedPostgres postgres;
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactions;
+
+  private TestDatabase(EmbeddedPostgres postgres) {
+    this.postgres = postgres;
+    this.dataSource = postgres.getPostgresDatabase(Map.of("currentSchema", SCHEMA));
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+  }
+
+  static TestDatabase start() throws IOException {
+    TestDatabase database = new TestDatabase(EmbeddedPostgres.builder().start());
+    Flyway.configure().dataSource(database.dataSource).schemas(SCHEMA).load().migrate();
+    return database;
+  }
+
+  DataSource dataSource() {
+    return dataSource;
+  }
+
+  JdbcTemplate jdbcTemplate() {
+    return jdbcTemplate;
+  }
+
+  /** Runs {@code work} in a transaction that commits unless it throws. */
+  <T> T inTransaction(Supplier<T> work) {
+    return transactions.execute(status -> work.get());
+  }
+
+  /** Empties every table written by the job writers. */
+  void clear() {
+    jdbcTemplate.execute("TRUNCATE job_tags, jobs, tags, companies RESTART IDENTITY CASCADE");
+  }
+
+  @Override
+  public void close() throws IOException {
+    postgres.close();
+  }
+}
@@ -0,0 +1,168 @@
+package com.example.jobscraper.service.pipeline;
+
+import com.example.jobscraper.config.ScraperProperties;
+import com.example.jobscraper.entity.Job;
+import com.example.jobscraper.service.pipeline.ScrapePipeline.Candidate;
+import com.example.jobscraper.service.task.ScrapeProgress;
+import org.jsoup.nodes.Element;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ScrapePipelineTest {
+
+  private final List<Integer> writtenBatches = new CopyOnWriteArrayList<>();
+
+  @Test
+  void writesFullBatchesAndFlushesTheRemainderOnFinish() throws InterruptedException {
+    ScrapePipeline pipeline = pipeline(settings(10, Duration.ofMinutes(1)), 100, this::record);
+
+    offer(pipeline, 25);
+    pipeline.finishInput();
+
+    assertThat(pipeline.await()).hasSize(25);
+    assertThat(writtenBatches).containsExactly(10, 10, 5);
+  }
+
+  @Test
+  void flushesAPartialBatchWhenTheIntervalPasses() throws InterruptedException {
+    CountDownLatch written = new CountDownLatch(3);
+    ScrapePipeline pipeline =
+        pipeline(
+            settings(100, Duration.ofMillis(100)),
+            100,
+            jobs -> {
+              jobs.forEach(job -> written.countDown());
+              return record(jobs);
+            });
+
+    offer(pipeline, 3);
+
+    assertThat(written.await(5, TimeUnit.SECONDS)).isTrue();
+    pipeline.finishInput();
+    assertThat(pipeline.await()).hasSize(3);
+  }
+
+  @Test
+  void blocksProducersWhileTheWriterIsBehind() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    ScraperProperties.Pipeline settings = settings(1, Duration.ZERO);
+    settings.setQueueCapacity(2);
+    ScrapePipeline pipeline =
+        pipeline(
+            settings,
+            100,
+            jobs -> {
+              awaitQuietly(release);
+              return record(jobs);
+            });
+
+    AtomicInteger offered = new AtomicInteger();
+    Thread producer =
+        new Thread(
+            () -> {
+              try {
+                for (int i = 0; i < 50; i++) {
+                  pipeline.offer(candidate(i));
+                  offered.incrementAndGet();
+                }
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    producer.start();
+    Thread.sleep(300);
+
+    assertThat(offered.get()).isLessThan(20);
+    release.countDown();
+    producer.join(5_000);
+    pipeline.finishInput();
+    assertThat(pipeline.await()).hasSize(50);
+  }
+
+  @Test
+  void stopsAcceptingOnceTheJobQuotaIsReached() throws InterruptedException {
+    ScrapePipeline pipeline = pipeline(settings(10, Duration.ofMillis(50)), 5, this::record);
+
+    offer(pipeline, 20);
+    pipeline.finishInput();
+
+    assertThat(pipeline.await()).hasSize(5);
+    assertThat(pipeline.isSaturated()).isTrue();
+  }
+
+  @Test
+  void reportsAFailedStage() throws InterruptedException {
+    ScrapePipeline pipeline =
+        pipeline(
+            settings(10, Duration.ofMillis(50)),
+            100,
+            jobs -> {
+              throw new IllegalArgumentException("boom");
+            });
+
+    offer(pipeline, 3);
+    pipeline.finishInput();
+
+    assertThatThrownBy(pipeline::await)
+        .isInstanceOf(IllegalStateException.class)
+        .hasRootCauseMessage("boom");
+  }
+
+  private ScrapePipeline pipeline(
+      ScraperProperties.Pipeline settings, int maxJobs, UnaryOperator<List<Job>> writer) {
+    return new ScrapePipeline(
+        settings,
+        maxJobs,
+        candidate -> Optional.of(job(candidate.url())),
+        UnaryOperator.identity(),
+        writer,
+        ScrapeProgress.NONE);
+  }
+
+  private List<Job> record(List<Job> jobs) {
+    writtenBatches.add(jobs.size());
+    return jobs;
+  }
+
+  private static void offer(ScrapePipeline pipeline, int count) throws InterruptedException {
+    for (int i = 0; i < count; i++) {
+      pipeline.offer(candidate(i));
+    }
+  }
+
+  private static ScraperProperties.Pipeline settings(int writerBatchSize, Duration flush) {
+    ScraperProperties.Pipeline settings = new ScraperProperties.Pipeline();
+    settings.setWriterBatchSize(writerBatchSize);
+    settings.setFlushInterval(flush);
+    return settings;
+  }
+
+  private static Candidate candidate(int index) {
+    return new Candidate("https://jobs.example.com/job/" + index, new Element("div"));
+  }
+
+  private static Job job(String url) {
+    Job job = new Job();
+    job.setJobPageUrl(url);
+    return job;
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,48 @@
+package com.example.jobscraper.service.task;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScrapeTaskServiceTest {
+
+  @Test
+  void dropsTheOldestFinishedTaskPastARunningOne() {
+    Map<String, ScrapeTask> tasks = ScrapeTaskService.retainingMap(2);
+    ScrapeTask running = task(false);
+    ScrapeTask finished = task(true);
+    tasks.put("running", running);
+    tasks.put("finished", finished);
+    tasks.put("newest", task(true));
+
+    assertThat(tasks).containsOnlyKeys("running", "newest");
+  }
+
+  @Test
+  void keepsTheBoundOnceTasksFinish() {
+    Map<String, ScrapeTask> tasks = ScrapeTaskService.retainingMap(2);
+    ScrapeTask first = task(false);
+    ScrapeTask second = task(false);
+    tasks.put("first", first);
+    tasks.put("second", second);
+    tasks.put("third", task(false));
+    assertThat(tasks).hasSize(3);
+
+    first.complete();
+    second.complete();
+    tasks.put("fourth", task(true));
+
+    assertThat(tasks).containsOnlyKeys("third", "fourth");
+  }
+
+  private static ScrapeTask task(boolean finished) {
+    ScrapeTask task = new ScrapeTask("Software Engineering");
+    task.start();
+    if (finished) {
+      task.complete();
+    }
+    return task;
+  }
+}